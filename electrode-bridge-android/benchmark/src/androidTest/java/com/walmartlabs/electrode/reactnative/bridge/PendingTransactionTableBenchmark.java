@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compares {@link PendingTransactionTable} to the {@code ConcurrentHashMap<String, BridgeTransaction>} it replaced,
+ * with {@link #IN_FLIGHT} requests pending.
+ */
+@RunWith(AndroidJUnit4.class)
+public class PendingTransactionTableBenchmark {
+
+    private static final int IN_FLIGHT = 10000;
+    // Twice the table capacity, so that reusing the transactions keeps their slots as they would be with new ids
+    private static final int POOL_SIZE = 2 * PendingTransactionTable.DEFAULT_CAPACITY;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final BridgeTransaction[] mTransactions = new BridgeTransaction[POOL_SIZE];
+    private final PendingTransactionTable mTable = new PendingTransactionTable();
+    private final ConcurrentHashMap<String, BridgeTransaction> mMap = new ConcurrentHashMap<>();
+
+    @Before
+    public void setUp() {
+        for (int i = 0; i < POOL_SIZE; i++) {
+            mTransactions[i] = new BridgeTransaction(new ElectrodeBridgeRequest.Builder("com.benchmark.request").build(), null);
+        }
+        for (int i = 0; i < IN_FLIGHT; i++) {
+            mTable.put(mTransactions[i]);
+            mMap.put(mTransactions[i].getId(), mTransactions[i]);
+        }
+    }
+
+    /**
+     * One request completes and a new one is sent: the oldest transaction is looked up and removed, a new one is added.
+     */
+    @Test
+    public void tableRequestCycle() {
+        BenchmarkState state = benchmarkRule.getState();
+        int oldest = 0;
+        while (state.keepRunning()) {
+            String id = mTransactions[oldest].getId();
+            mTable.get(id);
+            mTable.remove(id);
+            mTable.put(mTransactions[(oldest + IN_FLIGHT) % POOL_SIZE]);
+            oldest = (oldest + 1) % POOL_SIZE;
+        }
+    }
+
+    @Test
+    public void mapRequestCycle() {
+        BenchmarkState state = benchmarkRule.getState();
+        int oldest = 0;
+        while (state.keepRunning()) {
+            String id = mTransactions[oldest].getId();
+            mMap.get(id);
+            mMap.remove(id);
+            BridgeTransaction transaction = mTransactions[(oldest + IN_FLIGHT) % POOL_SIZE];
+            mMap.put(transaction.getId(), transaction);
+            oldest = (oldest + 1) % POOL_SIZE;
+        }
+    }
+
+    /**
+     * Lookup of a pending transaction, as done for every chunk of a streaming response.
+     */
+    @Test
+    public void tableGet() {
+        BenchmarkState state = benchmarkRule.getState();
+        int index = 0;
+        while (state.keepRunning()) {
+            mTable.get(mTransactions[index].getId());
+            index = (index + 1) % IN_FLIGHT;
+        }
+    }
+
+    @Test
+    public void mapGet() {
+        BenchmarkState state = benchmarkRule.getState();
+        int index = 0;
+        while (state.keepRunning()) {
+            mMap.get(mTransactions[index].getId());
+            index = (index + 1) % IN_FLIGHT;
+        }
+    }
+
+    /**
+     * Scan done by the transaction reaper.
+     */
+    @Test
+    public void tableGetExpired() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            mTable.getExpired();
+        }
+    }
+}
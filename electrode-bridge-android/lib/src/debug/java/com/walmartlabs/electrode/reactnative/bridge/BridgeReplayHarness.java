@@ -0,0 +1,486 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.os.Bundle;
+import android.os.Parcelable;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a session captured by {@link BridgeSessionRecorder} against a {@link ElectrodeBridgeTransceiver} driven by a fake
+ * React Native side, and reports the throughput and the round-trip latencies of the bridge.
+ * <p>
+ * Requests and events sent from native are sent again from native, the ones sent from JS are fed to
+ * {@link ElectrodeBridgeTransceiver#sendMessage(com.facebook.react.bridge.ReadableMap)} as JS would.
+ * Requests are answered with the responses recorded for their name, in the recorded order, by fake native request handlers
+ * or by the fake JS side depending on where they were handled during the recording.
+ * <p>
+ * The harness runs in its own {@link BridgeScope}, the handlers, listeners, pending requests and cached responses of the app
+ * are not involved. It still shares the process wide state of the bridge: the dispatch mode, the interceptors, the in-flight
+ * limits, the transaction reaper and the flight recorder. It is meant to be run from tests, on a device or on the JVM with
+ * Robolectric, and never next to a running React Native instance. It lives in the debug source set and is not part of release builds. The fake JS side consumes the messages emitted by the
+ * bridge without mapping them to native maps, the cost of the React Native serialization is not part of the report.
+ */
+public final class BridgeReplayHarness {
+    private static final String TAG = BridgeReplayHarness.class.getSimpleName();
+
+    private static final long COMPLETION_GRACE_MS = 1000;
+    private static final String REPLAY_SCOPE = "replay";
+
+    private final List<BridgeSession.Entry> mMessages = new ArrayList<>();
+    private final Map<String, List<BridgeSession.Entry>> mResponses = new HashMap<>();
+    private final Map<String, AtomicInteger> mResponseCursors = new HashMap<>();
+    private final Map<String, BridgeInterceptor.Direction> mRequestDirections = new HashMap<>();
+    private final ConcurrentHashMap<String, Long> mInboundRequestStarts = new ConcurrentHashMap<>();
+    private final LatencyHistogram mLatencies = new LatencyHistogram();
+    private final AtomicLong mFailureCount = new AtomicLong();
+    private final AtomicLong mTimeoutCount = new AtomicLong();
+    private final AtomicInteger mNextInboundId = new AtomicInteger();
+    private final ExecutorService mUiExecutor = Executors.newSingleThreadExecutor(threadFactory("ReplayUi"));
+    private final ExecutorService mJsExecutor = Executors.newSingleThreadExecutor(threadFactory("ReplayJs"));
+    private CountDownLatch mPendingRequests;
+    private ElectrodeBridgeTransceiver mTransceiver;
+
+    private BridgeReplayHarness(@NonNull List<BridgeSession.Entry> entries) {
+        for (BridgeSession.Entry entry : entries) {
+            switch (entry.hop) {
+                case REQUEST_SEND:
+                    mMessages.add(entry);
+                    mRequestDirections.put(entry.name, entry.direction);
+                    break;
+                case EVENT_EMIT:
+                    mMessages.add(entry);
+                    break;
+                case RESPONSE:
+                    // A timed out request is not answered, it times out again during the replay.
+                    if (entry.failureMessage == null || !"EREQUESTTIMEOUT".equals(entry.failureMessage.getCode())) {
+                        List<BridgeSession.Entry> responses = mResponses.get(entry.name);
+                        if (responses == null) {
+                            responses = new ArrayList<>();
+                            mResponses.put(entry.name, responses);
+                            mResponseCursors.put(entry.name, new AtomicInteger());
+                        }
+                        responses.add(entry);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Replays a recorded session
+     *
+     * @param context The react application context the transceiver is created with
+     * @param session Stream of a session written by {@link BridgeSessionRecorder}, it is not closed
+     * @param speed   Replay speed relative to the recording, 2 replays twice as fast, 0 or less sends every message as fast as possible
+     * @return {@link Report} of the replay
+     * @throws IOException          if the session cannot be read
+     * @throws InterruptedException if interrupted while replaying
+     */
+    @NonNull
+    public static Report replay(@NonNull ReactApplicationContext context, @NonNull InputStream session, float speed) throws IOException, InterruptedException {
+        return new BridgeReplayHarness(BridgeSession.read(session)).run(context, speed);
+    }
+
+    @NonNull
+    private Report run(@NonNull final ReactApplicationContext context, float speed) throws InterruptedException {
+        mTransceiver = ElectrodeBridgeTransceiver.create(BridgeScope.get(REPLAY_SCOPE), new ReactContextWrapper() {
+            @Override
+            public void emitEvent(@NonNull BridgeMessage event) {
+                onEmittedToJs(event);
+            }
+
+            @Override
+            public void runOnUiQueueThread(@NonNull Runnable runnable) {
+                mUiExecutor.execute(runnable);
+            }
+
+            @NonNull
+            @Override
+            public ReactApplicationContext getContext() {
+                return context;
+            }
+        });
+
+        List<UUID> handlerIds = registerNativeRequestHandlers();
+        int requestCount = 0;
+        int maxTimeoutMs = ElectrodeBridgeRequest.DEFAULT_REQUEST_TIMEOUT_MS;
+        for (BridgeSession.Entry message : mMessages) {
+            if (message.hop == BridgeInterceptor.Hop.REQUEST_SEND) {
+                requestCount++;
+                maxTimeoutMs = Math.max(maxTimeoutMs, message.timeoutMs);
+            }
+        }
+        mPendingRequests = new CountDownLatch(requestCount);
+
+        Logger.i(TAG, "Replaying %s messages at speed %s", mMessages.size(), speed);
+        long startNanos = System.nanoTime();
+        try {
+            for (BridgeSession.Entry message : mMessages) {
+                if (speed > 0) {
+                    long dueNanos = startNanos + (long) (message.offsetNanos / speed);
+                    long waitNanos;
+                    while ((waitNanos = dueNanos - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(waitNanos);
+                        if (Thread.interrupted()) {
+                            throw new InterruptedException();
+                        }
+                    }
+                }
+                send(message);
+            }
+            mPendingRequests.await(maxTimeoutMs + COMPLETION_GRACE_MS, TimeUnit.MILLISECONDS);
+            long durationNanos = System.nanoTime() - startNanos;
+            return new Report(mMessages.size(), requestCount, durationNanos, mPendingRequests.getCount(), mFailureCount.get(),
+                    mTimeoutCount.get(), mLatencies.getPercentileMicros(50), mLatencies.getPercentileMicros(90),
+                    mLatencies.getPercentileMicros(99), mLatencies.getMaxMicros());
+        } finally {
+            for (UUID handlerId : handlerIds) {
+                mTransceiver.unregisterRequestHandler(handlerId);
+            }
+            mJsExecutor.shutdownNow();
+            mUiExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Requests that were handled on the native side during the recording are answered by a native request handler
+     */
+    @NonNull
+    private List<UUID> registerNativeRequestHandlers() {
+        List<UUID> handlerIds = new ArrayList<>();
+        for (Map.Entry<String, BridgeInterceptor.Direction> request : mRequestDirections.entrySet()) {
+            if (request.getValue() == BridgeInterceptor.Direction.OUTBOUND) {
+                continue;
+            }
+            final String name = request.getKey();
+            UUID handlerId = UUID.randomUUID();
+            mTransceiver.registerRequestHandler(name, new ElectrodeBridgeRequestHandler<ElectrodeBridgeRequest, Object>() {
+                @Override
+                public void onRequest(@Nullable ElectrodeBridgeRequest payload, @NonNull ElectrodeBridgeResponseListener<Object> responseListener) {
+                    BridgeSession.Entry response = nextResponse(name);
+                    if (response == null) {
+                        return;
+                    }
+                    if (response.failureMessage != null) {
+                        responseListener.onFailure(response.failureMessage);
+                    } else {
+                        responseListener.onSuccess(response.getData());
+                    }
+                }
+            }, handlerId);
+            handlerIds.add(handlerId);
+        }
+        return handlerIds;
+    }
+
+    @Nullable
+    private BridgeSession.Entry nextResponse(@NonNull String name) {
+        List<BridgeSession.Entry> responses = mResponses.get(name);
+        if (responses == null) {
+            return null;
+        }
+        return responses.get(Math.abs(mResponseCursors.get(name).getAndIncrement() % responses.size()));
+    }
+
+    private void send(@NonNull BridgeSession.Entry message) {
+        boolean fromJs = message.direction == BridgeInterceptor.Direction.INBOUND;
+        if (message.hop == BridgeInterceptor.Hop.EVENT_EMIT) {
+            if (fromJs) {
+                mTransceiver.sendMessage(toMessageMap(message.payload, message.name, "replay-" + mNextInboundId.getAndIncrement(), BridgeMessage.Type.EVENT));
+            } else {
+                mTransceiver.sendEvent(new ElectrodeBridgeEvent.Builder(message.name).withData(message.getData()).build());
+            }
+        } else if (fromJs) {
+            String id = "replay-" + mNextInboundId.getAndIncrement();
+            mInboundRequestStarts.put(id, System.nanoTime());
+            mTransceiver.sendMessage(toMessageMap(message.payload, message.name, id, BridgeMessage.Type.REQUEST));
+        } else {
+            final long sentNanos = System.nanoTime();
+            ElectrodeBridgeRequest request = new ElectrodeBridgeRequest.Builder(message.name)
+                    .withData(message.getData())
+                    .withTimeout(message.timeoutMs)
+                    .build();
+            mTransceiver.sendRequest(request, new ElectrodeBridgeResponseListener<ElectrodeBridgeResponse>() {
+                @Override
+                public void onSuccess(@Nullable ElectrodeBridgeResponse responseData) {
+                    onRequestCompleted(sentNanos, null);
+                }
+
+                @Override
+                public void onFailure(@NonNull FailureMessage failureMessage) {
+                    onRequestCompleted(sentNanos, failureMessage);
+                }
+            });
+        }
+    }
+
+    private void onRequestCompleted(long sentNanos, @Nullable FailureMessage failureMessage) {
+        mLatencies.record(System.nanoTime() - sentNanos);
+        if (failureMessage != null) {
+            if ("EREQUESTTIMEOUT".equals(failureMessage.getCode())) {
+                mTimeoutCount.incrementAndGet();
+            } else {
+                mFailureCount.incrementAndGet();
+            }
+        }
+        mPendingRequests.countDown();
+    }
+
+    /**
+     * Fake JS side: answers the requests it receives and completes the requests it sent
+     */
+    private void onEmittedToJs(@NonNull BridgeMessage message) {
+        if (message instanceof BridgeMessageBatch) {
+            for (BridgeMessage batched : ((BridgeMessageBatch) message).getMessages()) {
+                onEmittedToJs(batched);
+            }
+        } else if (message instanceof ElectrodeBridgeRequest) {
+            final ElectrodeBridgeRequest request = (ElectrodeBridgeRequest) message;
+            final BridgeSession.Entry response = nextResponse(request.getName());
+            if (response == null) {
+                return;
+            }
+            mJsExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    JavaOnlyMap responseMap = toMessageMap(response.payload, request.getName(), request.getId(), BridgeMessage.Type.RESPONSE);
+                    if (response.failureMessage != null) {
+                        JavaOnlyMap error = new JavaOnlyMap();
+                        error.putString("code", response.failureMessage.getCode());
+                        error.putString("message", response.failureMessage.getMessage());
+                        responseMap.putMap("error", error);
+                    }
+                    mTransceiver.sendMessage(responseMap);
+                }
+            });
+        } else if (message instanceof ElectrodeBridgeResponse) {
+            ElectrodeBridgeResponse response = (ElectrodeBridgeResponse) message;
+            Long sentNanos = mInboundRequestStarts.remove(response.getId());
+            if (sentNanos != null) {
+                onRequestCompleted(sentNanos, response.getFailureMessage());
+            }
+        }
+    }
+
+    @NonNull
+    private static JavaOnlyMap toMessageMap(@NonNull Bundle payload, @NonNull String name, @NonNull String id, @NonNull BridgeMessage.Type type) {
+        JavaOnlyMap map = toMap(payload);
+        map.putString(BridgeMessage.BRIDGE_MSG_NAME, name);
+        map.putString(BridgeMessage.BRIDGE_MSG_ID, id);
+        map.putString(BridgeMessage.BRIDGE_MSG_TYPE, type.getKey());
+        return map;
+    }
+
+    @NonNull
+    private static JavaOnlyMap toMap(@NonNull Bundle bundle) {
+        JavaOnlyMap map = new JavaOnlyMap();
+        for (String key : bundle.keySet()) {
+            Object value = bundle.get(key);
+            if (value == null) {
+                map.putNull(key);
+            } else if (value instanceof Boolean) {
+                map.putBoolean(key, (Boolean) value);
+            } else if (value instanceof Number) {
+                map.putDouble(key, ((Number) value).doubleValue());
+            } else if (value instanceof String) {
+                map.putString(key, (String) value);
+            } else if (value instanceof Bundle) {
+                map.putMap(key, toMap((Bundle) value));
+            } else if (value.getClass().isArray()) {
+                map.putArray(key, toArray(value));
+            }
+        }
+        return map;
+    }
+
+    @NonNull
+    private static JavaOnlyArray toArray(@NonNull Object array) {
+        JavaOnlyArray result = new JavaOnlyArray();
+        for (int i = 0; i < Array.getLength(array); i++) {
+            Object item = Array.get(array, i);
+            if (item == null) {
+                result.pushNull();
+            } else if (item instanceof Boolean) {
+                result.pushBoolean((Boolean) item);
+            } else if (item instanceof Number) {
+                result.pushDouble(((Number) item).doubleValue());
+            } else if (item instanceof String) {
+                result.pushString((String) item);
+            } else if (item instanceof Bundle) {
+                result.pushMap(toMap((Bundle) item));
+            } else if (item instanceof Parcelable[]) {
+                result.pushArray(toArray(item));
+            }
+        }
+        return result;
+    }
+
+    @NonNull
+    private static ThreadFactory threadFactory(@NonNull final String name) {
+        return new ThreadFactory() {
+            @Override
+            public Thread newThread(@NonNull Runnable runnable) {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+    }
+
+    /**
+     * Outcome of a replay
+     */
+    public static final class Report {
+        private final int messageCount;
+        private final int requestCount;
+        private final long durationNanos;
+        private final long unansweredCount;
+        private final long failureCount;
+        private final long timeoutCount;
+        private final long p50Micros;
+        private final long p90Micros;
+        private final long p99Micros;
+        private final long maxMicros;
+
+        private Report(int messageCount, int requestCount, long durationNanos, long unansweredCount, long failureCount, long timeoutCount,
+                       long p50Micros, long p90Micros, long p99Micros, long maxMicros) {
+            this.messageCount = messageCount;
+            this.requestCount = requestCount;
+            this.durationNanos = durationNanos;
+            this.unansweredCount = unansweredCount;
+            this.failureCount = failureCount;
+            this.timeoutCount = timeoutCount;
+            this.p50Micros = p50Micros;
+            this.p90Micros = p90Micros;
+            this.p99Micros = p99Micros;
+            this.maxMicros = maxMicros;
+        }
+
+        /**
+         * @return Number of requests and events replayed
+         */
+        public int getMessageCount() {
+            return messageCount;
+        }
+
+        /**
+         * @return Number of requests replayed
+         */
+        public int getRequestCount() {
+            return requestCount;
+        }
+
+        /**
+         * @return Time from the first message sent to the last request completed
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        /**
+         * @return Replayed messages per second
+         */
+        public double getThroughput() {
+            return durationNanos > 0 ? messageCount * 1e9 / durationNanos : 0;
+        }
+
+        /**
+         * @return Number of requests still pending when the replay ended
+         */
+        public long getUnansweredCount() {
+            return unansweredCount;
+        }
+
+        /**
+         * @return Number of requests failed for another reason than a timeout
+         */
+        public long getFailureCount() {
+            return failureCount;
+        }
+
+        /**
+         * @return Number of requests that timed out
+         */
+        public long getTimeoutCount() {
+            return timeoutCount;
+        }
+
+        /**
+         * @return Median round-trip latency of the requests
+         */
+        public long getP50Micros() {
+            return p50Micros;
+        }
+
+        /**
+         * @return 90th percentile of the round-trip latency of the requests
+         */
+        public long getP90Micros() {
+            return p90Micros;
+        }
+
+        /**
+         * @return 99th percentile of the round-trip latency of the requests
+         */
+        public long getP99Micros() {
+            return p99Micros;
+        }
+
+        /**
+         * @return Highest round-trip latency of the requests
+         */
+        public long getMaxMicros() {
+            return maxMicros;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "messages:%d, requests:%d, duration:%dms, throughput:%.1f/s, p50:%dus, p90:%dus, p99:%dus, max:%dus, failures:%d, timeouts:%d, unanswered:%d",
+                    messageCount, requestCount, TimeUnit.NANOSECONDS.toMillis(durationNanos), getThroughput(), p50Micros, p90Micros, p99Micros, maxMicros,
+                    failureCount, timeoutCount, unansweredCount);
+        }
+    }
+}
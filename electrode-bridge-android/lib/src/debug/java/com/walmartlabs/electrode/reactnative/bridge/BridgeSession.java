@@ -0,0 +1,420 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.os.Bundle;
+import android.os.Parcelable;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+import com.walmartlabs.electrode.reactnative.bridge.util.BridgeArguments;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary format of the bridge sessions captured by {@link BridgeSessionRecorder} and replayed by {@link BridgeReplayHarness}.
+ * <p>
+ * A session starts with the magic {@code EBRS} and the format version, followed by one entry per recorded hop until the
+ * end of the stream:
+ * <pre>
+ * long    nanoseconds elapsed since the start of the session
+ * byte    hop, ordinal of {@link BridgeInterceptor.Hop}
+ * byte    direction, ordinal of {@link BridgeInterceptor.Direction}
+ * string  message name
+ * int     request timeout in milliseconds, {@link ElectrodeBridgeRequest#NO_TIMEOUT} for other messages
+ * boolean true if the entry is a failed response, followed by the failure code and message strings
+ * value   payload, as the bundle sent over the bridge
+ * </pre>
+ * Strings are written as their UTF-8 length followed by their bytes. Values are written as a type tag followed by the value.
+ */
+final class BridgeSession {
+    private static final String TAG = BridgeSession.class.getSimpleName();
+
+    private static final int MAGIC = 0x45425253; // EBRS
+    private static final int VERSION = 1;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_BOOLEAN = 1;
+    private static final byte TAG_INT = 2;
+    private static final byte TAG_LONG = 3;
+    private static final byte TAG_FLOAT = 4;
+    private static final byte TAG_DOUBLE = 5;
+    private static final byte TAG_STRING = 6;
+    private static final byte TAG_BUNDLE = 7;
+    private static final byte TAG_BOOLEAN_ARRAY = 8;
+    private static final byte TAG_INT_ARRAY = 9;
+    private static final byte TAG_FLOAT_ARRAY = 10;
+    private static final byte TAG_DOUBLE_ARRAY = 11;
+    private static final byte TAG_STRING_ARRAY = 12;
+    private static final byte TAG_BUNDLE_ARRAY = 13;
+
+    private BridgeSession() {
+    }
+
+    /**
+     * A recorded hop
+     */
+    static final class Entry {
+        final long offsetNanos;
+        final BridgeInterceptor.Hop hop;
+        final BridgeInterceptor.Direction direction;
+        final String name;
+        final int timeoutMs;
+        final FailureMessage failureMessage;
+        final Bundle payload;
+
+        Entry(long offsetNanos, @NonNull BridgeInterceptor.Hop hop, @NonNull BridgeInterceptor.Direction direction, @NonNull String name,
+              int timeoutMs, @Nullable FailureMessage failureMessage, @NonNull Bundle payload) {
+            this.offsetNanos = offsetNanos;
+            this.hop = hop;
+            this.direction = direction;
+            this.name = name;
+            this.timeoutMs = timeoutMs;
+            this.failureMessage = failureMessage;
+            this.payload = payload;
+        }
+
+        /**
+         * @return The payload as it was passed to the bridge, the value under {@link BridgeMessage#BRIDGE_MSG_DATA} of the bundle
+         */
+        @Nullable
+        Object getData() {
+            return payload.containsKey(BridgeMessage.BRIDGE_MSG_DATA) ? payload.get(BridgeMessage.BRIDGE_MSG_DATA) : null;
+        }
+    }
+
+    /**
+     * @param data Data of a bridge message
+     * @return The data put under {@link BridgeMessage#BRIDGE_MSG_DATA} of a bundle, lists are converted to arrays and
+     * {@link Bridgeable}s to bundles as they would be to be sent over the bridge
+     */
+    @NonNull
+    static Bundle toPayload(@Nullable Object data) {
+        if (data == null) {
+            return Bundle.EMPTY;
+        }
+        if (data instanceof List) {
+            try {
+                return BridgeArguments.generateDataBundle(data);
+            } catch (RuntimeException e) {
+                Logger.w(TAG, "List payload will not be recorded due to(%s)", e.getMessage());
+                return Bundle.EMPTY;
+            }
+        }
+        Bundle payload = new Bundle();
+        putValue(payload, BridgeMessage.BRIDGE_MSG_DATA, data instanceof Bridgeable ? ((Bridgeable) data).toBundle() : data);
+        return payload;
+    }
+
+    /**
+     * Writes the entries of a session, entries are written in the order they are passed to {@link #write(Entry)}
+     */
+    static final class Writer implements Closeable {
+        private final DataOutputStream mOut;
+
+        Writer(@NonNull OutputStream out) throws IOException {
+            mOut = new DataOutputStream(out);
+            mOut.writeInt(MAGIC);
+            mOut.writeInt(VERSION);
+        }
+
+        void write(@NonNull Entry entry) throws IOException {
+            mOut.writeLong(entry.offsetNanos);
+            mOut.writeByte(entry.hop.ordinal());
+            mOut.writeByte(entry.direction.ordinal());
+            writeString(mOut, entry.name);
+            mOut.writeInt(entry.timeoutMs);
+            mOut.writeBoolean(entry.failureMessage != null);
+            if (entry.failureMessage != null) {
+                writeString(mOut, entry.failureMessage.getCode());
+                writeString(mOut, entry.failureMessage.getMessage());
+            }
+            writeValue(mOut, entry.payload);
+        }
+
+        void flush() throws IOException {
+            mOut.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            mOut.close();
+        }
+    }
+
+    /**
+     * Reads all the entries of a session
+     *
+     * @param in Stream positioned at the start of a session, it is not closed
+     * @return The entries in the order they were recorded
+     * @throws IOException if the stream is not a session or is truncated in the middle of an entry
+     */
+    @NonNull
+    static List<Entry> read(@NonNull InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a bridge session");
+        }
+        int version = data.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported bridge session version " + version);
+        }
+        BridgeInterceptor.Hop[] hops = BridgeInterceptor.Hop.values();
+        BridgeInterceptor.Direction[] directions = BridgeInterceptor.Direction.values();
+        List<Entry> entries = new ArrayList<>();
+        while (true) {
+            long offsetNanos;
+            try {
+                offsetNanos = data.readLong();
+            } catch (EOFException e) {
+                return entries;
+            }
+            BridgeInterceptor.Hop hop = hops[data.readUnsignedByte()];
+            BridgeInterceptor.Direction direction = directions[data.readUnsignedByte()];
+            String name = readString(data);
+            int timeoutMs = data.readInt();
+            FailureMessage failureMessage = null;
+            if (data.readBoolean()) {
+                String code = readString(data);
+                failureMessage = BridgeFailureMessage.create(code != null ? code : "EUNKNOWN", String.valueOf(readString(data)));
+            }
+            Object payload = readValue(data);
+            entries.add(new Entry(offsetNanos, hop, direction, String.valueOf(name), timeoutMs, failureMessage,
+                    payload instanceof Bundle ? (Bundle) payload : Bundle.EMPTY));
+        }
+    }
+
+    private static void writeString(@NonNull DataOutputStream out, @Nullable String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    @Nullable
+    private static String readString(@NonNull DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private static void writeValue(@NonNull DataOutputStream out, @Nullable Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof Boolean) {
+            out.writeByte(TAG_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(TAG_INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(TAG_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Float) {
+            out.writeByte(TAG_FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Number) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof String) {
+            out.writeByte(TAG_STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Bundle) {
+            Bundle bundle = (Bundle) value;
+            out.writeByte(TAG_BUNDLE);
+            out.writeInt(bundle.size());
+            for (String key : bundle.keySet()) {
+                writeString(out, key);
+                writeValue(out, bundle.get(key));
+            }
+        } else if (value instanceof Bridgeable) {
+            writeValue(out, ((Bridgeable) value).toBundle());
+        } else if (value instanceof boolean[]) {
+            boolean[] array = (boolean[]) value;
+            out.writeByte(TAG_BOOLEAN_ARRAY);
+            out.writeInt(array.length);
+            for (boolean item : array) {
+                out.writeBoolean(item);
+            }
+        } else if (value instanceof int[]) {
+            int[] array = (int[]) value;
+            out.writeByte(TAG_INT_ARRAY);
+            out.writeInt(array.length);
+            for (int item : array) {
+                out.writeInt(item);
+            }
+        } else if (value instanceof float[]) {
+            float[] array = (float[]) value;
+            out.writeByte(TAG_FLOAT_ARRAY);
+            out.writeInt(array.length);
+            for (float item : array) {
+                out.writeFloat(item);
+            }
+        } else if (value instanceof double[]) {
+            double[] array = (double[]) value;
+            out.writeByte(TAG_DOUBLE_ARRAY);
+            out.writeInt(array.length);
+            for (double item : array) {
+                out.writeDouble(item);
+            }
+        } else if (value instanceof String[]) {
+            String[] array = (String[]) value;
+            out.writeByte(TAG_STRING_ARRAY);
+            out.writeInt(array.length);
+            for (String item : array) {
+                writeString(out, item);
+            }
+        } else if (value instanceof Parcelable[]) {
+            Parcelable[] array = (Parcelable[]) value;
+            out.writeByte(TAG_BUNDLE_ARRAY);
+            out.writeInt(array.length);
+            for (Parcelable item : array) {
+                writeValue(out, item instanceof Bundle ? item : null);
+            }
+        } else {
+            Logger.w(TAG, "Value of type %s is recorded as a string", value.getClass().getName());
+            out.writeByte(TAG_STRING);
+            writeString(out, String.valueOf(value));
+        }
+    }
+
+    @Nullable
+    private static Object readValue(@NonNull DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_BOOLEAN:
+                return in.readBoolean();
+            case TAG_INT:
+                return in.readInt();
+            case TAG_LONG:
+                return in.readLong();
+            case TAG_FLOAT:
+                return in.readFloat();
+            case TAG_DOUBLE:
+                return in.readDouble();
+            case TAG_STRING:
+                return readString(in);
+            case TAG_BUNDLE: {
+                int size = in.readInt();
+                Bundle bundle = new Bundle();
+                for (int i = 0; i < size; i++) {
+                    putValue(bundle, String.valueOf(readString(in)), readValue(in));
+                }
+                return bundle;
+            }
+            case TAG_BOOLEAN_ARRAY: {
+                boolean[] array = new boolean[in.readInt()];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = in.readBoolean();
+                }
+                return array;
+            }
+            case TAG_INT_ARRAY: {
+                int[] array = new int[in.readInt()];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = in.readInt();
+                }
+                return array;
+            }
+            case TAG_FLOAT_ARRAY: {
+                float[] array = new float[in.readInt()];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = in.readFloat();
+                }
+                return array;
+            }
+            case TAG_DOUBLE_ARRAY: {
+                double[] array = new double[in.readInt()];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = in.readDouble();
+                }
+                return array;
+            }
+            case TAG_STRING_ARRAY: {
+                String[] array = new String[in.readInt()];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = readString(in);
+                }
+                return array;
+            }
+            case TAG_BUNDLE_ARRAY: {
+                Bundle[] array = new Bundle[in.readInt()];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = (Bundle) readValue(in);
+                }
+                return array;
+            }
+            default:
+                throw new IOException("Unknown value tag " + tag);
+        }
+    }
+
+    private static void putValue(@NonNull Bundle bundle, @NonNull String key, @Nullable Object value) {
+        if (value == null) {
+            bundle.putString(key, null);
+        } else if (value instanceof Boolean) {
+            bundle.putBoolean(key, (Boolean) value);
+        } else if (value instanceof Integer) {
+            bundle.putInt(key, (Integer) value);
+        } else if (value instanceof Long) {
+            bundle.putLong(key, (Long) value);
+        } else if (value instanceof Float) {
+            bundle.putFloat(key, (Float) value);
+        } else if (value instanceof Double) {
+            bundle.putDouble(key, (Double) value);
+        } else if (value instanceof String) {
+            bundle.putString(key, (String) value);
+        } else if (value instanceof Bundle) {
+            bundle.putBundle(key, (Bundle) value);
+        } else if (value instanceof boolean[]) {
+            bundle.putBooleanArray(key, (boolean[]) value);
+        } else if (value instanceof int[]) {
+            bundle.putIntArray(key, (int[]) value);
+        } else if (value instanceof float[]) {
+            bundle.putFloatArray(key, (float[]) value);
+        } else if (value instanceof double[]) {
+            bundle.putDoubleArray(key, (double[]) value);
+        } else if (value instanceof String[]) {
+            bundle.putStringArray(key, (String[]) value);
+        } else if (value instanceof Parcelable[]) {
+            bundle.putParcelableArray(key, (Parcelable[]) value);
+        } else {
+            Logger.w(TAG, "Value of type %s will not be recorded", value.getClass().getName());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Interceptor capturing a bridge session, to be replayed later by {@link BridgeReplayHarness}.
+ * <p>
+ * Once added with {@link ElectrodeBridgeHolder#addInterceptor(BridgeInterceptor)}, every request sent, every response and
+ * every event emitted is written to the stream with its payload and its time relative to the first recorded message.
+ * Payloads are serialized on the thread performing the hop, the recorder is meant to capture workloads in development
+ * builds rather than to be left on in production. It lives in the debug source set and is not part of release builds.
+ * <p>
+ * Remove the recorder from the bridge before closing it. Recording stops at the first write failure.
+ */
+public final class BridgeSessionRecorder implements BridgeInterceptor, Closeable {
+    private static final String TAG = BridgeSessionRecorder.class.getSimpleName();
+
+    private final BridgeSession.Writer mWriter;
+
+    // Guarded by this
+    private long mStartNanos = -1;
+    private int mRecordedCount;
+    private boolean mClosed;
+
+    /**
+     * @param out Stream the session is written to, it is buffered by the recorder and closed by {@link #close()}
+     * @throws IOException if the session header cannot be written
+     */
+    public BridgeSessionRecorder(@NonNull OutputStream out) throws IOException {
+        mWriter = new BridgeSession.Writer(new BufferedOutputStream(out));
+    }
+
+    @Override
+    public void intercept(@NonNull Chain chain) {
+        switch (chain.getHop()) {
+            case REQUEST_SEND:
+                record(chain, chain.getRequest() != null ? chain.getRequest().getTimeoutMs() : ElectrodeBridgeRequest.NO_TIMEOUT, null);
+                break;
+            case RESPONSE:
+                record(chain, ElectrodeBridgeRequest.NO_TIMEOUT, ((ElectrodeBridgeResponse) chain.getMessage()).getFailureMessage());
+                break;
+            case EVENT_EMIT:
+                record(chain, ElectrodeBridgeRequest.NO_TIMEOUT, null);
+                break;
+            default:
+                break;
+        }
+        chain.proceed();
+    }
+
+    private synchronized void record(@NonNull Chain chain, int timeoutMs, FailureMessage failureMessage) {
+        if (mClosed) {
+            return;
+        }
+        if (mStartNanos == -1) {
+            mStartNanos = chain.getTimestampNanos();
+        }
+        BridgeMessage message = chain.getMessage();
+        try {
+            mWriter.write(new BridgeSession.Entry(Math.max(0, chain.getTimestampNanos() - mStartNanos), chain.getHop(), chain.getDirection(),
+                    message.getName(), timeoutMs, failureMessage, BridgeSession.toPayload(message.getData())));
+            mRecordedCount++;
+        } catch (IOException e) {
+            Logger.w(TAG, "Session recording stopped after %s messages due to(%s)", mRecordedCount, e.getMessage());
+            mClosed = true;
+        }
+    }
+
+    /**
+     * @return The number of messages recorded so far
+     */
+    public synchronized int getRecordedCount() {
+        return mRecordedCount;
+    }
+
+    /**
+     * Writes the buffered messages to the stream
+     */
+    public synchronized void flush() throws IOException {
+        if (!mClosed) {
+            mWriter.flush();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        mClosed = true;
+        mWriter.close();
+    }
+}
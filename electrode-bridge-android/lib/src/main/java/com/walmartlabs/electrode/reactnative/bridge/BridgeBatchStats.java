@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Statistics about the batches of messages sent to JS.
+ * <p>
+ * Batch sizes are bucketed by powers of two: bucket {@code i} counts the batches holding
+ * {@code [2^i, 2^(i+1))} messages, the last bucket counts every batch larger than that.
+ */
+public final class BridgeBatchStats {
+    public static final int BUCKET_COUNT = 10;
+
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong messageCount = new AtomicLong();
+    private final AtomicLong maxBatchSize = new AtomicLong();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKET_COUNT);
+
+    BridgeBatchStats() {
+    }
+
+    void record(int batchSize) {
+        batchCount.incrementAndGet();
+        messageCount.addAndGet(batchSize);
+        long max;
+        while (batchSize > (max = maxBatchSize.get())) {
+            if (maxBatchSize.compareAndSet(max, batchSize)) {
+                break;
+            }
+        }
+        int bucket = 31 - Integer.numberOfLeadingZeros(Math.max(batchSize, 1));
+        histogram.incrementAndGet(Math.min(bucket, BUCKET_COUNT - 1));
+    }
+
+    /**
+     * @return Number of emits performed towards JS
+     */
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    /**
+     * @return Number of messages sent to JS
+     */
+    public long getMessageCount() {
+        return messageCount.get();
+    }
+
+    /**
+     * @return Size of the largest batch sent to JS
+     */
+    public long getMaxBatchSize() {
+        return maxBatchSize.get();
+    }
+
+    /**
+     * @return Average number of messages per emit
+     */
+    public double getAverageBatchSize() {
+        long batches = batchCount.get();
+        return batches == 0 ? 0 : (double) messageCount.get() / batches;
+    }
+
+    /**
+     * @return A copy of the batch size histogram, see class documentation for the bucket boundaries
+     */
+    @NonNull
+    public long[] getBatchSizeHistogram() {
+        long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = histogram.get(i);
+        }
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        return "BridgeBatchStats{batches=" + getBatchCount()
+                + ", messages=" + getMessageCount()
+                + ", max=" + getMaxBatchSize()
+                + ", avg=" + getAverageBatchSize()
+                + '}';
+    }
+}
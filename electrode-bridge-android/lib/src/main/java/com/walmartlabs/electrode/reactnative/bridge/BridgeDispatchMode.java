@@ -0,0 +1,40 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+/**
+ * Defines on which thread(s) the bridge invokes local event listeners, request handlers and response listeners.
+ */
+public enum BridgeDispatchMode {
+    /**
+     * Every local listener and response callback is posted to the UI queue thread, request handlers are
+     * invoked on the thread that received the request. This is the default mode.
+     */
+    UI_THREAD,
+    /**
+     * Everything is dispatched on a single bridge owned thread, by {@link BridgePriority} and in order within a priority.
+     * Callbacks sharing the same event or request name are always run in the order they were dispatched.
+     */
+    BRIDGE_THREAD,
+    /**
+     * Everything is dispatched on a bounded thread pool. Callbacks sharing the same event or request name are
+     * run one at a time, in the order they were dispatched, while callbacks of unrelated names run in parallel.
+     * A name waits for a thread with the {@link BridgePriority} of its first pending callback.
+     */
+    THREAD_POOL
+}
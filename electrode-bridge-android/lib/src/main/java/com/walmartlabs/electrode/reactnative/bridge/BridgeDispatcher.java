@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Runs local callbacks of the bridge according to a {@link BridgeDispatchMode}.
+ * <p>
+ * Every task is associated with a lane, the name of the event or request it belongs to, and a {@link BridgePriority}.
+ * Implementations must run the tasks of a lane that have the same priority in the order they were submitted,
+ * and should run the queued tasks of a higher priority first without starving the lower ones.
+ */
+interface BridgeDispatcher {
+
+    /**
+     * Dispatches an event listener or a response listener callback
+     *
+     * @param lane     Name of the event or request
+     * @param priority Priority of the event or request
+     * @param task     The task to run
+     */
+    void dispatch(@NonNull String lane, @NonNull BridgePriority priority, @NonNull Runnable task);
+
+    /**
+     * Dispatches a request to a local request handler
+     *
+     * @param lane     Name of the request
+     * @param priority Priority of the request
+     * @param task     The task to run
+     */
+    void dispatchRequest(@NonNull String lane, @NonNull BridgePriority priority, @NonNull Runnable task);
+
+    /**
+     * Stops accepting new tasks, the tasks that are already queued are still executed.
+     */
+    void shutdown();
+}
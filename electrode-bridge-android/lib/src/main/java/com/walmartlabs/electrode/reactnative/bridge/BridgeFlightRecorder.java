@@ -0,0 +1,215 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.os.Bundle;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Always-on recorder of the bridge traffic, keeping the last {@link #DEFAULT_CAPACITY} messages in a fixed size,
+ * off-heap ring buffer.
+ * <p>
+ * Every message is stored as a {@link #RECORD_SIZE} bytes little endian record:
+ * <pre>
+ * 0  long  System.nanoTime()
+ * 8  long  message id, as generated by {@link MessageIdGenerator}, or the negated hash code of an id generated by JS
+ * 16 int   name id, index in the name table
+ * 20 int   payload size: number of entries of a map or list payload, length of a string payload, 1 for any other value
+ * 24 int   id of the recording thread
+ * 28 byte  direction, ordinal of {@link BridgeInterceptor.Direction}
+ * 29 byte  type, ordinal of {@link BridgeMessage.Type}
+ * 30 short reserved
+ * </pre>
+ * Recording a message of a known name does not allocate. {@link #dump(OutputStream)} writes the magic {@code EBFR},
+ * the format version, the name table and the records from the oldest to the newest, see {@link #writeTo(DataOutputStream)}.
+ */
+final class BridgeFlightRecorder {
+    private static final String TAG = BridgeFlightRecorder.class.getSimpleName();
+
+    static final int DEFAULT_CAPACITY = 4096;
+    static final int RECORD_SIZE = 32;
+    private static final int MAGIC = 0x45424652; // EBFR
+    private static final int VERSION = 1;
+
+    private final ByteBuffer mBuffer;
+    private final int mMask;
+    private final AtomicLong mNextRecord = new AtomicLong();
+    private final ConcurrentHashMap<String, Integer> mNameIds = new ConcurrentHashMap<>();
+    private final List<String> mNames = new CopyOnWriteArrayList<>();
+
+    BridgeFlightRecorder() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity Number of records kept, must be a power of two
+     */
+    BridgeFlightRecorder(int capacity) {
+        if (capacity <= 0 || (capacity & (capacity - 1)) != 0) {
+            throw new IllegalArgumentException("capacity must be a power of two");
+        }
+        mBuffer = ByteBuffer.allocateDirect(capacity * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        mMask = capacity - 1;
+    }
+
+    void record(@NonNull BridgeInterceptor.Direction direction, @NonNull BridgeMessage message) {
+        long numericId = message.getNumericId();
+        record(direction, message.getType(), message.getName(), numericId != MessageIdGenerator.NO_ID ? numericId : foreignId(message.getId()), payloadSize(message.getData()));
+    }
+
+    void record(@NonNull BridgeInterceptor.Direction direction, @NonNull BridgeMessage.Type type, @Nullable String name, @Nullable String id, int payloadSize) {
+        long numericId = MessageIdGenerator.parse(id);
+        record(direction, type, name, numericId != MessageIdGenerator.NO_ID ? numericId : foreignId(id), payloadSize);
+    }
+
+    private void record(@NonNull BridgeInterceptor.Direction direction, @NonNull BridgeMessage.Type type, @Nullable String name, long messageId, int payloadSize) {
+        int offset = (int) (mNextRecord.getAndIncrement() & mMask) * RECORD_SIZE;
+        mBuffer.putLong(offset, System.nanoTime());
+        mBuffer.putLong(offset + 8, messageId);
+        mBuffer.putInt(offset + 16, nameId(name));
+        mBuffer.putInt(offset + 20, payloadSize);
+        mBuffer.putInt(offset + 24, (int) Thread.currentThread().getId());
+        mBuffer.put(offset + 28, (byte) direction.ordinal());
+        mBuffer.put(offset + 29, (byte) type.ordinal());
+    }
+
+    /**
+     * @return Number of messages recorded since the creation of the recorder, including the overwritten ones
+     */
+    long getRecordCount() {
+        return mNextRecord.get();
+    }
+
+    /**
+     * Writes the recorded messages to a file, replacing its content
+     */
+    void dump(@NonNull File file) throws IOException {
+        OutputStream outputStream = new FileOutputStream(file);
+        try {
+            dump(outputStream);
+        } finally {
+            outputStream.close();
+        }
+    }
+
+    void dump(@NonNull OutputStream outputStream) throws IOException {
+        DataOutputStream dataOutputStream = new DataOutputStream(new BufferedOutputStream(outputStream));
+        writeTo(dataOutputStream);
+        dataOutputStream.flush();
+    }
+
+    /**
+     * Format: magic, version, record size, name count, names (modified UTF-8), record count, records.
+     * Records written while the dump is in progress can be torn, they are still reported.
+     */
+    private void writeTo(@NonNull DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(RECORD_SIZE);
+        List<String> names = mNames;
+        out.writeInt(names.size());
+        for (String name : names) {
+            out.writeUTF(name);
+        }
+
+        long end = mNextRecord.get();
+        long start = Math.max(0, end - (mMask + 1));
+        out.writeInt((int) (end - start));
+        byte[] record = new byte[RECORD_SIZE];
+        ByteBuffer buffer = mBuffer.duplicate();
+        for (long i = start; i < end; i++) {
+            buffer.position((int) (i & mMask) * RECORD_SIZE);
+            buffer.get(record);
+            out.write(record);
+        }
+    }
+
+    /**
+     * Dumps the recorder to {@code file} when the application crashes, before calling the previous default handler
+     */
+    void dumpOnCrash(@NonNull final File file) {
+        final Thread.UncaughtExceptionHandler defaultHandler = Thread.getDefaultUncaughtExceptionHandler();
+        Thread.setDefaultUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+            @Override
+            public void uncaughtException(Thread thread, Throwable throwable) {
+                try {
+                    dump(file);
+                } catch (IOException e) {
+                    Logger.w(TAG, "Unable to dump the bridge flight recorder to %s due to(%s)", file, e.getMessage());
+                }
+                if (defaultHandler != null) {
+                    defaultHandler.uncaughtException(thread, throwable);
+                }
+            }
+        });
+    }
+
+    private int nameId(@Nullable String name) {
+        if (name == null) {
+            return -1;
+        }
+        Integer id = mNameIds.get(name);
+        if (id != null) {
+            return id;
+        }
+        synchronized (mNames) {
+            id = mNameIds.get(name);
+            if (id == null) {
+                id = mNames.size();
+                mNames.add(name);
+                mNameIds.put(name, id);
+            }
+        }
+        return id;
+    }
+
+    private static long foreignId(@Nullable String id) {
+        return id != null ? -1L - (id.hashCode() & 0x7fffffffL) : MessageIdGenerator.NO_ID;
+    }
+
+    private static int payloadSize(@Nullable Object data) {
+        if (data == null) {
+            return 0;
+        }
+        if (data instanceof Bundle) {
+            return ((Bundle) data).size();
+        }
+        if (data instanceof String) {
+            return ((String) data).length();
+        }
+        if (data instanceof List) {
+            return ((List) data).size();
+        }
+        return 1;
+    }
+}
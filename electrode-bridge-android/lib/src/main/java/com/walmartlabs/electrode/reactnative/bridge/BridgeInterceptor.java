@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Observes, and optionally short-circuits, the messages going through the bridge.
+ * <p>
+ * Interceptors are registered with {@link ElectrodeBridgeHolder#addInterceptor(BridgeInterceptor)} and are called in
+ * registration order for every {@link Hop}. An interceptor passes the message along by calling {@link Chain#proceed()},
+ * the hop is performed once the last interceptor proceeded. An interceptor that does not proceed short-circuits the hop,
+ * request and response hops must then be completed with {@link Chain#respond(Object, FailureMessage)}.
+ * <p>
+ * Interceptors are called synchronously on the thread performing the hop, they must not block and must either proceed or
+ * respond before returning.
+ */
+public interface BridgeInterceptor {
+
+    enum Hop {
+        /**
+         * A request is sent, before any response cache lookup, coalescing or transaction creation
+         */
+        REQUEST_SEND,
+        /**
+         * A pending request is dispatched to its local request handler or to JS
+         */
+        REQUEST_DISPATCH,
+        /**
+         * A pending request is completed with its response, the response is then delivered to the sender of the request
+         */
+        RESPONSE,
+        /**
+         * An event is emitted, before any event policy is applied
+         */
+        EVENT_EMIT,
+        /**
+         * An event is dispatched to its listeners
+         */
+        EVENT_DISPATCH
+    }
+
+    enum Direction {
+        /**
+         * From native to native
+         */
+        LOCAL,
+        /**
+         * From native to JS
+         */
+        OUTBOUND,
+        /**
+         * From JS to native
+         */
+        INBOUND
+    }
+
+    interface Chain {
+        @NonNull
+        Hop getHop();
+
+        @NonNull
+        Direction getDirection();
+
+        /**
+         * @return The intercepted message, an {@link ElectrodeBridgeRequest}, {@link ElectrodeBridgeResponse} or {@link ElectrodeBridgeEvent}
+         */
+        @NonNull
+        BridgeMessage getMessage();
+
+        /**
+         * @return The request the intercepted message belongs to, null for events
+         */
+        @Nullable
+        ElectrodeBridgeRequest getRequest();
+
+        /**
+         * @return {@link System#nanoTime()} when the hop started
+         */
+        long getTimestampNanos();
+
+        /**
+         * @return For a {@link Hop#RESPONSE}, the time elapsed since its request was sent, 0 otherwise
+         */
+        long getLatencyNanos();
+
+        /**
+         * Passes the message to the next interceptor, or performs the hop if this is the last one
+         */
+        void proceed();
+
+        /**
+         * Completes a request hop, or replaces the response of a response hop, instead of proceeding
+         *
+         * @param responseData   Response data, ignored when {@code failureMessage} is set
+         * @param failureMessage Failure to complete the request with, null for a successful response
+         * @throws IllegalStateException for event hops
+         */
+        void respond(@Nullable Object responseData, @Nullable FailureMessage failureMessage);
+    }
+
+    void intercept(@NonNull Chain chain);
+}
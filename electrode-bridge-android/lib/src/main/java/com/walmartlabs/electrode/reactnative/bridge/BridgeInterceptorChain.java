@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * {@link BridgeInterceptor.Chain} running a hop through a snapshot of the registered interceptors.
+ */
+final class BridgeInterceptorChain implements BridgeInterceptor.Chain {
+
+    /**
+     * Completes a request or response hop with the response provided by an interceptor
+     */
+    interface Responder {
+        void respond(@NonNull ElectrodeBridgeResponse response);
+    }
+
+    private final BridgeInterceptor[] mInterceptors;
+    private final int mIndex;
+    private final BridgeInterceptor.Hop mHop;
+    private final BridgeInterceptor.Direction mDirection;
+    private final BridgeMessage mMessage;
+    private final ElectrodeBridgeRequest mRequest;
+    private final long mTimestampNanos;
+    private final long mLatencyNanos;
+    private final Runnable mHopAction;
+    private final Responder mResponder;
+
+    /**
+     * @param hopAction Performs the hop once every interceptor proceeded
+     * @param responder Completes the hop with a response, null for event hops
+     */
+    BridgeInterceptorChain(@NonNull BridgeInterceptor[] interceptors,
+                           @NonNull BridgeInterceptor.Hop hop,
+                           @NonNull BridgeInterceptor.Direction direction,
+                           @NonNull BridgeMessage message,
+                           @Nullable ElectrodeBridgeRequest request,
+                           long latencyNanos,
+                           @NonNull Runnable hopAction,
+                           @Nullable Responder responder) {
+        this(interceptors, 0, hop, direction, message, request, System.nanoTime(), latencyNanos, hopAction, responder);
+    }
+
+    private BridgeInterceptorChain(@NonNull BridgeInterceptor[] interceptors,
+                                   int index,
+                                   @NonNull BridgeInterceptor.Hop hop,
+                                   @NonNull BridgeInterceptor.Direction direction,
+                                   @NonNull BridgeMessage message,
+                                   @Nullable ElectrodeBridgeRequest request,
+                                   long timestampNanos,
+                                   long latencyNanos,
+                                   @NonNull Runnable hopAction,
+                                   @Nullable Responder responder) {
+        mInterceptors = interceptors;
+        mIndex = index;
+        mHop = hop;
+        mDirection = direction;
+        mMessage = message;
+        mRequest = request;
+        mTimestampNanos = timestampNanos;
+        mLatencyNanos = latencyNanos;
+        mHopAction = hopAction;
+        mResponder = responder;
+    }
+
+    @NonNull
+    @Override
+    public BridgeInterceptor.Hop getHop() {
+        return mHop;
+    }
+
+    @NonNull
+    @Override
+    public BridgeInterceptor.Direction getDirection() {
+        return mDirection;
+    }
+
+    @NonNull
+    @Override
+    public BridgeMessage getMessage() {
+        return mMessage;
+    }
+
+    @Nullable
+    @Override
+    public ElectrodeBridgeRequest getRequest() {
+        return mRequest;
+    }
+
+    @Override
+    public long getTimestampNanos() {
+        return mTimestampNanos;
+    }
+
+    @Override
+    public long getLatencyNanos() {
+        return mLatencyNanos;
+    }
+
+    @Override
+    public void proceed() {
+        if (mIndex < mInterceptors.length) {
+            mInterceptors[mIndex].intercept(new BridgeInterceptorChain(mInterceptors, mIndex + 1, mHop, mDirection, mMessage, mRequest, mTimestampNanos, mLatencyNanos, mHopAction, mResponder));
+        } else {
+            mHopAction.run();
+        }
+    }
+
+    @Override
+    public void respond(@Nullable Object responseData, @Nullable FailureMessage failureMessage) {
+        if (mResponder == null || mRequest == null) {
+            throw new IllegalStateException("Cannot respond to a " + mHop + " hop");
+        }
+        mResponder.respond(ElectrodeBridgeResponse.createResponseForRequest(mRequest, failureMessage == null ? responseData : null, failureMessage));
+    }
+
+    /**
+     * Runs the first interceptor of the chain
+     */
+    void start() {
+        proceed();
+    }
+}
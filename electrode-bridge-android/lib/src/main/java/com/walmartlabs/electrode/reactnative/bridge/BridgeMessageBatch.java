@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Envelope used to send several {@link BridgeMessage}s to JS in a single bridge crossing.
+ * <p>
+ * The messages are kept in the order they were emitted and are mapped under {@link #BRIDGE_MSG_MESSAGES}.
+ */
+public class BridgeMessageBatch extends BridgeMessage {
+
+    public static final String BRIDGE_MSG_MESSAGES = "messages";
+    static final String BATCH_NAME = "electrode.bridge.batch";
+
+    private final List<BridgeMessage> messages;
+
+    BridgeMessageBatch(@NonNull List<BridgeMessage> messages) {
+        super(BATCH_NAME, nextId(), Type.BATCH, null);
+        this.messages = Collections.unmodifiableList(messages);
+    }
+
+    /**
+     * @return The messages carried by this batch
+     */
+    @NonNull
+    public List<BridgeMessage> getMessages() {
+        return messages;
+    }
+
+    /**
+     * @return The number of messages carried by this batch
+     */
+    public int size() {
+        return messages.size();
+    }
+
+    @NonNull
+    @Override
+    public WritableMap map() {
+        WritableMap writableMap = super.map();
+        WritableArray messageArray = Arguments.createArray();
+        for (BridgeMessage message : messages) {
+            messageArray.pushMap(message.map());
+        }
+        writableMap.putArray(BRIDGE_MSG_MESSAGES, messageArray);
+        return writableMap;
+    }
+
+    @Override
+    public String toString() {
+        return "name:" + getName() + ", id:" + getId() + ", size:" + messages.size() + " type:" + getType();
+    }
+}
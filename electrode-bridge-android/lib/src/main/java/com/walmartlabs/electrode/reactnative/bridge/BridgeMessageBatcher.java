@@ -0,0 +1,178 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+import android.support.annotation.NonNull;
+
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the messages emitted to JS and sends them as a single {@link BridgeMessageBatch}, either once per frame
+ * or once per time window.
+ * <p>
+ * Messages are ordered by {@link BridgePriority} in the batch, messages of the same name staying in the order they were
+ * emitted (see {@link PriorityLanes}), and a {@link BridgePriority#CRITICAL} message flushes the
+ * queued messages right away instead of waiting for the next frame or window.
+ */
+class BridgeMessageBatcher {
+    private static final String TAG = BridgeMessageBatcher.class.getSimpleName();
+
+    /**
+     * Window value that aligns the flushes on the display frames.
+     */
+    static final long PER_FRAME = 0;
+
+    private static ScheduledExecutorService sWindowExecutor;
+
+    private final ReactContextWrapper mReactContextWrapper;
+    private final long mWindowMs;
+    private final BridgeBatchStats mStats;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable mFlushRunnable = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+    private final Runnable mPostFrameCallbackRunnable = new Runnable() {
+        @Override
+        public void run() {
+            postFrameCallback();
+        }
+    };
+    private final Choreographer.FrameCallback mFlushFrameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            flush();
+        }
+    };
+
+    // Held across collecting and emitting a batch, so that concurrent flushes reach JS in the order they collected messages.
+    // Always taken before this.
+    private final Object mEmitLock = new Object();
+
+    // Guarded by this
+    private final PriorityLanes<BridgeMessage> mPendingMessages = new PriorityLanes<>();
+    private boolean mFlushScheduled;
+
+    /**
+     * @param reactContextWrapper Used to emit the batches
+     * @param windowMs            {@link #PER_FRAME} or the duration in milliseconds during which messages are collected
+     * @param stats               Stats updated for each emit
+     */
+    BridgeMessageBatcher(@NonNull ReactContextWrapper reactContextWrapper, long windowMs, @NonNull BridgeBatchStats stats) {
+        if (windowMs < 0) {
+            throw new IllegalArgumentException("windowMs cannot be negative");
+        }
+        mReactContextWrapper = reactContextWrapper;
+        mWindowMs = windowMs;
+        mStats = stats;
+    }
+
+    /**
+     * Queues a message, it will be sent to JS with the next flush.
+     *
+     * @param message {@link BridgeMessage}
+     */
+    void enqueue(@NonNull BridgeMessage message) {
+        if (message.getPriority() == BridgePriority.CRITICAL) {
+            synchronized (this) {
+                mPendingMessages.add(message.getName(), message.getPriority(), message);
+            }
+            flush();
+            return;
+        }
+        synchronized (this) {
+            mPendingMessages.add(message.getName(), message.getPriority(), message);
+            if (mFlushScheduled) {
+                return;
+            }
+            mFlushScheduled = true;
+        }
+        scheduleFlush();
+    }
+
+    /**
+     * Sends all the queued messages to JS.
+     */
+    void flush() {
+        synchronized (mEmitLock) {
+            List<BridgeMessage> messages;
+            synchronized (this) {
+                mFlushScheduled = false;
+                if (mPendingMessages.isEmpty()) {
+                    return;
+                }
+                messages = new ArrayList<>(mPendingMessages.size());
+                BridgeMessage message;
+                while ((message = mPendingMessages.poll()) != null) {
+                    messages.add(message);
+                }
+            }
+
+            mStats.record(messages.size());
+            if (messages.size() == 1) {
+                // No need to pay for an envelope
+                mReactContextWrapper.emitEvent(messages.get(0));
+            } else {
+                Logger.d(TAG, "Emitting a batch of %s messages to JS", messages.size());
+                mReactContextWrapper.emitEvent(new BridgeMessageBatch(messages));
+            }
+        }
+    }
+
+    private void scheduleFlush() {
+        if (mWindowMs == PER_FRAME) {
+            if (Looper.myLooper() == Looper.getMainLooper()) {
+                postFrameCallback();
+            } else {
+                mMainHandler.post(mPostFrameCallbackRunnable);
+            }
+        } else {
+            windowExecutor().schedule(mFlushRunnable, mWindowMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void postFrameCallback() {
+        Choreographer.getInstance().postFrameCallback(mFlushFrameCallback);
+    }
+
+    private static synchronized ScheduledExecutorService windowExecutor() {
+        if (sWindowExecutor == null) {
+            sWindowExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(@NonNull Runnable runnable) {
+                    Thread thread = new Thread(runnable, "ElectrodeBridgeBatcher");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return sWindowExecutor;
+    }
+}
@@ -0,0 +1,427 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.os.Bundle;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.lang.reflect.Array;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Built-in instrumentation of the bridge, independent of the log level.
+ * <p>
+ * Requests are measured from the creation of their transaction to its completion, per request name.
+ * Events are counted per name, along with an estimate of their serialized payload size sampled on one event out of
+ * {@link #PAYLOAD_SAMPLING_INTERVAL}. Recording only updates preallocated counters, use {@link #snapshot()} to read them.
+ */
+public final class BridgeMetrics {
+    static final int PAYLOAD_SAMPLING_INTERVAL = 16;
+
+    private static final ConcurrentHashMap<String, RequestRecorder> sRequests = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, EventRecorder> sEvents = new ConcurrentHashMap<>();
+    private static volatile boolean sEnabled = true;
+    private static volatile long sStartNanos = System.nanoTime();
+
+    private BridgeMetrics() {
+    }
+
+    /**
+     * Enables or disables the recording of metrics, enabled by default
+     */
+    @SuppressWarnings("unused")
+    public static void setEnabled(boolean enabled) {
+        sEnabled = enabled;
+    }
+
+    /**
+     * Clears all the recorded metrics
+     */
+    @SuppressWarnings("unused")
+    public static void reset() {
+        sRequests.clear();
+        sEvents.clear();
+        sStartNanos = System.nanoTime();
+    }
+
+    /**
+     * @return A point in time copy of the recorded metrics
+     */
+    @NonNull
+    public static Snapshot snapshot() {
+        long intervalNanos = System.nanoTime() - sStartNanos;
+        Map<String, RequestStats> requests = new HashMap<>();
+        for (Map.Entry<String, RequestRecorder> entry : sRequests.entrySet()) {
+            requests.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        Map<String, EventStats> events = new HashMap<>();
+        for (Map.Entry<String, EventRecorder> entry : sEvents.entrySet()) {
+            events.put(entry.getKey(), entry.getValue().snapshot(intervalNanos));
+        }
+        return new Snapshot(TimeUnit.NANOSECONDS.toMillis(intervalNanos), ElectrodeBridgeTransceiver.getPendingTransactionCount(), requests, events);
+    }
+
+    static void recordResponse(@NonNull String name, long latencyNanos, @Nullable FailureMessage failureMessage) {
+        if (!sEnabled) {
+            return;
+        }
+        RequestRecorder recorder = sRequests.get(name);
+        if (recorder == null) {
+            RequestRecorder newRecorder = new RequestRecorder();
+            recorder = sRequests.putIfAbsent(name, newRecorder);
+            if (recorder == null) {
+                recorder = newRecorder;
+            }
+        }
+        recorder.record(latencyNanos, failureMessage);
+    }
+
+    static void recordEvent(@NonNull String name, @Nullable Object data) {
+        if (!sEnabled) {
+            return;
+        }
+        EventRecorder recorder = sEvents.get(name);
+        if (recorder == null) {
+            EventRecorder newRecorder = new EventRecorder();
+            recorder = sEvents.putIfAbsent(name, newRecorder);
+            if (recorder == null) {
+                recorder = newRecorder;
+            }
+        }
+        recorder.record(data);
+    }
+
+    /**
+     * Estimates the size in bytes of a payload once serialized to JS
+     */
+    static long estimatePayloadSize(@Nullable Object data) {
+        if (data == null) {
+            return 0;
+        }
+        if (data instanceof String) {
+            return ((String) data).length() + 2;
+        }
+        if (data instanceof Boolean) {
+            return 5;
+        }
+        if (data instanceof Number) {
+            return 8;
+        }
+        if (data instanceof Bundle) {
+            Bundle bundle = (Bundle) data;
+            long size = 2;
+            for (String key : bundle.keySet()) {
+                size += key.length() + 4 + estimatePayloadSize(bundle.get(key));
+            }
+            return size;
+        }
+        if (data instanceof List) {
+            long size = 2;
+            for (Object item : (List) data) {
+                size += estimatePayloadSize(item) + 1;
+            }
+            return size;
+        }
+        if (data.getClass().isArray()) {
+            if (data instanceof Object[]) {
+                long size = 2;
+                for (Object item : (Object[]) data) {
+                    size += estimatePayloadSize(item) + 1;
+                }
+                return size;
+            }
+            return 2 + 9L * Array.getLength(data);
+        }
+        if (data instanceof Bridgeable) {
+            return estimatePayloadSize(((Bridgeable) data).toBundle());
+        }
+        return 0;
+    }
+
+    private static final class RequestRecorder {
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private final AtomicLong timeoutCount = new AtomicLong();
+        private final AtomicLong noHandlerCount = new AtomicLong();
+        private final AtomicLong failureCount = new AtomicLong();
+
+        void record(long latencyNanos, @Nullable FailureMessage failureMessage) {
+            latencies.record(latencyNanos);
+            if (failureMessage != null) {
+                if ("EREQUESTTIMEOUT".equals(failureMessage.getCode())) {
+                    timeoutCount.incrementAndGet();
+                } else if ("ENOHANDLER".equals(failureMessage.getCode())) {
+                    noHandlerCount.incrementAndGet();
+                } else {
+                    failureCount.incrementAndGet();
+                }
+            }
+        }
+
+        @NonNull
+        RequestStats snapshot() {
+            return new RequestStats(latencies.getCount(),
+                    timeoutCount.get(),
+                    noHandlerCount.get(),
+                    failureCount.get(),
+                    latencies.getPercentileMicros(50),
+                    latencies.getPercentileMicros(90),
+                    latencies.getPercentileMicros(99),
+                    latencies.getMaxMicros());
+        }
+    }
+
+    private static final class EventRecorder {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong sampleCount = new AtomicLong();
+        private final AtomicLong sampledBytes = new AtomicLong();
+        private final AtomicLong maxPayloadBytes = new AtomicLong();
+
+        void record(@Nullable Object data) {
+            if (count.getAndIncrement() % PAYLOAD_SAMPLING_INTERVAL != 0) {
+                return;
+            }
+            long size = estimatePayloadSize(data);
+            sampleCount.incrementAndGet();
+            sampledBytes.addAndGet(size);
+            long max;
+            while (size > (max = maxPayloadBytes.get())) {
+                if (maxPayloadBytes.compareAndSet(max, size)) {
+                    break;
+                }
+            }
+        }
+
+        @NonNull
+        EventStats snapshot(long intervalNanos) {
+            long events = count.get();
+            long samples = sampleCount.get();
+            double ratePerSecond = intervalNanos > 0 ? events * (double) TimeUnit.SECONDS.toNanos(1) / intervalNanos : 0;
+            return new EventStats(events, ratePerSecond, samples == 0 ? 0 : sampledBytes.get() / samples, maxPayloadBytes.get());
+        }
+    }
+
+    /**
+     * Metrics recorded since the start of the application or the last {@link #reset()}
+     */
+    public static final class Snapshot {
+        private final long intervalMs;
+        private final int inFlightRequestCount;
+        private final Map<String, RequestStats> requests;
+        private final Map<String, EventStats> events;
+
+        private Snapshot(long intervalMs, int inFlightRequestCount, @NonNull Map<String, RequestStats> requests, @NonNull Map<String, EventStats> events) {
+            this.intervalMs = intervalMs;
+            this.inFlightRequestCount = inFlightRequestCount;
+            this.requests = Collections.unmodifiableMap(requests);
+            this.events = Collections.unmodifiableMap(events);
+        }
+
+        /**
+         * @return Duration covered by this snapshot
+         */
+        public long getIntervalMs() {
+            return intervalMs;
+        }
+
+        /**
+         * @return Number of pending requests when the snapshot was taken
+         */
+        public int getInFlightRequestCount() {
+            return inFlightRequestCount;
+        }
+
+        /**
+         * @return Request metrics by request name
+         */
+        @NonNull
+        public Map<String, RequestStats> getRequests() {
+            return requests;
+        }
+
+        /**
+         * @return Event metrics by event name
+         */
+        @NonNull
+        public Map<String, EventStats> getEvents() {
+            return events;
+        }
+
+        @Override
+        public String toString() {
+            return "BridgeMetrics{intervalMs=" + intervalMs
+                    + ", inFlight=" + inFlightRequestCount
+                    + ", requests=" + requests
+                    + ", events=" + events
+                    + '}';
+        }
+    }
+
+    /**
+     * Latencies and outcomes of the completed requests of a given name
+     */
+    public static final class RequestStats {
+        private final long count;
+        private final long timeoutCount;
+        private final long noHandlerCount;
+        private final long failureCount;
+        private final long p50Micros;
+        private final long p90Micros;
+        private final long p99Micros;
+        private final long maxMicros;
+
+        private RequestStats(long count, long timeoutCount, long noHandlerCount, long failureCount, long p50Micros, long p90Micros, long p99Micros, long maxMicros) {
+            this.count = count;
+            this.timeoutCount = timeoutCount;
+            this.noHandlerCount = noHandlerCount;
+            this.failureCount = failureCount;
+            this.p50Micros = p50Micros;
+            this.p90Micros = p90Micros;
+            this.p99Micros = p99Micros;
+            this.maxMicros = maxMicros;
+        }
+
+        /**
+         * @return Number of completed requests, whatever their outcome
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return Number of requests that timed out
+         */
+        public long getTimeoutCount() {
+            return timeoutCount;
+        }
+
+        /**
+         * @return Number of requests failed with ENOHANDLER
+         */
+        public long getNoHandlerCount() {
+            return noHandlerCount;
+        }
+
+        /**
+         * @return Number of requests failed for any other reason
+         */
+        public long getFailureCount() {
+            return failureCount;
+        }
+
+        /**
+         * @return Median round-trip latency
+         */
+        public long getP50Micros() {
+            return p50Micros;
+        }
+
+        /**
+         * @return 90th percentile of the round-trip latency
+         */
+        public long getP90Micros() {
+            return p90Micros;
+        }
+
+        /**
+         * @return 99th percentile of the round-trip latency
+         */
+        public long getP99Micros() {
+            return p99Micros;
+        }
+
+        /**
+         * @return Highest round-trip latency
+         */
+        public long getMaxMicros() {
+            return maxMicros;
+        }
+
+        @Override
+        public String toString() {
+            return "RequestStats{count=" + count
+                    + ", timeouts=" + timeoutCount
+                    + ", noHandler=" + noHandlerCount
+                    + ", failures=" + failureCount
+                    + ", p50=" + p50Micros + "us"
+                    + ", p90=" + p90Micros + "us"
+                    + ", p99=" + p99Micros + "us"
+                    + ", max=" + maxMicros + "us"
+                    + '}';
+        }
+    }
+
+    /**
+     * Rate and payload size of the events of a given name
+     */
+    public static final class EventStats {
+        private final long count;
+        private final double ratePerSecond;
+        private final long averagePayloadBytes;
+        private final long maxPayloadBytes;
+
+        private EventStats(long count, double ratePerSecond, long averagePayloadBytes, long maxPayloadBytes) {
+            this.count = count;
+            this.ratePerSecond = ratePerSecond;
+            this.averagePayloadBytes = averagePayloadBytes;
+            this.maxPayloadBytes = maxPayloadBytes;
+        }
+
+        /**
+         * @return Number of emitted events
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return Average number of events emitted per second over the snapshot interval
+         */
+        public double getRatePerSecond() {
+            return ratePerSecond;
+        }
+
+        /**
+         * @return Estimated average serialized payload size, from the sampled events
+         */
+        public long getAveragePayloadBytes() {
+            return averagePayloadBytes;
+        }
+
+        /**
+         * @return Estimated largest serialized payload size, from the sampled events
+         */
+        public long getMaxPayloadBytes() {
+            return maxPayloadBytes;
+        }
+
+        @Override
+        public String toString() {
+            return "EventStats{count=" + count
+                    + ", rate=" + ratePerSecond + "/s"
+                    + ", avgPayload=" + averagePayloadBytes + "B"
+                    + ", maxPayload=" + maxPayloadBytes + "B"
+                    + '}';
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+/**
+ * Lane a bridge message travels in.
+ * <p>
+ * Messages of a higher lane are emitted to JS and dispatched to native listeners and handlers before the queued messages of
+ * the lower lanes. A lower lane is still served regularly while higher lanes are busy, it cannot be starved.
+ * Messages keep their order within a lane, and messages of the same name keep their order across lanes: a message waits
+ * for the earlier messages of its name, whatever their lane.
+ */
+public enum BridgePriority {
+    /**
+     * Messages the user is waiting on, such as navigation requests
+     */
+    CRITICAL,
+    /**
+     * Default lane
+     */
+    NORMAL,
+    /**
+     * Messages that can be delayed, such as analytics events
+     */
+    BULK
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Notice sent across the bridge when a pending request is cancelled by its sender.
+ * <p>
+ * The notice carries the name and the id of the cancelled request, the receiver should abandon the work it started for that request.
+ * No response is expected for a cancelled request.
+ */
+public class BridgeRequestCancel extends BridgeMessage {
+
+    BridgeRequestCancel(@NonNull ElectrodeBridgeRequest request) {
+        super(request.getName(), request.getId(), Type.CANCEL, null, request.getPriority());
+    }
+
+    @Override
+    public String toString() {
+        return "name:" + getName() + ", id:" + getId() + " type:" + getType();
+    }
+}
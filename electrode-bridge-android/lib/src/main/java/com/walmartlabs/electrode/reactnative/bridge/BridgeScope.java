@@ -0,0 +1,263 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Traffic state of one bridge: its handlers, listeners, pending transactions, timers and sticky events.
+ * <p>
+ * Each {@link ElectrodeBridgePackage} binds its transceiver to a scope, so that several react instances living in the same
+ * process do not see each other's handlers, listeners or in-flight requests. Packages created without a scope name share the
+ * {@link #DEFAULT} scope, which is the one {@link ElectrodeBridgeHolder} talks to unless a {@link BridgeRouter} says otherwise.
+ * A scope outlives the react contexts of its package, registrations survive a reload of the react instance.
+ */
+final class BridgeScope {
+    private static final String TAG = BridgeScope.class.getSimpleName();
+
+    static final String DEFAULT_NAME = "default";
+
+    private static final ConcurrentHashMap<String, BridgeScope> sScopes = new ConcurrentHashMap<>();
+    // Request coalescing is configured per request name, whatever the scope
+    private static final Set<String> sCoalescedRequestNames = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private static final Map<String, EventPolicy> sEventPolicies = new ConcurrentHashMap<>();
+    private static final Set<String> sStickyEventNames = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private static final Map<String, ResponseCachePolicy> sResponseCachePolicies = new ConcurrentHashMap<>();
+    private static final ResponseCacheStats sResponseCacheStats = new ResponseCacheStats();
+
+    static final BridgeScope DEFAULT = get(DEFAULT_NAME);
+
+    final String name;
+    final PendingTransactionTable pendingTransactions = new PendingTransactionTable();
+    final EventRegistrar<ElectrodeBridgeEventListener<ElectrodeBridgeEvent>> eventRegistrar = new EventRegistrarImpl<>();
+    final EventDispatcher eventDispatcher = new EventDispatcherImpl(eventRegistrar);
+    final RequestRegistrarImpl<ElectrodeBridgeRequestHandler<ElectrodeBridgeRequest, Object>> requestRegistrar = new RequestRegistrarImpl<>();
+    final RequestDispatcherImpl requestDispatcher = new RequestDispatcherImpl(requestRegistrar);
+    final List<ConstantsProvider> constantsProviders = new CopyOnWriteArrayList<>();
+    final Map<String, ResponseStream> responseStreams = new ConcurrentHashMap<>();
+    final RequestCoalescer requestCoalescer = new RequestCoalescer(sCoalescedRequestNames);
+    final StickyEventCache stickyEvents = new StickyEventCache(sStickyEventNames);
+    // Cached responses come from the handlers of the scope, they must not answer the requests of another scope
+    final ResponseCache responseCache = new ResponseCache(sResponseCacheStats);
+    final BridgeTimeoutScheduler timeoutScheduler;
+    final EventPolicyRegistry eventPolicies;
+
+    private volatile ElectrodeBridgeTransceiver mTransceiver;
+    private volatile boolean mIsReady;
+    // Guarded by this, messages sent through the scope before its react instance is ready, keyed by message
+    private Map<BridgeMessage, Runnable> mQueuedSends = new LinkedHashMap<>();
+    // Guarded by this, true while onReady sends the queued messages
+    private boolean mIsDraining;
+
+    private BridgeScope(@NonNull String name) {
+        this.name = name;
+        this.timeoutScheduler = new BridgeTimeoutScheduler(new BridgeTimeoutScheduler.TimeoutListener() {
+            @Override
+            public void onTimeout(@NonNull List<BridgeTransaction> expiredTransactions) {
+                ElectrodeBridgeTransceiver transceiver = mTransceiver;
+                if (transceiver != null) {
+                    transceiver.failTimedOutTransactions(expiredTransactions);
+                }
+            }
+        });
+        this.eventPolicies = new EventPolicyRegistry(new EventPolicyRegistry.Sink() {
+            @Override
+            public void deliver(@NonNull ElectrodeBridgeEvent event) {
+                ElectrodeBridgeTransceiver transceiver = mTransceiver;
+                if (transceiver != null) {
+                    transceiver.deliverEvent(event);
+                }
+            }
+        });
+    }
+
+    /**
+     * @param name Scope name
+     * @return The scope of the given name, created on first use
+     */
+    @NonNull
+    static BridgeScope get(@NonNull String name) {
+        BridgeScope scope = sScopes.get(name);
+        if (scope == null) {
+            BridgeScope created = new BridgeScope(name);
+            scope = sScopes.putIfAbsent(name, created);
+            if (scope == null) {
+                scope = created;
+                synchronized (sEventPolicies) {
+                    for (Map.Entry<String, EventPolicy> entry : sEventPolicies.entrySet()) {
+                        scope.eventPolicies.setPolicy(entry.getKey(), entry.getValue());
+                    }
+                }
+                synchronized (sResponseCachePolicies) {
+                    for (Map.Entry<String, ResponseCachePolicy> entry : sResponseCachePolicies.entrySet()) {
+                        scope.responseCache.setPolicy(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+        }
+        return scope;
+    }
+
+    /**
+     * @param name Scope name
+     * @return The scope of the given name, null if it was never used
+     */
+    @Nullable
+    static BridgeScope find(@NonNull String name) {
+        return sScopes.get(name);
+    }
+
+    @NonNull
+    static Collection<BridgeScope> all() {
+        return sScopes.values();
+    }
+
+    /**
+     * Sets the policy of an event name in every scope, including the ones created later
+     */
+    static void setEventPolicy(@NonNull String eventName, @Nullable EventPolicy policy) {
+        synchronized (sEventPolicies) {
+            if (policy != null) {
+                sEventPolicies.put(eventName, policy);
+            } else {
+                sEventPolicies.remove(eventName);
+            }
+            for (BridgeScope scope : sScopes.values()) {
+                scope.eventPolicies.setPolicy(eventName, policy);
+            }
+        }
+    }
+
+    /**
+     * Sets the response cache policy of a request name in every scope, including the ones created later
+     */
+    static void setResponseCachePolicy(@NonNull String name, @Nullable ResponseCachePolicy policy) {
+        synchronized (sResponseCachePolicies) {
+            if (policy != null) {
+                sResponseCachePolicies.put(name, policy);
+            } else {
+                sResponseCachePolicies.remove(name);
+            }
+            for (BridgeScope scope : sScopes.values()) {
+                scope.responseCache.setPolicy(name, policy);
+            }
+        }
+    }
+
+    /**
+     * @return Response cache statistics of all the scopes
+     */
+    @NonNull
+    static ResponseCacheStats getResponseCacheStats() {
+        return sResponseCacheStats;
+    }
+
+    /**
+     * @return The transceiver of the current react instance of the scope, null if none was created yet
+     */
+    @Nullable
+    ElectrodeBridgeTransceiver getTransceiver() {
+        return mTransceiver;
+    }
+
+    void setTransceiver(@NonNull ElectrodeBridgeTransceiver transceiver) {
+        mTransceiver = transceiver;
+    }
+
+    boolean isReady() {
+        return mIsReady;
+    }
+
+    /**
+     * Runs the given send right away if the react instance of the scope is ready, queues it until then otherwise
+     *
+     * @param message The message sent, see {@link #removeQueued(BridgeMessage)}
+     * @param send    Sends the message through {@link #getTransceiver()}
+     */
+    void runWhenReady(@NonNull BridgeMessage message, @NonNull Runnable send) {
+        synchronized (this) {
+            if (!mIsReady) {
+                Logger.d(TAG, "Queuing %s(name=%s) until the react instance of bridge scope(%s) is ready", message.getType(), message.getName(), name);
+                mQueuedSends.put(message, send);
+                return;
+            }
+        }
+        send.run();
+    }
+
+    /**
+     * @param message Message passed to {@link #runWhenReady(BridgeMessage, Runnable)}
+     * @return true if the message was still queued and will not be sent
+     */
+    synchronized boolean removeQueued(@NonNull BridgeMessage message) {
+        return mQueuedSends.remove(message) != null;
+    }
+
+    /**
+     * Sends the queued messages by priority, in the order they were queued within a priority, then lets new sends through.
+     * Sends made while the queue is drained are queued behind it, so they cannot overtake the queued messages.
+     */
+    void onReady() {
+        while (true) {
+            Map<BridgeMessage, Runnable> queuedSends;
+            synchronized (this) {
+                if (mIsDraining) {
+                    return;
+                }
+                if (mQueuedSends.isEmpty()) {
+                    mIsReady = true;
+                    return;
+                }
+                queuedSends = mQueuedSends;
+                mQueuedSends = new LinkedHashMap<>();
+                mIsDraining = true;
+            }
+            Logger.d(TAG, "Sending %s message(s) queued for bridge scope(%s)", queuedSends.size(), name);
+            try {
+                for (BridgePriority priority : BridgePriority.values()) {
+                    for (Map.Entry<BridgeMessage, Runnable> entry : queuedSends.entrySet()) {
+                        if (entry.getKey().getPriority() == priority) {
+                            entry.getValue().run();
+                        }
+                    }
+                }
+            } finally {
+                synchronized (this) {
+                    mIsDraining = false;
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BridgeScope{name=" + name + "}";
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+
+import com.facebook.react.bridge.WritableMap;
+
+/**
+ * Acknowledgement sent across the bridge once the chunks of a streaming response were consumed.
+ * <p>
+ * The acknowledgement carries the name and the id of the request and the sequence number of the last consumed chunk,
+ * it lets the sender of the chunks send more of them.
+ */
+public class BridgeStreamAck extends BridgeMessage {
+
+    private final int sequence;
+
+    BridgeStreamAck(@NonNull ElectrodeBridgeRequest request, int sequence) {
+        super(request.getName(), request.getId(), Type.ACK, null, request.getPriority());
+        this.sequence = sequence;
+    }
+
+    /**
+     * @return Sequence number of the last consumed chunk
+     */
+    public int getSequence() {
+        return sequence;
+    }
+
+    @NonNull
+    @Override
+    public WritableMap map() {
+        WritableMap writableMap = super.map();
+        writableMap.putInt(ElectrodeBridgeResponse.BRIDGE_RESPONSE_SEQUENCE, sequence);
+        return writableMap;
+    }
+
+    @Override
+    public String toString() {
+        return "name:" + getName() + ", id:" + getId() + ", seq:" + sequence + " type:" + getType();
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashed timer wheel used to time out pending {@link BridgeTransaction}s.
+ * <p>
+ * Each scheduler owns a worker thread, there is one scheduler per {@link BridgeScope}. The worker advances the wheel
+ * one tick at a time and hands every transaction that expired during a tick to the {@link TimeoutListener} in one batch.
+ * Plain tasks can also be scheduled, for timeouts that are not backed by a transaction.
+ * Scheduling and cancelling a timeout are both O(1), the worker thread parks while no timer is live.
+ */
+final class BridgeTimeoutScheduler {
+    private static final String TAG = BridgeTimeoutScheduler.class.getSimpleName();
+
+    static final long DEFAULT_TICK_MS = 10;
+    static final int DEFAULT_WHEEL_SIZE = 512;
+
+    /**
+     * Notified from the scheduler thread with all the transactions that expired during a tick.
+     */
+    interface TimeoutListener {
+        void onTimeout(@NonNull List<BridgeTransaction> expiredTransactions);
+    }
+
+    /**
+     * Handle to a scheduled timeout, use {@link #cancel(Timeout)} to remove it from the wheel.
+     */
+    static final class Timeout {
+        private final BridgeTransaction transaction;
+        private final Runnable task;
+        private final long deadlineTick;
+        private Timeout prev;
+        private Timeout next;
+        private int bucket = -1;
+
+        private Timeout(@Nullable BridgeTransaction transaction, @Nullable Runnable task, long deadlineTick) {
+            this.transaction = transaction;
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        boolean isPending() {
+            return bucket != -1;
+        }
+    }
+
+    private final Object mLock = new Object();
+    private final TimeoutListener mListener;
+    private final long mTickNanos;
+    private final int mMask;
+    private final Timeout[] mWheel;
+    private final long mStartNanos;
+
+    // Guarded by mLock
+    private long mTick;
+    private Thread mWorker;
+
+    private volatile int mLiveTimers;
+
+    BridgeTimeoutScheduler(@NonNull TimeoutListener listener) {
+        this(listener, DEFAULT_TICK_MS, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * @param listener  Listener notified with the expired transactions
+     * @param tickMs    Duration of a single tick, this is the precision of the timeouts
+     * @param wheelSize Number of buckets of the wheel, must be a power of two
+     */
+    BridgeTimeoutScheduler(@NonNull TimeoutListener listener, long tickMs, int wheelSize) {
+        if (tickMs <= 0) {
+            throw new IllegalArgumentException("tickMs must be greater than 0");
+        }
+        if (wheelSize <= 0 || (wheelSize & (wheelSize - 1)) != 0) {
+            throw new IllegalArgumentException("wheelSize must be a power of two");
+        }
+        mListener = listener;
+        mTickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+        mMask = wheelSize - 1;
+        mWheel = new Timeout[wheelSize];
+        mStartNanos = System.nanoTime();
+    }
+
+    /**
+     * Schedules a timeout for the given transaction
+     *
+     * @param transaction The transaction to time out
+     * @param delayMs     Delay after which the transaction is considered as timed out
+     * @return {@link Timeout} handle that can be passed to {@link #cancel(Timeout)}
+     */
+    @NonNull
+    Timeout schedule(@NonNull BridgeTransaction transaction, long delayMs) {
+        return schedule(transaction, null, delayMs);
+    }
+
+    /**
+     * Schedules a task to be run from the scheduler thread once the delay elapsed
+     *
+     * @param task    The task to run, it must not block
+     * @param delayMs Delay after which the task is run
+     * @return {@link Timeout} handle that can be passed to {@link #cancel(Timeout)}
+     */
+    @NonNull
+    Timeout schedule(@NonNull Runnable task, long delayMs) {
+        return schedule(null, task, delayMs);
+    }
+
+    @NonNull
+    private Timeout schedule(@Nullable BridgeTransaction transaction, @Nullable Runnable task, long delayMs) {
+        synchronized (mLock) {
+            long now = System.nanoTime() - mStartNanos;
+            if (mLiveTimers == 0) {
+                // Worker was idle, skip the empty buckets it did not visit while parked.
+                mTick = Math.max(mTick, now / mTickNanos);
+            }
+            long deadlineTick = (now + TimeUnit.MILLISECONDS.toNanos(delayMs) + mTickNanos - 1) / mTickNanos;
+            Timeout timeout = new Timeout(transaction, task, Math.max(deadlineTick, mTick));
+            link(timeout);
+            mLiveTimers++;
+            ensureWorkerStarted();
+            mLock.notifyAll();
+            return timeout;
+        }
+    }
+
+    /**
+     * Cancels a timeout, the transaction associated with it will not be reported as expired.
+     *
+     * @param timeout {@link Timeout} returned by {@link #schedule(BridgeTransaction, long)}
+     * @return true if the timeout was cancelled, false if it already expired or was cancelled before
+     */
+    boolean cancel(@Nullable Timeout timeout) {
+        if (timeout == null) {
+            return false;
+        }
+        synchronized (mLock) {
+            if (!timeout.isPending()) {
+                return false;
+            }
+            unlink(timeout);
+            mLiveTimers--;
+            return true;
+        }
+    }
+
+    /**
+     * @return The number of timeouts that are scheduled and neither expired nor cancelled yet
+     */
+    int getLiveTimerCount() {
+        return mLiveTimers;
+    }
+
+    private void link(@NonNull Timeout timeout) {
+        int bucket = (int) (timeout.deadlineTick & mMask);
+        Timeout head = mWheel[bucket];
+        timeout.bucket = bucket;
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        mWheel[bucket] = timeout;
+    }
+
+    private void unlink(@NonNull Timeout timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            mWheel[timeout.bucket] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.bucket = -1;
+    }
+
+    private void ensureWorkerStarted() {
+        if (mWorker == null) {
+            mWorker = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    runWorker();
+                }
+            }, "ElectrodeBridgeTimeout");
+            mWorker.setDaemon(true);
+            mWorker.start();
+        }
+    }
+
+    private void runWorker() {
+        //noinspection InfiniteLoopStatement
+        while (true) {
+            List<BridgeTransaction> expired = null;
+            List<Runnable> expiredTasks = null;
+            synchronized (mLock) {
+                try {
+                    if (mLiveTimers == 0) {
+                        mLock.wait();
+                        continue;
+                    }
+                    long waitNanos = mStartNanos + mTick * mTickNanos - System.nanoTime();
+                    if (waitNanos > 0) {
+                        TimeUnit.NANOSECONDS.timedWait(mLock, waitNanos);
+                        continue;
+                    }
+                } catch (InterruptedException e) {
+                    Logger.w(TAG, "Timeout scheduler interrupted while waiting for the next tick");
+                    continue;
+                }
+
+                Timeout timeout = mWheel[(int) (mTick & mMask)];
+                while (timeout != null) {
+                    Timeout next = timeout.next;
+                    if (timeout.deadlineTick <= mTick) {
+                        unlink(timeout);
+                        mLiveTimers--;
+                        if (timeout.task != null) {
+                            if (expiredTasks == null) {
+                                expiredTasks = new ArrayList<>();
+                            }
+                            expiredTasks.add(timeout.task);
+                        } else {
+                            if (expired == null) {
+                                expired = new ArrayList<>();
+                            }
+                            expired.add(timeout.transaction);
+                        }
+                    }
+                    timeout = next;
+                }
+                mTick++;
+            }
+
+            if (expired != null) {
+                try {
+                    mListener.onTimeout(expired);
+                } catch (Exception e) {
+                    Logger.w(TAG, "Failed to time out %s transaction(s) due to(%s)", expired.size(), e.getMessage());
+                }
+            }
+            if (expiredTasks != null) {
+                for (Runnable task : expiredTasks) {
+                    try {
+                        task.run();
+                    } catch (Exception e) {
+                        Logger.w(TAG, "Timeout task failed due to(%s)", e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+}
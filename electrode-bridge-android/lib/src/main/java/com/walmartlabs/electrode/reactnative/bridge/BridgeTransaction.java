@@ -0,0 +1,163 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+public class BridgeTransaction {
+
+    private final ElectrodeBridgeRequest request;
+    private final ElectrodeBridgeResponseListener<ElectrodeBridgeResponse> finalResponseListener;
+    private final long numericId;
+    private final long startNanos;
+    private volatile long lastActivityNanos;
+    private ElectrodeBridgeResponse response;
+    private volatile BridgeTimeoutScheduler.Timeout timeout;
+    private volatile boolean dispatchedToReact;
+    private String responseCacheKey;
+    private long responseCacheGeneration;
+    private boolean holdsInFlightSlot;
+
+
+    public BridgeTransaction(@NonNull ElectrodeBridgeRequest request, @Nullable ElectrodeBridgeResponseListener<ElectrodeBridgeResponse> responseListener) {
+        if (request.getType() != BridgeMessage.Type.REQUEST) {
+            throw new IllegalArgumentException("BridgeTransaction constrictor expects a request type, did you accidentally pass in a different type(" + request.getType() + ") ? ");
+        }
+        this.request = request;
+        this.finalResponseListener = responseListener;
+        this.numericId = request.getNumericId();
+        this.startNanos = System.nanoTime();
+        this.lastActivityNanos = startNanos;
+    }
+
+
+    public void setResponse(@NonNull ElectrodeBridgeResponse response) {
+        this.response = response;
+    }
+
+    @NonNull
+    public ElectrodeBridgeRequest getRequest() {
+        return request;
+    }
+
+    @Nullable
+    public ElectrodeBridgeResponseListener<ElectrodeBridgeResponse> getFinalResponseListener() {
+        return finalResponseListener;
+    }
+
+    @Nullable
+    public ElectrodeBridgeResponse getResponse() {
+        return response;
+    }
+
+    @NonNull
+    public String getId() {
+        return request.getId();
+    }
+
+    /**
+     * @return The id of the request as a long, {@link MessageIdGenerator#NO_ID} if the request is JS initiated
+     */
+    long getNumericId() {
+        return numericId;
+    }
+
+    /**
+     * @return {@link System#nanoTime()} when the transaction was created
+     */
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * Records that the transaction made progress, such as a chunk of a streaming response
+     */
+    void touch() {
+        this.lastActivityNanos = System.nanoTime();
+    }
+
+    /**
+     * @return {@link System#nanoTime()} of the last progress of the transaction, its start if it made none
+     */
+    long getLastActivityNanos() {
+        return lastActivityNanos;
+    }
+
+    /**
+     * @return true if the request has a deadline and it is elapsed
+     */
+    boolean isExpired() {
+        return request.isExpired();
+    }
+
+    public boolean isJsInitiated() {
+        return request.isJsInitiated();
+    }
+
+    void markDispatchedToReact() {
+        this.dispatchedToReact = true;
+    }
+
+    /**
+     * @return true if the request was sent over to JS to be handled there
+     */
+    boolean isDispatchedToReact() {
+        return dispatchedToReact;
+    }
+
+    /**
+     * @param responseCacheKey        Key under which the response is cached
+     * @param responseCacheGeneration {@link ResponseCache#generation(String)} when the request started
+     */
+    void setResponseCacheKey(@Nullable String responseCacheKey, long responseCacheGeneration) {
+        this.responseCacheKey = responseCacheKey;
+        this.responseCacheGeneration = responseCacheGeneration;
+    }
+
+    /**
+     * @return The key under which the response is cached, null if the response is not cached
+     */
+    @Nullable
+    String getResponseCacheKey() {
+        return responseCacheKey;
+    }
+
+    long getResponseCacheGeneration() {
+        return responseCacheGeneration;
+    }
+
+    /**
+     * @param holdsInFlightSlot true if the transaction took a slot of the {@link InFlightLimiter}, guarded by the limiter
+     */
+    void setHoldsInFlightSlot(boolean holdsInFlightSlot) {
+        this.holdsInFlightSlot = holdsInFlightSlot;
+    }
+
+    boolean holdsInFlightSlot() {
+        return holdsInFlightSlot;
+    }
+
+    void setTimeout(@Nullable BridgeTimeoutScheduler.Timeout timeout) {
+        this.timeout = timeout;
+    }
+
+    @Nullable
+    BridgeTimeoutScheduler.Timeout getTimeout() {
+        return timeout;
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+/**
+ * Response listener given to a request handler, exposing the deadline of the request being handled.
+ * <p>
+ * The sender of a request stops waiting for its response once the deadline elapsed. Handlers doing expensive work can check
+ * {@link #getRemainingMs()} and fail fast instead of computing a response that will be dropped.
+ */
+public interface DeadlineResponseListener<TResp> extends ElectrodeBridgeResponseListener<TResp> {
+    /**
+     * @return The deadline in milliseconds since epoch, {@link ElectrodeBridgeRequest#NO_DEADLINE} if the request does not have one
+     */
+    long getDeadlineMs();
+
+    /**
+     * @return The milliseconds left until the deadline, 0 once elapsed, {@link Long#MAX_VALUE} if the request does not have a deadline
+     */
+    long getRemainingMs();
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Default {@link BridgePriority} of the messages of a given name, used when a message is built without an explicit priority
+ * and for the messages received from JS.
+ */
+final class DefaultPriorities {
+
+    private static final ConcurrentHashMap<String, BridgePriority> sPriorities = new ConcurrentHashMap<>();
+
+    private DefaultPriorities() {
+    }
+
+    static void set(@NonNull String name, @Nullable BridgePriority priority) {
+        if (priority == null || priority == BridgePriority.NORMAL) {
+            sPriorities.remove(name);
+        } else {
+            sPriorities.put(name, priority);
+        }
+    }
+
+    @NonNull
+    static BridgePriority get(@Nullable String name) {
+        if (name == null || sPriorities.isEmpty()) {
+            return BridgePriority.NORMAL;
+        }
+        BridgePriority priority = sPriorities.get(name);
+        return priority != null ? priority : BridgePriority.NORMAL;
+    }
+}
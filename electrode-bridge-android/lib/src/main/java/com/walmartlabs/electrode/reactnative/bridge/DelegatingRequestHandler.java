@@ -0,0 +1,32 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.Nullable;
+
+/**
+ * Implemented by registered request handlers that wrap the handler provided by the application, such as the ones
+ * registered by {@link RequestHandlerProcessor}, so that diagnostics can name the handler doing the work.
+ */
+interface DelegatingRequestHandler {
+    /**
+     * @return The wrapped handler, null if it was unregistered
+     */
+    @Nullable
+    Object getDelegate();
+}
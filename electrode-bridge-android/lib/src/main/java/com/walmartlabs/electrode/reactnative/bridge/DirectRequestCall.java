@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A request dispatched straight to a {@link DirectRequestHandler}.
+ * <p>
+ * It has no pending transaction, the first of completion, cancellation or timeout wins.
+ * A timeout is only scheduled when the handler did not complete the request synchronously.
+ */
+final class DirectRequestCall implements RequestHandle, ElectrodeBridgeResponseListener<Object> {
+    private static final String TAG = DirectRequestCall.class.getSimpleName();
+
+    private final String mName;
+    private final ElectrodeBridgeResponseListener<Object> mResponseListener;
+    private final Executor mCallbackExecutor;
+    private final BridgeTimeoutScheduler mTimeoutScheduler;
+    private final AtomicBoolean mDone = new AtomicBoolean();
+    private volatile BridgeTimeoutScheduler.Timeout mTimeout;
+
+    /**
+     * @param name             Request name
+     * @param responseListener Listener of the caller
+     * @param callbackExecutor Executor the listener is called on, null to call it on the thread completing the request
+     * @param timeoutScheduler Scheduler used when the request is not completed synchronously
+     */
+    DirectRequestCall(@NonNull String name,
+                      @NonNull ElectrodeBridgeResponseListener<Object> responseListener,
+                      @Nullable Executor callbackExecutor,
+                      @NonNull BridgeTimeoutScheduler timeoutScheduler) {
+        mName = name;
+        mResponseListener = responseListener;
+        mCallbackExecutor = callbackExecutor;
+        mTimeoutScheduler = timeoutScheduler;
+    }
+
+    boolean isDone() {
+        return mDone.get();
+    }
+
+    /**
+     * Fails the request if it is still pending after {@code timeoutMs}
+     */
+    void startTimeout(long timeoutMs) {
+        mTimeout = mTimeoutScheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                Logger.d(TAG, "Timing out direct request(name=%s)", mName);
+                onFailure(BridgeFailureMessage.create("EREQUESTTIMEOUT", "Request timeout"));
+            }
+        }, timeoutMs);
+        if (isDone()) {
+            // Completed while the timeout was being scheduled
+            mTimeoutScheduler.cancel(mTimeout);
+        }
+    }
+
+    @Override
+    public boolean cancel() {
+        if (!mDone.compareAndSet(false, true)) {
+            return false;
+        }
+        mTimeoutScheduler.cancel(mTimeout);
+        Logger.d(TAG, "Cancelled direct request(name=%s)", mName);
+        return true;
+    }
+
+    @Override
+    public void onSuccess(@Nullable final Object responseData) {
+        if (complete()) {
+            deliver(new Runnable() {
+                @Override
+                public void run() {
+                    mResponseListener.onSuccess(responseData);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void onFailure(@NonNull final FailureMessage failureMessage) {
+        if (complete()) {
+            deliver(new Runnable() {
+                @Override
+                public void run() {
+                    mResponseListener.onFailure(failureMessage);
+                }
+            });
+        }
+    }
+
+    private boolean complete() {
+        if (!mDone.compareAndSet(false, true)) {
+            Logger.i(TAG, "Response to direct request(name=%s) will be ignored as it was already completed, cancelled or timed out", mName);
+            return false;
+        }
+        mTimeoutScheduler.cancel(mTimeout);
+        return true;
+    }
+
+    private void deliver(@NonNull Runnable callback) {
+        if (mCallbackExecutor != null) {
+            mCallbackExecutor.execute(callback);
+        } else {
+            callback.run();
+        }
+    }
+}
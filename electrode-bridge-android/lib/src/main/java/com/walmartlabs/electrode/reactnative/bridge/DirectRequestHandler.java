@@ -0,0 +1,32 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Implemented by registered request handlers that can be called directly with the request payload, without going
+ * through an {@link ElectrodeBridgeRequest}, see {@link ElectrodeBridgeHolder#enableDirectLocalDispatch()}.
+ */
+interface DirectRequestHandler {
+    /**
+     * @param payload          The request payload, passed by reference
+     * @param responseListener Listener to complete the request with the response object, passed by reference
+     */
+    void onDirectRequest(@Nullable Object payload, @NonNull ElectrodeBridgeResponseListener<Object> responseListener);
+}
@@ -0,0 +1,893 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+/**
+ * Client facing class.
+ * Facade to ElectrodeBridgeTransceiver.
+ * Handles queuing every method calls until react native is ready.
+ */
+public final class ElectrodeBridgeHolder {
+
+    private static final String TAG = ElectrodeBridgeHolder.class.getSimpleName();
+
+    private static boolean isReactNativeReady;
+
+    private static ElectrodeNativeBridge electrodeNativeBridge;
+
+    private static volatile BridgeRouter router;
+
+    // We queue requests/events as long as react native initialization is not complete.
+    // Indeed, if a client of the bridge calls `sendRequest` upon it's application start,
+    // it will throw an exception due to the fact that react native initialization is not
+    // complete (react native bridge not ready). RN initialization is asynchronous.
+    // Doing this greatly simplifies things for the electrode bridge client as he does not
+    // have to bother with burdensome code to wait for RN to be ready. We take care of that !
+    // This solution does not really scale in the sense that if the user sends a 1000 requests
+    // upon native app start, it can become problematic. But I don't see why a user would do that
+    // unless it's a bug in its app
+    static final HashMap<String, RequestHandlerPlaceholder> mQueuedRequestHandlersRegistration = new HashMap<>();
+    static final HashMap<String, List<EventListenerPlaceholder>> mQueuedEventListenersRegistration = new HashMap<>();
+    static final HashMap<ElectrodeBridgeRequest, ElectrodeBridgeResponseListener<ElectrodeBridgeResponse>> mQueuedRequests = new LinkedHashMap<>();
+    static final List<ElectrodeBridgeEvent> mQueuedEvents = new ArrayList<>();
+
+    static {
+        ElectrodeBridgeTransceiver.registerReactNativeReadyListener(new ElectrodeBridgeTransceiver.ReactNativeReadyListener() {
+            @Override
+            public void onReactNativeReady() {
+                isReactNativeReady = true;
+                electrodeNativeBridge = ElectrodeBridgeTransceiver.instance();
+                registerQueuedEventListeners();
+                registerQueuedRequestHandlers();
+                sendQueuedMessages();
+            }
+        });
+
+    }
+
+    /**
+     * Emits an event with some data to the JS react native side
+     *
+     * @param event The event to emit
+     */
+    @SuppressWarnings("unused")
+    public static void emitEvent(@NonNull final ElectrodeBridgeEvent event) {
+        final BridgeScope scope = routedScope(event.getName());
+        if (scope != null) {
+            scope.runWhenReady(event, new Runnable() {
+                @Override
+                public void run() {
+                    scope.getTransceiver().sendEvent(event);
+                }
+            });
+            return;
+        }
+        if (!isReactNativeReady) {
+            Logger.d(TAG, "Queuing event. Will emit once react native initialization is complete.");
+            mQueuedEvents.add(event);
+            return;
+        }
+
+        electrodeNativeBridge.sendEvent(event);
+    }
+
+    /**
+     * Sets the {@link BridgeRouter} picking the react instance that handles the requests, events and registrations of a given
+     * name, for apps running several react instances created with their own {@link ElectrodeBridgePackage#ElectrodeBridgePackage(String) bridge scope}.
+     * Without a router, everything goes to the react instances created with the default {@link ElectrodeBridgePackage}.
+     * <p>
+     * Handlers and listeners stay in the scope they were registered in, set the router before registering them.
+     *
+     * @param bridgeRouter {@link BridgeRouter}, null to route everything to the default scope
+     */
+    @SuppressWarnings("unused")
+    public static void setRouter(@Nullable BridgeRouter bridgeRouter) {
+        router = bridgeRouter;
+    }
+
+    /**
+     * Sets the {@link BridgePriority} of the events and requests of the given name, used when the message is built without
+     * an explicit priority. Messages received from JS travel with the priority of their name as well.
+     *
+     * @param name     The event or request name
+     * @param priority {@link BridgePriority}, null to go back to {@link BridgePriority#NORMAL}
+     */
+    @SuppressWarnings("unused")
+    public static void setDefaultPriority(@NonNull String name, @Nullable BridgePriority priority) {
+        DefaultPriorities.set(name, priority);
+    }
+
+    /**
+     * Sets the {@link EventPolicy} applied to the events of the given name emitted from native.
+     * Policies are useful for high rate events where only the latest value matters, superseded events are dropped
+     * before being serialized.
+     *
+     * @param name   The event name
+     * @param policy {@link EventPolicy}, null to remove the current policy
+     */
+    @SuppressWarnings("unused")
+    public static void setEventPolicy(@NonNull String name, @Nullable EventPolicy policy) {
+        ElectrodeBridgeTransceiver.setEventPolicy(name, policy);
+    }
+
+    /**
+     * Makes the events of the given name sticky, events are not sticky by default.
+     * <p>
+     * The bridge keeps the last event emitted with a sticky name, from native or from JS, and delivers it right away to the
+     * listeners registered later, native ones as well as JS ones subscribing through the {@code ern.bridge.stickyEvent} request.
+     * It suits events carrying a state, such as the current user. The bridge keeps up to 64 sticky events, the least recently
+     * used ones are dropped first.
+     *
+     * @param name   The event name
+     * @param sticky true to keep the last event of the name, false to drop it and stop keeping it
+     */
+    @SuppressWarnings("unused")
+    public static void setStickyEvent(@NonNull String name, boolean sticky) {
+        ElectrodeBridgeTransceiver.setStickyEvent(name, sticky);
+    }
+
+    /**
+     * Drops the last event kept for the given sticky event name, listeners registered afterwards get nothing until the next event
+     *
+     * @param name The event name
+     */
+    @SuppressWarnings("unused")
+    public static void clearStickyEvent(@NonNull String name) {
+        ElectrodeBridgeTransceiver.clearStickyEvent(name);
+    }
+
+    /**
+     * Drops the last events kept for all the sticky event names
+     */
+    @SuppressWarnings("unused")
+    public static void clearStickyEvents() {
+        ElectrodeBridgeTransceiver.clearStickyEvents();
+    }
+
+    /**
+     * Enables or disables single flight coalescing for the requests of the given name, coalescing is disabled by default.
+     * <p>
+     * While a request is in-flight, a request of the same name with an identical payload does not cross the bridge again.
+     * It waits for the in-flight request instead and its response listener is notified with the same response.
+     * Only enable it for requests that have no side effects.
+     *
+     * @param name    The request name
+     * @param enabled true to coalesce identical requests
+     */
+    @SuppressWarnings("unused")
+    public static void setRequestCoalescing(@NonNull String name, boolean enabled) {
+        ElectrodeBridgeTransceiver.setRequestCoalescing(name, enabled);
+    }
+
+    /**
+     * Sets the caching policy of the responses of the given request name, responses are not cached by default.
+     * <p>
+     * A native request that finds a valid cached response for the same payload is completed right away, without crossing the bridge.
+     * Only use it for idempotent requests.
+     *
+     * @param name   The request name
+     * @param policy {@link ResponseCachePolicy}, null to stop caching the responses
+     */
+    @SuppressWarnings("unused")
+    public static void setResponseCachePolicy(@NonNull String name, @Nullable ResponseCachePolicy policy) {
+        ElectrodeBridgeTransceiver.setResponseCachePolicy(name, policy);
+    }
+
+    /**
+     * Drops the cached responses of the given request name
+     *
+     * @param name The request name
+     */
+    @SuppressWarnings("unused")
+    public static void invalidateResponseCache(@NonNull String name) {
+        ElectrodeBridgeTransceiver.invalidateResponseCache(name);
+    }
+
+    /**
+     * Drops all the cached responses
+     */
+    @SuppressWarnings("unused")
+    public static void clearResponseCache() {
+        ElectrodeBridgeTransceiver.clearResponseCache();
+    }
+
+    /**
+     * Releases the memory held by the bridge, to be called from {@link android.content.ComponentCallbacks2#onTrimMemory(int)}
+     *
+     * @param level The trim memory level
+     */
+    @SuppressWarnings("unused")
+    public static void onTrimMemory(int level) {
+        ElectrodeBridgeTransceiver.trimMemory(level);
+    }
+
+    /**
+     * @return Hit and miss statistics of the response cache, for all request names
+     */
+    @SuppressWarnings("unused")
+    @NonNull
+    public static ResponseCacheStats getResponseCacheStats() {
+        return ElectrodeBridgeTransceiver.getResponseCacheStats();
+    }
+
+    /**
+     * @param name The request name
+     * @return Hit and miss statistics of the response cache for the given request name, null if its responses are not cached
+     */
+    @SuppressWarnings("unused")
+    @Nullable
+    public static ResponseCacheStats getResponseCacheStats(@NonNull String name) {
+        BridgeScope scope = routedScope(name);
+        return ElectrodeBridgeTransceiver.getResponseCacheStats(scope != null ? scope : BridgeScope.DEFAULT, name);
+    }
+
+    /**
+     * Bounds the number of requests in flight, for all request names together. Requests are not bounded by default.
+     * <p>
+     * Past the bound, requests wait in a queue for an in-flight request to complete. Once the queue is full they are failed
+     * right away with {@code EBUSY}, without creating a transaction nor crossing the bridge. The timeout of a queued request
+     * starts when it leaves the queue.
+     *
+     * @param limit {@link InFlightLimit}, null to remove the bound
+     */
+    @SuppressWarnings("unused")
+    public static void setInFlightLimit(@Nullable InFlightLimit limit) {
+        ElectrodeBridgeTransceiver.setInFlightLimit(null, limit);
+    }
+
+    /**
+     * Bounds the number of requests of the given name in flight, see {@link #setInFlightLimit(InFlightLimit)}.
+     * A request has to fit both in the bound of its name and in the bound for all request names.
+     *
+     * @param name  The request name
+     * @param limit {@link InFlightLimit}, null to remove the bound
+     */
+    @SuppressWarnings("unused")
+    public static void setInFlightLimit(@NonNull String name, @Nullable InFlightLimit limit) {
+        ElectrodeBridgeTransceiver.setInFlightLimit(name, limit);
+    }
+
+    /**
+     * @param name The request name
+     * @return Call statistics of the native request handler of the given request name, null if no native handler is registered
+     */
+    @SuppressWarnings("unused")
+    @Nullable
+    public static RequestHandlerStats getRequestHandlerStats(@NonNull String name) {
+        BridgeScope scope = routedScope(name);
+        return ElectrodeBridgeTransceiver.getRequestHandlerStats(scope != null ? scope : BridgeScope.DEFAULT, name);
+    }
+
+    /**
+     * @return In-flight and queued request counts, for all request names
+     */
+    @SuppressWarnings("unused")
+    @NonNull
+    public static InFlightStats getInFlightStats() {
+        return ElectrodeBridgeTransceiver.getInFlightStats();
+    }
+
+    /**
+     * @param name The request name
+     * @return In-flight and queued request counts for the given request name, null if no request of this name was sent while a bound was set
+     */
+    @SuppressWarnings("unused")
+    @Nullable
+    public static InFlightStats getInFlightStats(@NonNull String name) {
+        return ElectrodeBridgeTransceiver.getInFlightStats(name);
+    }
+
+    /**
+     * Sets the maximum age of a pending request transaction. Transactions that made no progress for longer than this age,
+     * such as receiving a chunk of a streaming response, are failed with {@code ESTALETRANSACTION} and evicted, whatever their
+     * timeout, see {@link #getTransactionLeakReport()}. Requests handled on the JS side are cancelled there as well.
+     * <p>
+     * Requests sent without a timeout are left alone, see {@link #setTransactionMaxAge(long, boolean)}. Reaping is disabled by default.
+     *
+     * @param maxAgeMs Maximum age in milliseconds, 0 to disable reaping
+     */
+    @SuppressWarnings("unused")
+    public static void setTransactionMaxAge(long maxAgeMs) {
+        setTransactionMaxAge(maxAgeMs, false);
+    }
+
+    /**
+     * Sets the maximum age of a pending request transaction, see {@link #setTransactionMaxAge(long)}.
+     * <p>
+     * Reaping requests without a timeout protects against native handlers of JS requests that never complete their response
+     * listener, as JS requests sent without a deadline never time out natively. Only opt in if no request is expected to stay
+     * pending that long on purpose.
+     *
+     * @param maxAgeMs              Maximum age in milliseconds, 0 to disable reaping
+     * @param reapNoTimeoutRequests true to also reap the transactions of requests sent without a timeout
+     */
+    @SuppressWarnings("unused")
+    public static void setTransactionMaxAge(long maxAgeMs, boolean reapNoTimeoutRequests) {
+        ElectrodeBridgeTransceiver.setTransactionMaxAge(maxAgeMs, reapNoTimeoutRequests);
+    }
+
+    /**
+     * Returns the transactions reaped since the app started, per request name and handler, see {@link #setTransactionMaxAge(long)}.
+     *
+     * @return {@link TransactionLeakReport}
+     */
+    @SuppressWarnings("unused")
+    @NonNull
+    public static TransactionLeakReport getTransactionLeakReport() {
+        return ElectrodeBridgeTransceiver.getTransactionLeakReport();
+    }
+
+    /**
+     * Sends a request
+     *
+     * @param request          The request to send
+     * @param responseListener Listener to be called upon request completion
+     * @return {@link RequestHandle} to cancel the request
+     */
+    @SuppressWarnings("unused")
+    @NonNull
+    public static RequestHandle sendRequest(
+            @NonNull final ElectrodeBridgeRequest request,
+            @NonNull final ElectrodeBridgeResponseListener<ElectrodeBridgeResponse> responseListener) {
+        RequestHandle requestHandle = new RequestHandle() {
+            @Override
+            public boolean cancel() {
+                return cancelRequest(request);
+            }
+        };
+        final BridgeScope scope = routedScope(request.getName());
+        if (scope != null) {
+            scope.runWhenReady(request, new Runnable() {
+                @Override
+                public void run() {
+                    scope.getTransceiver().sendRequest(request, responseListener);
+                }
+            });
+            return requestHandle;
+        }
+        if (!isReactNativeReady) {
+            Logger.d(TAG, "Queuing request(%s). Will send once react native initialization is complete.", request);
+            mQueuedRequests.put(request, responseListener);
+            return requestHandle;
+        }
+
+        electrodeNativeBridge.sendRequest(request, responseListener);
+        return requestHandle;
+    }
+
+    /**
+     * Sends several requests at once, see {@link RequestBatch}
+     *
+     * @param requests The requests to send along with their response listener
+     */
+    static void sendRequests(@NonNull Map<ElectrodeBridgeRequest, ElectrodeBridgeResponseListener<ElectrodeBridgeResponse>> requests) {
+        if (router != null) {
+            requests = sendRoutedRequests(requests);
+            if (requests.isEmpty()) {
+                return;
+            }
+        }
+        if (!isReactNativeReady) {
+            Logger.d(TAG, "Queuing %s batched request(s). Will send once react native initialization is complete.", requests.size());
+            mQueuedRequests.putAll(requests);
+            return;
+        }
+
+        electrodeNativeBridge.sendRequests(requests);
+    }
+
+    /**
+     * Sends the requests routed to another scope than the default one, batched per scope
+     *
+     * @return The requests of the default scope
+     */
+    @NonNull
+    private static Map<ElectrodeBridgeRequest, ElectrodeBridgeResponseListener<ElectrodeBridgeResponse>> sendRoutedRequests(@NonNull Map<ElectrodeBridgeRequest, ElectrodeBridgeResponseListener<ElectrodeBridgeResponse>> requests) {
+        Map<ElectrodeBridgeRequest, ElectrodeBridgeResponseListener<ElectrodeBridgeResponse>> defaultRequests = new LinkedHashMap<>();
+        Map<BridgeScope, Map<ElectrodeBridgeRequest, ElectrodeBridgeResponseListener<ElectrodeBridgeResponse>>> routedRequests = new LinkedHashMap<>();
+        for (Map.Entry<ElectrodeBridgeRequest, ElectrodeBridgeResponseListener<ElectrodeBridgeResponse>> entry : requests.entrySet()) {
+            BridgeScope scope = routedScope(entry.getKey().getName());
+            if (scope == null) {
+                defaultRequests.put(entry.getKey(), entry.getValue());
+                continue;
+            }
+            Map<ElectrodeBridgeRequest, ElectrodeBridgeResponseListener<ElectrodeBridgeResponse>> scopeRequests = routedRequests.get(scope);
+            if (scopeRequests == null) {
+                scopeRequests = new LinkedHashMap<>();
+                routedRequests.put(scope, scopeRequests);
+            }
+            scopeRequests.put(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<BridgeScope, Map<ElectrodeBridgeRequest, ElectrodeBridgeResponseListener<ElectrodeBridgeResponse>>> entry : routedRequests.entrySet()) {
+            final BridgeScope scope = entry.getKey();
+            if (scope.isReady()) {
+                scope.getTransceiver().sendRequests(entry.getValue());
+                continue;
+            }
+            for (final Map.Entry<ElectrodeBridgeRequest, ElectrodeBridgeResponseListener<ElectrodeBridgeResponse>> request : entry.getValue().entrySet()) {
+                scope.runWhenReady(request.getKey(), new Runnable() {
+                    @Override
+                    public void run() {
+                        scope.getTransceiver().sendRequest(request.getKey(), request.getValue());
+                    }
+                });
+            }
+        }
+        return defaultRequests;
+    }
+
+    /**
+     * Sends a request and receives its response in chunks
+     *
+     * @param request        The request to send, built with {@link ElectrodeBridgeRequest.Builder#withStreaming(int)}
+     * @param streamListener Listener to be called for each chunk and upon request completion
+     * @return {@link RequestHandle} to cancel the request
+     */
+    @SuppressWarnings("unused")
+    @NonNull
+    public static RequestHandle sendStreamingRequest(
+            @NonNull final ElectrodeBridgeRequest request,
+            @NonNull final ElectrodeBridgeStreamListener<ElectrodeBridgeResponse> streamListener) {
+        if (!request.isStreaming()) {
+            throw new IllegalArgumentException("Request(" + request.getName() + ") was not built with streaming enabled");
+        }
+        return sendRequest(request, new StreamResponseListener(streamListener));
+    }
+
+    /**
+     * Cancels a pending request, its response listener will not be called.
+     *
+     * @param request The request to cancel
+     * @return true if the request was pending and is now cancelled, false otherwise
+     */
+    @SuppressWarnings("unused")
+    public static boolean cancelRequest(@NonNull ElectrodeBridgeRequest request) {
+        BridgeScope scope = routedScope(request.getName());
+        if (scope != null) {
+            if (scope.removeQueued(request)) {
+                Logger.d(TAG, "Removed queued request(%s)", request);
+                return true;
+            }
+            return scope.isReady() && scope.getTransceiver().cancelRequest(request.getId());
+        }
+        if (mQueuedRequests.remove(request) != null) {
+            Logger.d(TAG, "Removed queued request(%s)", request);
+            return true;
+        }
+        return isReactNativeReady && electrodeNativeBridge.cancelRequest(request.getId());
+    }
+
+    /**
+     * Registers a request handler
+     *
+     * @param name           The request name this handler can handle
+     * @param requestHandler The request handler instance
+     * @return {@link UUID} of the {@code requestHandler}
+     */
+    public static UUID registerRequestHandler(@NonNull String name,
+                                              @NonNull ElectrodeBridgeRequestHandler<ElectrodeBridgeRequest, Object> requestHandler) {
+        UUID handlerUUID = UUID.randomUUID();
+        BridgeScope scope = routedScope(name);
+        if (scope != null) {
+            // Registrations are kept by the scope, they do not need its react instance to be ready
+            scope.requestRegistrar.registerRequestHandler(name, requestHandler, handlerUUID);
+            return handlerUUID;
+        }
+        if (!isReactNativeReady) {
+            Logger.d(TAG, "Queuing request handler registration for request(name=%s). Will register once react native initialization is complete.", name);
+            mQueuedRequestHandlersRegistration.put(name, new RequestHandlerPlaceholder(handlerUUID, requestHandler));
+            return handlerUUID;
+        }
+
+        electrodeNativeBridge.registerRequestHandler(name, requestHandler, handlerUUID);
+        return handlerUUID;
+    }
+
+    /**
+     * Registers an event listener
+     * <p>
+     * The name can also be a pattern of dot separated segments, {@code *} matching one segment and a trailing {@code **}
+     * matching one or more segments. For instance {@code com.ernmovie.ern.api.event.**} listens to all the events of that
+     * namespace, use {@link ElectrodeBridgeEvent#getName()} to tell them apart.
+     *
+     * @param name          The event name or pattern this listener is interested in
+     * @param eventListener The event listener
+     * @return {@link UUID} of the {@code eventListener}
+     */
+    public static UUID addEventListener(@NonNull String name,
+                                        @NonNull ElectrodeBridgeEventListener<ElectrodeBridgeEvent> eventListener) {
+        UUID eventUUID = UUID.randomUUID();
+        BridgeScope scope = routedScope(name);
+        if (scope != null) {
+            ElectrodeBridgeTransceiver transceiver = scope.getTransceiver();
+            if (transceiver != null) {
+                transceiver.addEventListener(name, eventListener, eventUUID);
+            } else {
+                scope.eventRegistrar.registerEventListener(name, eventListener, eventUUID);
+            }
+            return eventUUID;
+        }
+        if (!isReactNativeReady) {
+            Logger.d(TAG, "Queuing event handler registration for event(name=%s). Will register once react native initialization is complete.", name);
+            List<EventListenerPlaceholder> placeholderList = mQueuedEventListenersRegistration.get(name);
+            if (placeholderList == null) {
+                placeholderList = new ArrayList<>();
+                mQueuedEventListenersRegistration.put(name, placeholderList);
+            }
+            placeholderList.add(new EventListenerPlaceholder(eventUUID, eventListener));
+            return eventUUID;
+        }
+
+        electrodeNativeBridge.addEventListener(name, eventListener, eventUUID);
+        return eventUUID;
+    }
+
+    /**
+     * Sets the threading model used by the bridge to invoke local event listeners, request handlers and response listeners.
+     * Defaults to {@link BridgeDispatchMode#UI_THREAD}.
+     *
+     * @param dispatchMode {@link BridgeDispatchMode}
+     */
+    @SuppressWarnings("unused")
+    public static void setDispatchMode(@NonNull BridgeDispatchMode dispatchMode) {
+        setDispatchMode(dispatchMode, Math.max(2, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Sets the threading model used by the bridge to invoke local event listeners, request handlers and response listeners.
+     *
+     * @param dispatchMode   {@link BridgeDispatchMode}
+     * @param threadPoolSize Number of threads used by {@link BridgeDispatchMode#THREAD_POOL}, ignored by other modes
+     */
+    public static void setDispatchMode(@NonNull BridgeDispatchMode dispatchMode, int threadPoolSize) {
+        ElectrodeBridgeTransceiver.setDispatchMode(dispatchMode, threadPoolSize);
+    }
+
+    /**
+     * Batches the messages sent to JS, they are emitted together once per frame.
+     * JS side must be able to unpack {@link BridgeMessage.Type#BATCH} messages.
+     */
+    @SuppressWarnings("unused")
+    public static void enableMessageBatching() {
+        ElectrodeBridgeTransceiver.setMessageBatchWindow(BridgeMessageBatcher.PER_FRAME);
+    }
+
+    /**
+     * Batches the messages sent to JS, they are emitted together once per {@code windowMs}.
+     * JS side must be able to unpack {@link BridgeMessage.Type#BATCH} messages.
+     *
+     * @param windowMs Duration in milliseconds during which messages are collected before being emitted
+     */
+    @SuppressWarnings("unused")
+    public static void enableMessageBatching(long windowMs) {
+        if (windowMs <= 0) {
+            throw new IllegalArgumentException("windowMs must be greater than 0");
+        }
+        ElectrodeBridgeTransceiver.setMessageBatchWindow(windowMs);
+    }
+
+    /**
+     * Emits every message to JS as soon as it is sent. This is the default.
+     */
+    @SuppressWarnings("unused")
+    public static void disableMessageBatching() {
+        ElectrodeBridgeTransceiver.setMessageBatchWindow(ElectrodeBridgeTransceiver.MESSAGE_BATCHING_DISABLED);
+    }
+
+    /**
+     * @return {@link BridgeBatchStats} of the messages emitted to JS
+     */
+    @NonNull
+    @SuppressWarnings("unused")
+    public static BridgeBatchStats getMessageBatchStats() {
+        return ElectrodeBridgeTransceiver.getBatchStats();
+    }
+
+    /**
+     * Adds an interceptor called for every request, response and event going through the bridge, see {@link BridgeInterceptor}.
+     * Interceptors are called in the order they were added.
+     *
+     * @param interceptor The interceptor to add
+     */
+    @SuppressWarnings("unused")
+    public static void addInterceptor(@NonNull BridgeInterceptor interceptor) {
+        ElectrodeBridgeTransceiver.addInterceptor(interceptor);
+    }
+
+    /**
+     * Removes an interceptor added with {@link #addInterceptor(BridgeInterceptor)}
+     *
+     * @param interceptor The interceptor to remove
+     * @return true if the interceptor was removed, false if it was not added
+     */
+    @SuppressWarnings("unused")
+    public static boolean removeInterceptor(@NonNull BridgeInterceptor interceptor) {
+        return ElectrodeBridgeTransceiver.removeInterceptor(interceptor);
+    }
+
+    /**
+     * Dispatches the requests sent from native through the generated APIs straight to their native request handler, if any.
+     * Such requests skip the pending transaction, the payload and the response are passed by reference, and the response
+     * listener is called on the thread completing the request. Requests with a response cache or coalescing enabled,
+     * and all requests while a {@link BridgeInterceptor} is registered, still go through the regular path.
+     */
+    @SuppressWarnings("unused")
+    public static void enableDirectLocalDispatch() {
+        ElectrodeBridgeTransceiver.setDirectLocalDispatch(true, null);
+    }
+
+    /**
+     * Same as {@link #enableDirectLocalDispatch()}, with the response listeners called on {@code callbackExecutor}
+     *
+     * @param callbackExecutor Executor used to call the response listeners of direct requests
+     */
+    @SuppressWarnings("unused")
+    public static void enableDirectLocalDispatch(@NonNull Executor callbackExecutor) {
+        ElectrodeBridgeTransceiver.setDirectLocalDispatch(true, callbackExecutor);
+    }
+
+    /**
+     * Sends every request through the bridge dispatcher. This is the default.
+     */
+    @SuppressWarnings("unused")
+    public static void disableDirectLocalDispatch() {
+        ElectrodeBridgeTransceiver.setDirectLocalDispatch(false, null);
+    }
+
+    /**
+     * Sends a request directly to its native request handler when direct local dispatch is enabled
+     *
+     * @return {@link RequestHandle} of the request, null if it has to be sent with {@link #sendRequest(ElectrodeBridgeRequest, ElectrodeBridgeResponseListener)}
+     */
+    @Nullable
+    static RequestHandle sendDirectRequest(@NonNull String name, @Nullable Object payload, @NonNull ElectrodeBridgeResponseListener<Object> responseListener) {
+        BridgeScope scope = routedScope(name);
+        return ElectrodeBridgeTransceiver.sendDirectRequest(scope != null ? scope : BridgeScope.DEFAULT, name, payload, responseListener);
+    }
+
+    /**
+     * Writes the last messages that went through the bridge to a file, in the binary format of the bridge flight recorder
+     *
+     * @param file File to write, its content is replaced
+     * @throws IOException if the file cannot be written
+     */
+    @SuppressWarnings("unused")
+    public static void dumpFlightRecorder(@NonNull File file) throws IOException {
+        ElectrodeBridgeTransceiver.getFlightRecorder().dump(file);
+    }
+
+    /**
+     * Writes the last messages that went through the bridge to {@code file} if the application crashes
+     *
+     * @param file File to write, its content is replaced
+     */
+    @SuppressWarnings("unused")
+    public static void dumpFlightRecorderOnCrash(@NonNull File file) {
+        ElectrodeBridgeTransceiver.getFlightRecorder().dumpOnCrash(file);
+    }
+
+    public static void addConstantsProvider(@NonNull ConstantsProvider constantsProvider) {
+        ElectrodeBridgeTransceiver.addConstantsProvider(constantsProvider);
+    }
+
+    /**
+     * Remove the event listener
+     *
+     * @param eventListenerUuid {@link UUID}
+     * @return
+     */
+    @Nullable
+    public static ElectrodeBridgeEventListener<ElectrodeBridgeEvent> removeEventListener(@NonNull UUID eventListenerUuid) {
+        if (!isReactNativeReady) {
+            ElectrodeBridgeEventListener<ElectrodeBridgeEvent> eventListener = null;
+            synchronized (mQueuedEventListenersRegistration) {
+                String key = null;
+                boolean shouldRemove = false;
+                for (Map.Entry<String, List<EventListenerPlaceholder>> entry : mQueuedEventListenersRegistration.entrySet()) {
+                    List<EventListenerPlaceholder> placeholderList = entry.getValue();
+                    EventListenerPlaceholder matchingPlaceHolder = null;
+                    for (EventListenerPlaceholder placeholder : placeholderList) {
+                        if (eventListenerUuid == placeholder.getUUID()) {
+                            key = entry.getKey();
+                            eventListener = placeholder.getEventListener();
+                            matchingPlaceHolder = placeholder;
+                            break;
+                        }
+                    }
+                    if (matchingPlaceHolder != null) {
+                        placeholderList.remove(matchingPlaceHolder);
+                        if (placeholderList.size() == 0) {
+                            shouldRemove = true;
+                        }
+                        break;
+                    }
+                }
+                if (shouldRemove) {
+                    mQueuedEventListenersRegistration.remove(key);
+                }
+            }
+            return eventListener != null ? eventListener : removeRoutedEventListener(eventListenerUuid);
+        } else {
+            ElectrodeBridgeEventListener<ElectrodeBridgeEvent> eventListener = electrodeNativeBridge.removeEventListener(eventListenerUuid);
+            return eventListener != null ? eventListener : removeRoutedEventListener(eventListenerUuid);
+        }
+    }
+
+    @Nullable
+    private static ElectrodeBridgeEventListener<ElectrodeBridgeEvent> removeRoutedEventListener(@NonNull UUID eventListenerUuid) {
+        for (BridgeScope scope : BridgeScope.all()) {
+            if (scope != BridgeScope.DEFAULT) {
+                ElectrodeBridgeEventListener<ElectrodeBridgeEvent> eventListener = scope.eventRegistrar.unregisterEventListener(eventListenerUuid);
+                if (eventListener != null) {
+                    return eventListener;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Unregisters a request handler
+     *
+     * @param requestHandlerUuid {@link UUID} of registerRequestHandler
+     * @return registerRequestHandler unregistered
+     */
+    public static ElectrodeBridgeRequestHandler<ElectrodeBridgeRequest, Object> unregisterRequestHandler(@NonNull UUID requestHandlerUuid) {
+        if (!isReactNativeReady) {
+            ElectrodeBridgeRequestHandler<ElectrodeBridgeRequest, Object> requestHandler = null;
+            synchronized (mQueuedRequestHandlersRegistration) {
+                String eventName = null;
+                for (Map.Entry<String, RequestHandlerPlaceholder> entry : mQueuedRequestHandlersRegistration.entrySet()) {
+                    if (entry.getValue().getUUID() == requestHandlerUuid) {
+                        eventName = entry.getKey();
+                        requestHandler = entry.getValue().getRequestHandler();
+                        break;
+                    }
+                }
+                if (eventName != null) {
+                    mQueuedRequestHandlersRegistration.remove(eventName);
+                }
+            }
+            return requestHandler != null ? requestHandler : unregisterRoutedRequestHandler(requestHandlerUuid);
+        } else {
+            ElectrodeBridgeRequestHandler<ElectrodeBridgeRequest, Object> requestHandler = electrodeNativeBridge.unregisterRequestHandler(requestHandlerUuid);
+            return requestHandler != null ? requestHandler : unregisterRoutedRequestHandler(requestHandlerUuid);
+        }
+    }
+
+    @Nullable
+    private static ElectrodeBridgeRequestHandler<ElectrodeBridgeRequest, Object> unregisterRoutedRequestHandler(@NonNull UUID requestHandlerUuid) {
+        for (BridgeScope scope : BridgeScope.all()) {
+            if (scope != BridgeScope.DEFAULT) {
+                ElectrodeBridgeRequestHandler<ElectrodeBridgeRequest, Object> requestHandler = scope.requestRegistrar.unregisterRequestHandler(requestHandlerUuid);
+                if (requestHandler != null) {
+                    return requestHandler;
+                }
+            }
+        }
+        return null;
+    }
+
+    public static boolean isRegistered(@NonNull UUID requestHandlerUuid) {
+        if (!isReactNativeReady) {
+            synchronized (mQueuedRequestHandlersRegistration) {
+                for (Map.Entry<String, RequestHandlerPlaceholder> entry : mQueuedRequestHandlersRegistration.entrySet()) {
+                    if (entry.getValue().getUUID() == requestHandlerUuid) {
+                        return true;
+                    }
+                }
+            }
+        } else if (electrodeNativeBridge.isRegistered(requestHandlerUuid)) {
+            return true;
+        }
+        for (BridgeScope scope : BridgeScope.all()) {
+            if (scope != BridgeScope.DEFAULT && scope.requestRegistrar.isRegistered(requestHandlerUuid)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of request timeouts that are currently scheduled by the bridge.
+     * A value that keeps growing while no request is in flight indicates a leak.
+     *
+     * @return number of live request timeouts
+     */
+    @SuppressWarnings("unused")
+    public static int getLiveTimeoutCount() {
+        return ElectrodeBridgeTransceiver.getLiveTimeoutCount();
+    }
+
+    /**
+     * @param name Request or event name
+     * @return The scope the name is routed to, null for the default scope
+     */
+    @Nullable
+    private static BridgeScope routedScope(@NonNull String name) {
+        BridgeRouter bridgeRouter = router;
+        if (bridgeRouter == null) {
+            return null;
+        }
+        String scopeName = bridgeRouter.route(name);
+        if (scopeName == null || BridgeScope.DEFAULT_NAME.equals(scopeName)) {
+            return null;
+        }
+        return BridgeScope.get(scopeName);
+    }
+
+    private static void registerQueuedRequestHandlers() {
+        for (Map.Entry<String, RequestHandlerPlaceholder> entry : mQueuedRequestHandlersRegistration.entrySet()) {
+            electrodeNativeBridge.registerRequestHandler(
+                    entry.getKey(),
+                    entry.getValue().getRequestHandler(),
+                    entry.getValue().getUUID());
+        }
+        mQueuedRequestHandlersRegistration.clear();
+    }
+
+    private static void registerQueuedEventListeners() {
+        for (Map.Entry<String, List<EventListenerPlaceholder>> entry : mQueuedEventListenersRegistration.entrySet()) {
+            List<EventListenerPlaceholder> placeholderList = entry.getValue();
+            for (EventListenerPlaceholder placeholder : placeholderList) {
+                electrodeNativeBridge.addEventListener(
+                        entry.getKey(),
+                        placeholder.getEventListener(),
+                        placeholder.getUUID());
+            }
+
+        }
+        mQueuedEventListenersRegistration.clear();
+    }
+
+    /**
+     * Sends the requests and events queued before react native was ready, one priority after the other starting with
+     * {@link BridgePriority#CRITICAL}, in the order they were queued within a priority.
+     */
+    private static void sendQueuedMessages() {
+        for (BridgePriority priority : BridgePriority.values()) {
+            // Sent one by one in the order they were queued, the message batcher coalesces them when batching is enabled.
+            for (Map.Entry<ElectrodeBridgeRequest, ElectrodeBridgeResponseListener<ElectrodeBridgeResponse>> entry : mQueuedRequests.entrySet()) {
+                if (entry.getKey().getPriority() == priority) {
+                    electrodeNativeBridge.sendRequest(entry.getKey(), entry.getValue());
+                }
+            }
+            for (ElectrodeBridgeEvent event : mQueuedEvents) {
+                if (event.getPriority() == priority) {
+                    electrodeNativeBridge.sendEvent(event);
+                }
+            }
+        }
+        mQueuedRequests.clear();
+        mQueuedEvents.clear();
+    }
+}
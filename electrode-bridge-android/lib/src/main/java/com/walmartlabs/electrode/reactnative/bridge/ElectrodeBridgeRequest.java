@@ -0,0 +1,247 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+
+public class ElectrodeBridgeRequest extends BridgeMessage {
+    private static final String TAG = ElectrodeBridgeRequest.class.getSimpleName();
+    static final int DEFAULT_REQUEST_TIMEOUT_MS = 5000;
+    public static final int NO_TIMEOUT = -1;
+    public static final int DEFAULT_STREAM_WINDOW = 4;
+    public static final long NO_DEADLINE = -1;
+    static final String BRIDGE_REQUEST_STREAM = "stream";
+    static final String BRIDGE_REQUEST_DEADLINE = "deadline";
+    private static final int NOT_STREAMING = 0;
+
+    private final int mTimeoutMs;
+    // SystemClock.elapsedRealtime() based, NO_DEADLINE until the deadline is started
+    private volatile long mDeadlineElapsedMs = NO_DEADLINE;
+    private final int mStreamWindow;
+    private boolean isJsInitiated;
+
+    @Nullable
+    public static ElectrodeBridgeRequest create(@NonNull ReadableMap messageMap) {
+        ElectrodeBridgeRequest bridgeRequest = null;
+        if (isValid(messageMap, BridgeMessage.Type.REQUEST)) {
+            bridgeRequest = new ElectrodeBridgeRequest(messageMap);
+        } else {
+            Logger.w(TAG, "Unable to createMessage a bridge message, invalid data received(%s)", messageMap);
+        }
+        return bridgeRequest;
+    }
+
+    private ElectrodeBridgeRequest(@NonNull ReadableMap messageMap) {
+        super(messageMap);
+        mStreamWindow = messageMap.hasKey(BRIDGE_REQUEST_STREAM) ? messageMap.getInt(BRIDGE_REQUEST_STREAM) : NOT_STREAMING;
+        if (!isStreaming() && messageMap.hasKey(BRIDGE_REQUEST_DEADLINE)) {
+            // The native timeout of a JS request is the time left until the deadline set by JS.
+            long deadlineMs = (long) messageMap.getDouble(BRIDGE_REQUEST_DEADLINE);
+            mTimeoutMs = (int) Math.min(Integer.MAX_VALUE, Math.max(0, deadlineMs - System.currentTimeMillis()));
+            mDeadlineElapsedMs = SystemClock.elapsedRealtime() + mTimeoutMs;
+        } else {
+            mTimeoutMs = NO_TIMEOUT;
+        }
+        isJsInitiated = true;
+    }
+
+    private ElectrodeBridgeRequest(Builder requestBuilder) {
+        super(requestBuilder.mName, nextId(), BridgeMessage.Type.REQUEST, requestBuilder.mData, requestBuilder.mPriority);
+        mTimeoutMs = requestBuilder.mTimeoutMs;
+        mStreamWindow = requestBuilder.mStreamWindow;
+    }
+
+    /**
+     * @return The timeout of this request
+     */
+    public int getTimeoutMs() {
+        return this.mTimeoutMs;
+    }
+
+    /**
+     * Starts the deadline of a native request from its timeout. Called when the request is first handed to the
+     * transceiver, so that the time a request spends queued until React Native is ready does not count against it.
+     * Has no effect on JS requests, streaming requests, requests without a timeout or if the deadline is already started.
+     */
+    void startDeadline() {
+        if (isJsInitiated || isStreaming() || mTimeoutMs == NO_TIMEOUT || mDeadlineElapsedMs != NO_DEADLINE) {
+            return;
+        }
+        mDeadlineElapsedMs = SystemClock.elapsedRealtime() + mTimeoutMs;
+    }
+
+    /**
+     * Absolute deadline of the request, after which its sender stops waiting for the response.
+     * The deadline of a native request starts when the request is handed to the bridge, from its timeout. Streaming
+     * requests have no deadline as their timeout applies to the time between two chunks.
+     * <p>
+     * This is the wall clock value sent to JS, use {@link #getRemainingMs()} to measure the time left.
+     *
+     * @return The deadline in milliseconds since epoch, {@link #NO_DEADLINE} if the request does not have one (yet)
+     */
+    public long getDeadlineMs() {
+        if (mDeadlineElapsedMs == NO_DEADLINE) {
+            return NO_DEADLINE;
+        }
+        return System.currentTimeMillis() + getRemainingMs();
+    }
+
+    /**
+     * @return The milliseconds left until the deadline, 0 once elapsed, the whole timeout if the deadline is not started yet,
+     * {@link Long#MAX_VALUE} if the request does not have a timeout
+     */
+    public long getRemainingMs() {
+        long deadlineElapsedMs = mDeadlineElapsedMs;
+        if (deadlineElapsedMs == NO_DEADLINE) {
+            return mTimeoutMs == NO_TIMEOUT || isStreaming() ? Long.MAX_VALUE : mTimeoutMs;
+        }
+        return Math.max(0, deadlineElapsedMs - SystemClock.elapsedRealtime());
+    }
+
+    /**
+     * @return true if the request has a started deadline and it is elapsed
+     */
+    public boolean isExpired() {
+        long deadlineElapsedMs = mDeadlineElapsedMs;
+        return deadlineElapsedMs != NO_DEADLINE && SystemClock.elapsedRealtime() >= deadlineElapsedMs;
+    }
+
+    /**
+     * Indicates if the response of this request can be streamed in chunks, see {@link ElectrodeBridgeResponseStream}.
+     *
+     * @return true | false
+     */
+    public boolean isStreaming() {
+        return mStreamWindow > NOT_STREAMING;
+    }
+
+    /**
+     * @return The maximum number of chunks of a streaming response that can be sent before being consumed
+     */
+    public int getStreamWindow() {
+        return mStreamWindow;
+    }
+
+    @NonNull
+    @Override
+    public WritableMap map() {
+        WritableMap writableMap = super.map();
+        if (isStreaming()) {
+            writableMap.putInt(BRIDGE_REQUEST_STREAM, mStreamWindow);
+        }
+        long deadlineMs = getDeadlineMs();
+        if (deadlineMs != NO_DEADLINE) {
+            writableMap.putDouble(BRIDGE_REQUEST_DEADLINE, deadlineMs);
+        }
+        return writableMap;
+    }
+
+    /**
+     * Indicates if a request was initiated by JS.
+     *
+     * @return true | false
+     */
+    public boolean isJsInitiated() {
+        return isJsInitiated;
+    }
+
+    public static class Builder {
+        private final String mName;
+        private Object mData;
+        private int mTimeoutMs;
+        private int mStreamWindow;
+        private BridgePriority mPriority;
+
+        /**
+         * Initializes a new request builder
+         *
+         * @param name The name of the request to build
+         */
+        public Builder(String name) {
+            mName = name;
+            mTimeoutMs = DEFAULT_REQUEST_TIMEOUT_MS;
+            mData = null;
+            mPriority = DefaultPriorities.get(name);
+        }
+
+        /**
+         * Specifies the request timeout
+         *
+         * @param timeoutMs The timeout in milliseconds
+         * @return Current builder instance for chaining
+         */
+        @SuppressWarnings("unused")
+        public Builder withTimeout(int timeoutMs) {
+            this.mTimeoutMs = timeoutMs;
+            return this;
+        }
+
+        /**
+         * Requests a streaming response, see {@link ElectrodeBridgeResponseStream}.
+         *
+         * @param maxOutstandingChunks The maximum number of chunks that can be sent before being consumed
+         * @return Current builder instance for chaining
+         */
+        @SuppressWarnings("unused")
+        public Builder withStreaming(int maxOutstandingChunks) {
+            if (maxOutstandingChunks <= 0) {
+                throw new IllegalArgumentException("maxOutstandingChunks must be greater than 0");
+            }
+            this.mStreamWindow = maxOutstandingChunks;
+            return this;
+        }
+
+        /**
+         * Specifies the lane of the request, its response travels in the same lane.
+         * Defaults to the priority set for the request name with {@link ElectrodeBridgeHolder#setDefaultPriority(String, BridgePriority)}.
+         *
+         * @param priority {@link BridgePriority}
+         * @return Current builder instance for chaining
+         */
+        @SuppressWarnings("unused")
+        public Builder withPriority(@NonNull BridgePriority priority) {
+            this.mPriority = priority;
+            return this;
+        }
+
+        /**
+         * Specifies the request data
+         *
+         * @param data The data
+         * @return Current builder instance for chaining
+         */
+        public Builder withData(Object data) {
+            this.mData = data;
+            return this;
+        }
+
+        /**
+         * Builds the request
+         *
+         * @return The built request
+         */
+        public ElectrodeBridgeRequest build() {
+            return new ElectrodeBridgeRequest(this);
+        }
+    }
+}
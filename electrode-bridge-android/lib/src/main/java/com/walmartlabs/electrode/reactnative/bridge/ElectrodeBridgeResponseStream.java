@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Response listener given to a request handler when the request was sent with
+ * {@link ElectrodeBridgeRequest.Builder#withStreaming(int)}.
+ * <p>
+ * The handler can push its response in chunks with {@link #write(Object)}, then has to end the response with
+ * {@link #onSuccess(Object)}, optionally carrying a last chunk, or {@link #onFailure(FailureMessage)}.
+ * A handler that is not aware of streaming can simply call {@link #onSuccess(Object)}, the caller receives the whole response as a single chunk.
+ * <p>
+ * The number of chunks sent but not yet consumed by the caller is limited by the stream window of the request.
+ * Handlers should only write while {@link #isReady()} returns true and resume once the listener set with
+ * {@link #setOnReadyListener(Runnable)} is called.
+ */
+public interface ElectrodeBridgeResponseStream<TResp> extends ElectrodeBridgeResponseListener<TResp> {
+    /**
+     * Sends a chunk of the response.
+     * A chunk written while the stream is not ready is still sent, but it defeats the flow control.
+     *
+     * @param chunk response chunk{@link TResp}
+     */
+    void write(@NonNull TResp chunk);
+
+    /**
+     * @return true if the stream window allows sending another chunk
+     */
+    boolean isReady();
+
+    /**
+     * Sets the listener called when the stream becomes ready again after the caller consumed outstanding chunks.
+     * The listener is called right away if the stream is already ready.
+     *
+     * @param onReadyListener listener, null to remove the current one
+     */
+    void setOnReadyListener(@Nullable Runnable onReadyListener);
+}
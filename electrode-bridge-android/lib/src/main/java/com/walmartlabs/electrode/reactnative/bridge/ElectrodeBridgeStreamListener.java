@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Provide methods to receive the response of a streaming request, in chunks.
+ */
+public interface ElectrodeBridgeStreamListener<TChunk> {
+    /**
+     * A chunk of the response was received, chunks are received in the order they were sent
+     *
+     * @param chunk response chunk{@link TChunk}
+     */
+    void onChunk(@NonNull TChunk chunk);
+
+    /**
+     * The response is complete, no more chunk will be received
+     */
+    void onComplete();
+
+    /**
+     * Error response, no more chunk will be received
+     *
+     * @param failureMessage {@link FailureMessage} with failure details.
+     */
+    void onFailure(@NonNull FailureMessage failureMessage);
+}
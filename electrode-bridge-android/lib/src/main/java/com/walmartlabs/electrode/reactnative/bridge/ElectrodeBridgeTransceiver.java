@@ -0,0 +1,1360 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.walmartlabs.electrode.reactnative.bridge.ElectrodeBridgeRequest.NO_TIMEOUT;
+
+/**
+ * Class that is responsible for transmitting messages between native and react native
+ */
+class ElectrodeBridgeTransceiver extends ReactContextBaseJavaModule implements ElectrodeNativeBridge, ElectrodeReactBridge {
+
+    private static final String TAG = ElectrodeBridgeTransceiver.class.getSimpleName();
+
+    /**
+     * Value of {@link #setMessageBatchWindow(long)} that emits every message to JS as soon as it is sent.
+     */
+    static final long MESSAGE_BATCHING_DISABLED = -1;
+
+    /**
+     * Name of the request JS sends when it subscribes to a sticky event, its payload is the event name.
+     * The response carries the data of the last event emitted with that name, null if there is none.
+     */
+    static final String STICKY_EVENT_REQUEST = "ern.bridge.stickyEvent";
+
+    private final ReactContextWrapper mReactContextWrapper;
+    private final BridgeDispatcher mUiQueueDispatcher;
+    private volatile BridgeMessageBatcher mMessageBatcher;
+
+    private final BridgeScope mScope;
+    private final PendingTransactionTable mPendingTransactions;
+    private final EventRegistrar<ElectrodeBridgeEventListener<ElectrodeBridgeEvent>> mEventRegistrar;
+    private final EventDispatcher mEventDispatcher;
+    private final RequestRegistrarImpl<ElectrodeBridgeRequestHandler<ElectrodeBridgeRequest, Object>> mRequestRegistrar;
+    private final RequestDispatcherImpl mRequestDispatcher;
+    private final List<ConstantsProvider> mConstantsProviders;
+    private final BridgeTimeoutScheduler mTimeoutScheduler;
+    private final RequestCoalescer mRequestCoalescer;
+    private final Map<String, ResponseStream> mResponseStreams;
+    private final EventPolicyRegistry mEventPolicies;
+    private final StickyEventCache mStickyEvents;
+
+    private final ResponseCache mResponseCache;
+
+    // Shared by all the scopes on purpose: in-flight limits bound the load put on the native handlers of the process,
+    // the leak report and the flight recorder give a single view of the process, whatever the react instance.
+    private static final InFlightLimiter sInFlightLimiter = new InFlightLimiter();
+    private static final TransactionReaper sTransactionReaper = new TransactionReaper();
+    private static final BridgeFlightRecorder sFlightRecorder = new BridgeFlightRecorder();
+    private static boolean sIsReactNativeReady;
+    private static BridgeDispatchMode sDispatchMode = BridgeDispatchMode.UI_THREAD;
+    // Written under the class lock by setDispatchMode, read lock-free on every dispatch
+    private static volatile BridgeDispatcher sBackgroundDispatcher;
+    private static final BridgeBatchStats sBatchStats = new BridgeBatchStats();
+    private static long sMessageBatchWindowMs = MESSAGE_BATCHING_DISABLED;
+    private static volatile boolean sDirectLocalDispatch;
+    private static final BridgeInterceptor[] NO_INTERCEPTORS = new BridgeInterceptor[0];
+    private static volatile BridgeInterceptor[] sInterceptors = NO_INTERCEPTORS;
+    private static volatile Executor sDirectCallbackExecutor;
+
+    /**
+     * Initializes a new instance of ElectrodeBridgeTransceiver
+     *
+     * @param scope               The {@link BridgeScope} holding the handlers, listeners and pending requests of the bridge
+     * @param reactContextWrapper The react application context
+     */
+    private ElectrodeBridgeTransceiver(@NonNull BridgeScope scope, @NonNull ReactContextWrapper reactContextWrapper) {
+        super(reactContextWrapper.getContext());
+        mScope = scope;
+        mPendingTransactions = scope.pendingTransactions;
+        mResponseCache = scope.responseCache;
+        mEventRegistrar = scope.eventRegistrar;
+        mEventDispatcher = scope.eventDispatcher;
+        mRequestRegistrar = scope.requestRegistrar;
+        mRequestDispatcher = scope.requestDispatcher;
+        mConstantsProviders = scope.constantsProviders;
+        mTimeoutScheduler = scope.timeoutScheduler;
+        mRequestCoalescer = scope.requestCoalescer;
+        mResponseStreams = scope.responseStreams;
+        mEventPolicies = scope.eventPolicies;
+        mStickyEvents = scope.stickyEvents;
+        mReactContextWrapper = reactContextWrapper;
+        mUiQueueDispatcher = new UiQueueDispatcher(reactContextWrapper);
+        updateMessageBatcher(sMessageBatchWindowMs);
+    }
+
+    /**
+     * Creates the ElectrodeBridgeTransceiver singleton, bound to the default {@link BridgeScope}
+     *
+     * @param reactApplicationContext The react application context
+     * @return The singleton instance of ElectrodeBridgeTransceiver
+     */
+    static ElectrodeBridgeTransceiver create(ReactApplicationContext reactApplicationContext) {
+        return create(BridgeScope.DEFAULT, new ReactContextWrapperInternal(reactApplicationContext));
+    }
+
+    /**
+     * Creates the ElectrodeBridgeTransceiver of a react instance bound to the given scope
+     *
+     * @param scope                   {@link BridgeScope} of the react instance
+     * @param reactApplicationContext The react application context
+     * @return The instance of ElectrodeBridgeTransceiver of the scope
+     */
+    static ElectrodeBridgeTransceiver create(@NonNull BridgeScope scope, ReactApplicationContext reactApplicationContext) {
+        return create(scope, new ReactContextWrapperInternal(reactApplicationContext));
+    }
+
+    /**
+     * Creates the ElectrodeBridgeTransceiver singleton
+     *
+     * @param reactContextWrapper {@link ReactContextWrapper}
+     * @return The singleton instance of ElectrodeBridgeTransceiver
+     */
+    @VisibleForTesting
+    static ElectrodeBridgeTransceiver create(@NonNull ReactContextWrapper reactContextWrapper) {
+        return create(BridgeScope.DEFAULT, reactContextWrapper);
+    }
+
+    @VisibleForTesting
+    static synchronized ElectrodeBridgeTransceiver create(@NonNull BridgeScope scope, @NonNull ReactContextWrapper reactContextWrapper) {
+        Logger.d(TAG, "Creating ElectrodeBridgeTransceiver instance for %s", scope);
+        ElectrodeBridgeTransceiver transceiver = new ElectrodeBridgeTransceiver(scope, reactContextWrapper);
+        scope.setTransceiver(transceiver);
+        return transceiver;
+    }
+
+    /**
+     * Returns the singleton instance of the bridge, bound to the default {@link BridgeScope}
+     */
+    public static ElectrodeBridgeTransceiver instance() {
+        ElectrodeBridgeTransceiver transceiver = BridgeScope.DEFAULT.getTransceiver();
+        if (transceiver == null) {
+            throw new IllegalStateException("Bridge transceiver instance has not been created yet. Transceiver requires a valid ReactContext to get initialized. Make sure to that BridgePackage is added to react module which normally initializes transceiver.");
+        }
+        return transceiver;
+    }
+
+    /**
+     * @return the name of this module. This will be the name used to {@code require()} this module
+     * from javascript.
+     */
+    @Override
+    public String getName() {
+        return "ElectrodeBridge";
+    }
+
+    @Nullable
+    @Override
+    public Map<String, Object> getConstants() {
+        if (!mConstantsProviders.isEmpty()) {
+            Map<String, Object> constants = new HashMap<>();
+            try {
+                for (ConstantsProvider provider : mConstantsProviders) {
+                    Map<String, Object> providerConstants;
+                    if ((providerConstants = provider.getConstants()) != null) {
+                        constants.putAll(providerConstants);
+                    }
+                }
+                return constants;
+            } catch (Exception e) {
+                //GOTCHA: Added a try catch since the implementation of this would be on the client side and bridge has no control over unseen errors.
+                Logger.w(TAG, "getConstants() implementation by(%s) failed due to(%s)", mConstantsProviders, e.getMessage());
+            }
+        }
+        return super.getConstants();
+    }
+
+    @NonNull
+    @Override
+    public boolean addEventListener(@NonNull String name, @NonNull final ElectrodeBridgeEventListener<ElectrodeBridgeEvent> eventListener, @NonNull UUID uuid) {
+        Logger.d(TAG, "Adding eventListener(%s) for event(%s)", eventListener, name);
+        boolean isAdded = mEventRegistrar.registerEventListener(name, eventListener, uuid);
+        if (!isAdded) {
+            return false;
+        }
+        if (EventTopicTrie.isPattern(name)) {
+            for (ElectrodeBridgeEvent stickyEvent : mStickyEvents.getMatching(name)) {
+                deliverStickyEvent(stickyEvent, eventListener);
+            }
+        } else {
+            ElectrodeBridgeEvent stickyEvent = mStickyEvents.get(name);
+            if (stickyEvent != null) {
+                deliverStickyEvent(stickyEvent, eventListener);
+            }
+        }
+        return true;
+    }
+
+    private void deliverStickyEvent(@NonNull final ElectrodeBridgeEvent stickyEvent, @NonNull final ElectrodeBridgeEventListener<ElectrodeBridgeEvent> eventListener) {
+        Logger.d(TAG, "Delivering sticky event(name=%s, id=%s) to late listener(%s)", stickyEvent.getName(), stickyEvent.getId(), eventListener);
+        dispatcher().dispatch(stickyEvent.getName(), stickyEvent.getPriority(), new Runnable() {
+            @Override
+            public void run() {
+                eventListener.onEvent(stickyEvent);
+            }
+        });
+    }
+
+    /**
+     * Registers the {@link ConstantsProvider} that will be used by the bridge module to get the constant values exposed to JavaScript
+     *
+     * @param constantsProvider
+     */
+    public static void addConstantsProvider(@NonNull ConstantsProvider constantsProvider) {
+        BridgeScope.DEFAULT.constantsProviders.add(constantsProvider);
+    }
+
+    /**
+     * Sets the threading model used to invoke local event listeners, request handlers and response listeners.
+     *
+     * @param dispatchMode   {@link BridgeDispatchMode}
+     * @param threadPoolSize Number of threads used by {@link BridgeDispatchMode#THREAD_POOL}, ignored by other modes
+     */
+    static synchronized void setDispatchMode(@NonNull BridgeDispatchMode dispatchMode, int threadPoolSize) {
+        Logger.d(TAG, "Switching dispatch mode from %s to %s", sDispatchMode, dispatchMode);
+        BridgeDispatcher previousDispatcher = sBackgroundDispatcher;
+        switch (dispatchMode) {
+            case BRIDGE_THREAD:
+                sBackgroundDispatcher = new HandlerThreadDispatcher();
+                break;
+            case THREAD_POOL:
+                sBackgroundDispatcher = new LaneThreadPoolDispatcher(threadPoolSize);
+                break;
+            default:
+                sBackgroundDispatcher = null;
+                break;
+        }
+        sDispatchMode = dispatchMode;
+        if (previousDispatcher != null) {
+            previousDispatcher.shutdown();
+        }
+    }
+
+    /**
+     * Enables batching of the messages emitted to JS.
+     * <p>
+     * JS side must be able to unpack {@link BridgeMessage.Type#BATCH} messages.
+     *
+     * @param windowMs {@link BridgeMessageBatcher#PER_FRAME} to send one batch per frame, the duration of the batching window
+     *                 in milliseconds, or {@link #MESSAGE_BATCHING_DISABLED}
+     */
+    static synchronized void setMessageBatchWindow(long windowMs) {
+        Logger.d(TAG, "Setting message batch window to %sms", windowMs);
+        sMessageBatchWindowMs = windowMs;
+        for (BridgeScope scope : BridgeScope.all()) {
+            ElectrodeBridgeTransceiver transceiver = scope.getTransceiver();
+            if (transceiver != null) {
+                transceiver.updateMessageBatcher(windowMs);
+            }
+        }
+    }
+
+    @NonNull
+    static BridgeBatchStats getBatchStats() {
+        return sBatchStats;
+    }
+
+    static synchronized void addInterceptor(@NonNull BridgeInterceptor interceptor) {
+        BridgeInterceptor[] interceptors = Arrays.copyOf(sInterceptors, sInterceptors.length + 1);
+        interceptors[interceptors.length - 1] = interceptor;
+        sInterceptors = interceptors;
+    }
+
+    static synchronized boolean removeInterceptor(@NonNull BridgeInterceptor interceptor) {
+        List<BridgeInterceptor> interceptors = new ArrayList<>(Arrays.asList(sInterceptors));
+        if (!interceptors.remove(interceptor)) {
+            return false;
+        }
+        sInterceptors = interceptors.isEmpty() ? NO_INTERCEPTORS : interceptors.toArray(new BridgeInterceptor[0]);
+        return true;
+    }
+
+    /**
+     * Runs a hop through the registered interceptors, or straight away when there is none
+     */
+    private static void intercept(@NonNull BridgeInterceptor.Hop hop,
+                                  @NonNull BridgeInterceptor.Direction direction,
+                                  @NonNull BridgeMessage message,
+                                  @Nullable ElectrodeBridgeRequest request,
+                                  long latencyNanos,
+                                  @NonNull Runnable hopAction,
+                                  @Nullable BridgeInterceptorChain.Responder responder) {
+        BridgeInterceptor[] interceptors = sInterceptors;
+        if (interceptors.length == 0) {
+            hopAction.run();
+        } else {
+            new BridgeInterceptorChain(interceptors, hop, direction, message, request, latencyNanos, hopAction, responder).start();
+        }
+    }
+
+    @NonNull
+    private static BridgeInterceptor.Direction directionOf(@NonNull ElectrodeBridgeRequest request, boolean isHandledLocally) {
+        if (request.isJsInitiated()) {
+            return BridgeInterceptor.Direction.INBOUND;
+        }
+        return isHandledLocally ? BridgeInterceptor.Direction.LOCAL : BridgeInterceptor.Direction.OUTBOUND;
+    }
+
+    /**
+     * @return The direction of the response of a transaction
+     */
+    @NonNull
+    private static BridgeInterceptor.Direction directionOf(@NonNull BridgeTransaction transaction) {
+        if (transaction.isJsInitiated()) {
+            return BridgeInterceptor.Direction.OUTBOUND;
+        }
+        return transaction.isDispatchedToReact() ? BridgeInterceptor.Direction.INBOUND : BridgeInterceptor.Direction.LOCAL;
+    }
+
+    /**
+     * Enables or disables the direct dispatch of native requests to native request handlers
+     *
+     * @param enabled          true to call native request handlers directly
+     * @param callbackExecutor Executor used to call the response listeners, null to call them on the thread completing the request
+     */
+    static void setDirectLocalDispatch(boolean enabled, @Nullable Executor callbackExecutor) {
+        Logger.d(TAG, "Direct local dispatch %s", enabled ? "enabled" : "disabled");
+        sDirectCallbackExecutor = callbackExecutor;
+        sDirectLocalDispatch = enabled;
+    }
+
+    /**
+     * Calls the native request handler of a request straight from the calling thread, bypassing the transaction machinery.
+     * The payload and the response are passed by reference.
+     *
+     * @param scope            {@link BridgeScope} the request name is handled in
+     * @param name             Request name
+     * @param payload          Request payload
+     * @param responseListener Listener to be called upon request completion
+     * @return {@link RequestHandle} of the request, null if the request cannot be dispatched directly and must be sent as a regular request
+     */
+    @Nullable
+    static RequestHandle sendDirectRequest(@NonNull BridgeScope scope, @NonNull String name, @Nullable Object payload, @NonNull ElectrodeBridgeResponseListener<Object> responseListener) {
+        if (!sDirectLocalDispatch || sInterceptors.length > 0 || scope.responseCache.isEnabled(name) || scope.requestCoalescer.isEnabled(name) || sInFlightLimiter.isEnabled()) {
+            return null;
+        }
+        ElectrodeBridgeRequestHandler<ElectrodeBridgeRequest, Object> requestHandler = scope.requestRegistrar.getRequestHandler(name);
+        if (!(requestHandler instanceof DirectRequestHandler)) {
+            return null;
+        }
+
+        Logger.d(TAG, "Dispatching request(name=%s) directly to its native handler", name);
+        DirectRequestCall call = new DirectRequestCall(name, responseListener, sDirectCallbackExecutor, scope.timeoutScheduler);
+        ((DirectRequestHandler) requestHandler).onDirectRequest(payload, call);
+        if (!call.isDone()) {
+            call.startTimeout(ElectrodeBridgeRequest.DEFAULT_REQUEST_TIMEOUT_MS);
+        }
+        return call;
+    }
+
+    private void updateMessageBatcher(long windowMs) {
+        BridgeMessageBatcher previousBatcher = mMessageBatcher;
+        mMessageBatcher = windowMs == MESSAGE_BATCHING_DISABLED ? null : new BridgeMessageBatcher(mReactContextWrapper, windowMs, sBatchStats);
+        if (previousBatcher != null) {
+            previousBatcher.flush();
+        }
+    }
+
+    private void emitToReact(@NonNull BridgeMessage message) {
+        BridgeMessageBatcher batcher = mMessageBatcher;
+        if (batcher != null) {
+            batcher.enqueue(message);
+        } else {
+            mReactContextWrapper.emitEvent(message);
+        }
+    }
+
+    @NonNull
+    private BridgeDispatcher dispatcher() {
+        BridgeDispatcher backgroundDispatcher = sBackgroundDispatcher;
+        return backgroundDispatcher != null ? backgroundDispatcher : mUiQueueDispatcher;
+    }
+
+    @Nullable
+    @Override
+    public UUID getRequestHandlerId(@NonNull String name) {
+        return mRequestRegistrar.getRequestHandlerId(name);
+    }
+
+    @Override
+    public boolean isRegistered(@NonNull UUID requestHandlerUuid) {
+        return mRequestRegistrar.isRegistered(requestHandlerUuid);
+    }
+
+    @NonNull
+    @Override
+    public UUID getEventListenerId(@NonNull ElectrodeBridgeEventListener<ElectrodeBridgeEvent> eventListener) {
+        return mEventRegistrar.getEventListenerId(eventListener);
+    }
+
+    @Override
+    public ElectrodeBridgeEventListener<ElectrodeBridgeEvent> removeEventListener(@NonNull UUID eventListenerUuid) {
+        return mEventRegistrar.unregisterEventListener(eventListenerUuid);
+    }
+
+    @Override
+    public ElectrodeBridgeRequestHandler<ElectrodeBridgeRequest, Object> unregisterRequestHandler(@NonNull UUID requestHandlerUuid) {
+        return mRequestRegistrar.unregisterRequestHandler(requestHandlerUuid);
+    }
+
+    @Override
+    public boolean registerRequestHandler(@NonNull String name, @NonNull ElectrodeBridgeRequestHandler<ElectrodeBridgeRequest, Object> requestHandler, @NonNull UUID uuid) {
+        return mRequestRegistrar.registerRequestHandler(name, requestHandler, uuid);
+    }
+
+    /**
+     * Emits an event with some data to the JS react native side
+     *
+     * @param event The event to emit
+     */
+    @SuppressWarnings("unused")
+    @Override
+    public void sendEvent(@NonNull final ElectrodeBridgeEvent event) {
+        Logger.d(TAG, "Emitting event[name:%s id:%s]", event.getName(), event.getId());
+        BridgeMetrics.recordEvent(event.getName(), event.getData());
+        sFlightRecorder.record(BridgeInterceptor.Direction.OUTBOUND, event);
+
+        intercept(BridgeInterceptor.Hop.EVENT_EMIT, BridgeInterceptor.Direction.OUTBOUND, event, null, 0, new Runnable() {
+            @Override
+            public void run() {
+                mResponseCache.onEvent(event.getName());
+                mStickyEvents.put(event);
+                if (!mEventPolicies.offer(event)) {
+                    deliverEvent(event);
+                }
+            }
+        }, null);
+    }
+
+    void deliverEvent(@NonNull final ElectrodeBridgeEvent event) {
+        intercept(BridgeInterceptor.Hop.EVENT_DISPATCH, BridgeInterceptor.Direction.OUTBOUND, event, null, 0, new Runnable() {
+            @Override
+            public void run() {
+                notifyReactEventListeners(event);
+                notifyLocalEventListeners(event);
+            }
+        }, null);
+    }
+
+    /**
+     * Sets the {@link EventPolicy} applied to the events of the given name emitted through {@link #sendEvent(ElectrodeBridgeEvent)}
+     *
+     * @param name   Event name
+     * @param policy {@link EventPolicy}, null to remove the current policy
+     */
+    static void setEventPolicy(@NonNull String name, @Nullable EventPolicy policy) {
+        Logger.d(TAG, "Setting policy(%s) for event(%s)", policy, name);
+        BridgeScope.setEventPolicy(name, policy);
+    }
+
+
+    /**
+     * Makes the events of the given name sticky or not, the last sticky event of a name is delivered to the listeners registering later.
+     *
+     * @param name   Event name
+     * @param sticky true to keep the last event of the name
+     */
+    static void setStickyEvent(@NonNull String name, boolean sticky) {
+        Logger.d(TAG, "Event(%s) is %s", name, sticky ? "sticky" : "not sticky anymore");
+        // Sticky event names are shared by the caches of all the scopes
+        BridgeScope.DEFAULT.stickyEvents.setSticky(name, sticky);
+        if (!sticky) {
+            clearStickyEvent(name);
+        }
+    }
+
+    static void clearStickyEvent(@NonNull String name) {
+        for (BridgeScope scope : BridgeScope.all()) {
+            scope.stickyEvents.clear(name);
+        }
+    }
+
+    static void clearStickyEvents() {
+        for (BridgeScope scope : BridgeScope.all()) {
+            scope.stickyEvents.clearAll();
+        }
+    }
+
+    /**
+     * Enables or disables the coalescing of identical requests of the given name.
+     *
+     * @param name    Request name
+     * @param enabled true to coalesce the requests
+     */
+    static void setRequestCoalescing(@NonNull String name, boolean enabled) {
+        Logger.d(TAG, "%s coalescing of request(%s)", enabled ? "Enabling" : "Disabling", name);
+        // Coalesced request names are shared by the coalescers of all the scopes
+        BridgeScope.DEFAULT.requestCoalescer.setEnabled(name, enabled);
+    }
+
+    /**
+     * Sets the caching policy of the responses of the given request name.
+     *
+     * @param name   Request name
+     * @param policy {@link ResponseCachePolicy}, null to stop caching the responses
+     */
+    static void setResponseCachePolicy(@NonNull String name, @Nullable ResponseCachePolicy policy) {
+        Logger.d(TAG, "Setting response cache policy(%s) for request(%s)", policy, name);
+        BridgeScope.setResponseCachePolicy(name, policy);
+    }
+
+    /**
+     * Sets the bound on the number of requests in flight.
+     *
+     * @param name  Request name, null for the bound that applies to all the requests
+     * @param limit {@link InFlightLimit}, null to remove the bound
+     */
+    static void setInFlightLimit(@Nullable String name, @Nullable InFlightLimit limit) {
+        Logger.d(TAG, "Setting in-flight limit(%s) for request(%s)", limit, name != null ? name : "*");
+        sInFlightLimiter.setLimit(name, limit);
+    }
+
+    static void setTransactionMaxAge(long maxAgeMs, boolean reapNoTimeoutRequests) {
+        Logger.d(TAG, "Setting pending transaction max age to %sms, no timeout requests reaped(%s)", maxAgeMs, reapNoTimeoutRequests);
+        scheduleReap(sTransactionReaper.setMaxAgeMs(maxAgeMs, reapNoTimeoutRequests));
+    }
+
+    @NonNull
+    static TransactionLeakReport getTransactionLeakReport() {
+        return sTransactionReaper.report();
+    }
+
+    private static void scheduleReap(final long generation) {
+        if (!sTransactionReaper.isCurrent(generation)) {
+            return;
+        }
+        BridgeScope.DEFAULT.timeoutScheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                if (!sTransactionReaper.isCurrent(generation)) {
+                    return;
+                }
+                for (BridgeScope scope : BridgeScope.all()) {
+                    ElectrodeBridgeTransceiver transceiver = scope.getTransceiver();
+                    if (transceiver != null) {
+                        transceiver.reapStaleTransactions(sTransactionReaper.getMaxAgeMs());
+                    }
+                }
+                scheduleReap(generation);
+            }
+        }, sTransactionReaper.getScanIntervalMs());
+    }
+
+    /**
+     * @param scope {@link BridgeScope} the handler is registered in
+     * @param name  Request name
+     * @return Statistics of the native handler of the request name, null if there is none
+     */
+    @Nullable
+    static RequestHandlerStats getRequestHandlerStats(@NonNull BridgeScope scope, @NonNull String name) {
+        RequestHandlerEntry<ElectrodeBridgeRequestHandler<ElectrodeBridgeRequest, Object>> entry = scope.requestRegistrar.getRequestHandlerEntry(name);
+        return entry != null ? entry.getStats() : null;
+    }
+
+    @NonNull
+    static InFlightStats getInFlightStats() {
+        return sInFlightLimiter.getStats();
+    }
+
+    @Nullable
+    static InFlightStats getInFlightStats(@NonNull String name) {
+        return sInFlightLimiter.getStats(name);
+    }
+
+    static void invalidateResponseCache(@NonNull String name) {
+        for (BridgeScope scope : BridgeScope.all()) {
+            scope.responseCache.invalidate(name);
+        }
+    }
+
+    static void clearResponseCache() {
+        for (BridgeScope scope : BridgeScope.all()) {
+            scope.responseCache.invalidateAll();
+        }
+    }
+
+    static void trimMemory(int level) {
+        for (BridgeScope scope : BridgeScope.all()) {
+            scope.responseCache.trimMemory(level);
+        }
+    }
+
+    @NonNull
+    static ResponseCacheStats getResponseCacheStats() {
+        return BridgeScope.getResponseCacheStats();
+    }
+
+    /**
+     * @param scope {@link BridgeScope} the request name is handled in
+     * @param name  Request name
+     */
+    @Nullable
+    static ResponseCacheStats getResponseCacheStats(@NonNull BridgeScope scope, @NonNull String name) {
+        return scope.responseCache.getStats(name);
+    }
+
+    /**
+     * Sends a request
+     *
+     * @param request          The request to send
+     * @param responseListener Listener to be called upon request completion
+     */
+    @SuppressWarnings("unused")
+    @Override
+    public void sendRequest(@NonNull final ElectrodeBridgeRequest request, @NonNull final ElectrodeBridgeResponseListener<ElectrodeBridgeResponse> responseListener) {
+        handleRequest(request, responseListener, null);
+    }
+
+    /**
+     * Sends several requests at once, the requests that are handled on the JS side cross the bridge in a single batch.
+     * <p>
+     * Each request is still completed independently of the others, with its own timeout.
+     *
+     * @param requests The requests to send along with their response listener
+     */
+    @Override
+    public void sendRequests(@NonNull Map<ElectrodeBridgeRequest, ElectrodeBridgeResponseListener<ElectrodeBridgeResponse>> requests) {
+        List<BridgeMessage> reactBatch = new ArrayList<>(requests.size());
+        for (Map.Entry<ElectrodeBridgeRequest, ElectrodeBridgeResponseListener<ElectrodeBridgeResponse>> entry : requests.entrySet()) {
+            handleRequest(entry.getKey(), entry.getValue(), reactBatch);
+        }
+        if (reactBatch.size() == 1 || (!reactBatch.isEmpty() && mMessageBatcher != null)) {
+            // A single request needs no envelope, and the message batcher already coalesces consecutive emits.
+            for (BridgeMessage message : reactBatch) {
+                emitToReact(message);
+            }
+        } else if (!reactBatch.isEmpty()) {
+            Logger.d(TAG, "Sending a batch of %s requests over to JS side", reactBatch.size());
+            mReactContextWrapper.emitEvent(new BridgeMessageBatch(reactBatch));
+        }
+    }
+
+    @Override
+    public boolean cancelRequest(@NonNull String requestId) {
+        BridgeTransaction coalescedTransaction = mRequestCoalescer.getTransaction(requestId);
+        boolean detached = false;
+        switch (mRequestCoalescer.detach(requestId)) {
+            case DETACHED:
+                Logger.d(TAG, "Detached request(id=%s) from its coalesced transaction", requestId);
+                return true;
+            case TOO_LATE:
+                return false;
+            case LAST:
+                // No one is waiting on the transaction anymore, cancel it
+                detached = true;
+                requestId = coalescedTransaction.getId();
+                break;
+            default:
+                break;
+        }
+
+        BridgeTransaction transaction = mPendingTransactions.remove(requestId);
+        if (transaction == null) {
+            if (sInFlightLimiter.cancel(requestId)) {
+                Logger.d(TAG, "Cancelled queued request(id=%s)", requestId);
+                return true;
+            }
+            Logger.d(TAG, "Request(id=%s) is not pending anymore, nothing to cancel", requestId);
+            return detached;
+        }
+        mTimeoutScheduler.cancel(transaction.getTimeout());
+        sInFlightLimiter.release(transaction);
+        mRequestCoalescer.complete(transaction);
+        ResponseStream responseStream = mResponseStreams.remove(requestId);
+        if (responseStream != null) {
+            responseStream.close();
+        }
+        Logger.d(TAG, "Cancelled request(id=%s, name=%s)", requestId, transaction.getRequest().getName());
+        if (transaction.isDispatchedToReact()) {
+            emitToReact(new BridgeRequestCancel(transaction.getRequest()));
+        }
+        return true;
+    }
+
+    /**
+     * This method is used by react native to dispatch an event on the native side.
+     * <p>
+     * This could be a REQUEST, RESPONSE, EVENT, CANCEL, ACK or a BATCH of those
+     *
+     * @param data The event data
+     */
+    @ReactMethod
+    @Override
+    public void sendMessage(@NonNull final ReadableMap data) {
+        Logger.d(TAG, "received message from JS(data=%s)", data);
+        BridgeMessage.Type type = BridgeMessage.Type.getType(data.getString(BridgeMessage.BRIDGE_MSG_TYPE));
+        if (type != null) {
+            switch (type) {
+                case EVENT:
+                    final ElectrodeBridgeEvent event = ElectrodeBridgeEvent.create(data);
+                    if (event != null) {
+                        Logger.d(TAG, "Received message is an EVENT(name=%s), will notify local event listeners.", event.getName());
+                        BridgeMetrics.recordEvent(event.getName(), event.getData());
+                        sFlightRecorder.record(BridgeInterceptor.Direction.INBOUND, event);
+                        intercept(BridgeInterceptor.Hop.EVENT_EMIT, BridgeInterceptor.Direction.INBOUND, event, null, 0, new Runnable() {
+                            @Override
+                            public void run() {
+                                mResponseCache.onEvent(event.getName());
+                                mStickyEvents.put(event);
+                                intercept(BridgeInterceptor.Hop.EVENT_DISPATCH, BridgeInterceptor.Direction.INBOUND, event, null, 0, new Runnable() {
+                                    @Override
+                                    public void run() {
+                                        notifyLocalEventListeners(event);
+                                    }
+                                }, null);
+                            }
+                        }, null);
+                    } else {
+                        throw new IllegalArgumentException("Unable to construct event from data");
+                    }
+                    break;
+                case REQUEST:
+                    ElectrodeBridgeRequest request = ElectrodeBridgeRequest.create(data);
+                    if (request != null && STICKY_EVENT_REQUEST.equals(request.getName())) {
+                        respondWithStickyEvent(request);
+                    } else if (request != null) {
+                        Logger.d(TAG, "Received message is a REQUEST(name=%s), will look for a request handler and forward this request", request.getName());
+                        sFlightRecorder.record(BridgeInterceptor.Direction.INBOUND, request);
+                        handleRequest(request, null, null);
+                    } else {
+                        throw new IllegalArgumentException("Unable to construct request from data");
+                    }
+
+                    break;
+                case RESPONSE:
+                    String requestId = data.getString(BridgeMessage.BRIDGE_MSG_ID);
+                    if (requestId != null && mPendingTransactions.get(requestId) == null) {
+                        // Skip decoding the payload of responses to cancelled, timed out or already completed requests.
+                        Logger.i(TAG, "Response(id=%s) will be ignored as its request is not pending anymore", requestId);
+                        break;
+                    }
+                    ElectrodeBridgeResponse response = ElectrodeBridgeResponse.create(data);
+                    if (response != null && response.isPartial()) {
+                        Logger.d(TAG, "Received message is a partial RESPONSE(seq=%s) for a request(name=%s, id=%s)", response.getSequence(), response.getName(), response.getId());
+                        sFlightRecorder.record(BridgeInterceptor.Direction.INBOUND, response);
+                        handleResponseChunk(response);
+                    } else if (response != null) {
+                        Logger.d(TAG, "Received message is a RESPONSE for a request(name=%s, id=%s)", response.getName(), response.getId());
+                        handleResponse(response);
+                    } else {
+                        throw new IllegalArgumentException("Unable to construct a response from data");
+                    }
+
+                    break;
+                case CANCEL:
+                    String cancelledRequestId = data.getString(BridgeMessage.BRIDGE_MSG_ID);
+                    Logger.d(TAG, "Received message is a CANCEL for a request(id=%s)", cancelledRequestId);
+                    sFlightRecorder.record(BridgeInterceptor.Direction.INBOUND, BridgeMessage.Type.CANCEL, data.getString(BridgeMessage.BRIDGE_MSG_NAME), cancelledRequestId, 0);
+                    if (cancelledRequestId != null) {
+                        // Only JS initiated requests can be cancelled from JS, drop the transaction without emitting a response.
+                        BridgeTransaction cancelled = mPendingTransactions.get(cancelledRequestId);
+                        if (cancelled != null && cancelled.isJsInitiated() && mPendingTransactions.remove(cancelledRequestId) != null) {
+                            mTimeoutScheduler.cancel(cancelled.getTimeout());
+                            sInFlightLimiter.release(cancelled);
+                            ResponseStream cancelledStream = mResponseStreams.remove(cancelledRequestId);
+                            if (cancelledStream != null) {
+                                cancelledStream.close();
+                            }
+                        }
+                    }
+                    break;
+                case ACK:
+                    String ackedRequestId = data.getString(BridgeMessage.BRIDGE_MSG_ID);
+                    sFlightRecorder.record(BridgeInterceptor.Direction.INBOUND, BridgeMessage.Type.ACK, data.getString(BridgeMessage.BRIDGE_MSG_NAME), ackedRequestId, 0);
+                    final ResponseStream ackedStream = ackedRequestId != null ? mResponseStreams.get(ackedRequestId) : null;
+                    if (ackedStream != null) {
+                        final int sequence = data.getInt(ElectrodeBridgeResponse.BRIDGE_RESPONSE_SEQUENCE);
+                        Logger.d(TAG, "Received message is an ACK(seq=%s) for a request(id=%s)", sequence, ackedRequestId);
+                        dispatcher().dispatch(ackedStream.getName(), ackedStream.getPriority(), new Runnable() {
+                            @Override
+                            public void run() {
+                                ackedStream.onAck(sequence);
+                            }
+                        });
+                    } else {
+                        Logger.d(TAG, "ACK(id=%s) will be ignored as its response stream is closed", ackedRequestId);
+                    }
+                    break;
+                case BATCH:
+                    ReadableArray messages = data.getArray(BridgeMessageBatch.BRIDGE_MSG_MESSAGES);
+                    if (messages != null) {
+                        Logger.d(TAG, "Received message is a BATCH of %s messages", messages.size());
+                        for (int i = 0; i < messages.size(); i++) {
+                            sendMessage(messages.getMap(i));
+                        }
+                    } else {
+                        throw new IllegalArgumentException("Unable to read messages from batch");
+                    }
+
+                    break;
+            }
+        } else {
+            throw new IllegalArgumentException("Unable to identify request type. Should never reach here.");
+        }
+    }
+
+    /**
+     * Answers a JS subscription to a sticky event with the data of the last event of that name, without a transaction
+     */
+    private void respondWithStickyEvent(@NonNull ElectrodeBridgeRequest request) {
+        Object eventName = request.getData();
+        ElectrodeBridgeEvent stickyEvent = eventName instanceof String ? mStickyEvents.get((String) eventName) : null;
+        Logger.d(TAG, "JS subscribed to event(%s), %s", eventName, stickyEvent != null ? "sending its sticky value" : "no sticky value to send");
+        emitToReact(ElectrodeBridgeResponse.createResponseForRequest(request, stickyEvent != null ? stickyEvent.getData() : null, null));
+    }
+
+    /**
+     * @param reactBatch When not null, requests to be sent to JS are added to it instead of being emitted right away
+     */
+    private void handleRequest(@NonNull final ElectrodeBridgeRequest request, @Nullable final ElectrodeBridgeResponseListener<ElectrodeBridgeResponse> responseListener, @Nullable final List<BridgeMessage> reactBatch) {
+        logRequest(request);
+
+        if (responseListener == null && !request.isJsInitiated()) {
+            throw new IllegalArgumentException("A response lister is required for a non-JS initiated request");
+        }
+        // Time spent queued before React Native was ready does not count against the timeout.
+        request.startDeadline();
+        // The handler is resolved once, the entry travels with the request up to its dispatch
+        final RequestHandlerEntry<ElectrodeBridgeRequestHandler<ElectrodeBridgeRequest, Object>> handlerEntry = mRequestDispatcher.getRequestHandlerEntry(request.getName());
+        if (sInterceptors.length == 0) {
+            processRequest(request, responseListener, handlerEntry, reactBatch);
+            return;
+        }
+
+        intercept(BridgeInterceptor.Hop.REQUEST_SEND, directionOf(request, handlerEntry != null), request, request, 0, new Runnable() {
+            @Override
+            public void run() {
+                processRequest(request, responseListener, handlerEntry, reactBatch);
+            }
+        }, new BridgeInterceptorChain.Responder() {
+            @Override
+            public void respond(@NonNull ElectrodeBridgeResponse response) {
+                Logger.d(TAG, "Request(id=%s, name=%s) was completed by an interceptor", request.getId(), request.getName());
+                if (request.isJsInitiated()) {
+                    emitToReact(response);
+                } else {
+                    notifyResponseListener(responseListener, request.getPriority(), response);
+                }
+            }
+        });
+    }
+
+    private void processRequest(@NonNull final ElectrodeBridgeRequest request, @Nullable final ElectrodeBridgeResponseListener<ElectrodeBridgeResponse> responseListener,
+                                @Nullable RequestHandlerEntry<ElectrodeBridgeRequestHandler<ElectrodeBridgeRequest, Object>> handlerEntry, @Nullable final List<BridgeMessage> reactBatch) {
+        // Streamed responses are delivered in chunks to a single caller, they are never cached nor coalesced.
+        final boolean isCached = responseListener != null && !request.isStreaming() && mResponseCache.isEnabled(request.getName());
+        final boolean isCoalesced = responseListener != null && !request.isStreaming() && mRequestCoalescer.isEnabled(request.getName());
+        final String fingerprint = isCached || isCoalesced ? RequestFingerprint.of(request) : null;
+        if (isCached) {
+            ElectrodeBridgeResponse cachedResponse = mResponseCache.get(request.getName(), fingerprint);
+            if (cachedResponse != null) {
+                Logger.d(TAG, "Completing request(id=%s, name=%s) with a cached response", request.getId(), request.getName());
+                notifyResponseListener(responseListener, request.getPriority(), cachedResponse);
+                return;
+            }
+        }
+        if (isCoalesced && mRequestCoalescer.attach(fingerprint, request, responseListener)) {
+            Logger.d(TAG, "Request(id=%s, name=%s) attached to an identical in-flight request", request.getId(), request.getName());
+            return;
+        }
+
+        if (sInFlightLimiter.isEnabled()) {
+            final AtomicReference<BridgeTimeoutScheduler.Timeout> queueTimeout = new AtomicReference<>();
+            InFlightLimiter.Admission admission = sInFlightLimiter.acquire(request, new Runnable() {
+                @Override
+                public void run() {
+                    mTimeoutScheduler.cancel(queueTimeout.get());
+                    // Started from the dispatcher rather than from the release() that freed the slot, a request failing right away would re-enter the limiter otherwise.
+                    dispatcher().dispatch(request.getName(), request.getPriority(), new Runnable() {
+                        @Override
+                        public void run() {
+                            // The batch the request was sent with is gone by the time it leaves the queue, and handlers may have changed meanwhile.
+                            startTransaction(request, responseListener, mRequestDispatcher.getRequestHandlerEntry(request.getName()), isCached, isCoalesced, fingerprint, true, null);
+                        }
+                    });
+                }
+            });
+            switch (admission) {
+                case QUEUED:
+                    Logger.d(TAG, "Too many requests in flight, queued request(id=%s, name=%s)", request.getId(), request.getName());
+                    long timeoutMs = timeoutMs(request);
+                    if (timeoutMs != NO_TIMEOUT) {
+                        queueTimeout.set(mTimeoutScheduler.schedule(new Runnable() {
+                            @Override
+                            public void run() {
+                                if (sInFlightLimiter.cancel(request.getId())) {
+                                    Logger.d(TAG, "Request(id=%s, name=%s) timed out in the in-flight queue", request.getId(), request.getName());
+                                    BridgeTransaction expiredTransaction = new BridgeTransaction(request, responseListener);
+                                    expiredTransaction.setResponse(createTimeoutResponse(request));
+                                    completeTransaction(expiredTransaction);
+                                }
+                            }
+                        }, timeoutMs));
+                    }
+                    return;
+                case REJECTED:
+                    Logger.w(TAG, "Too many requests in flight, failing request(id=%s, name=%s)", request.getId(), request.getName());
+                    BridgeTransaction rejectedTransaction = new BridgeTransaction(request, responseListener);
+                    rejectedTransaction.setResponse(ElectrodeBridgeResponse.createResponseForRequest(request, null, BridgeFailureMessage.create("EBUSY", "Too many requests in flight for " + request.getName())));
+                    completeTransaction(rejectedTransaction);
+                    return;
+                default:
+                    startTransaction(request, responseListener, handlerEntry, isCached, isCoalesced, fingerprint, true, reactBatch);
+                    return;
+            }
+        }
+        startTransaction(request, responseListener, handlerEntry, isCached, isCoalesced, fingerprint, false, reactBatch);
+    }
+
+    private void startTransaction(@NonNull final ElectrodeBridgeRequest request, @Nullable ElectrodeBridgeResponseListener<ElectrodeBridgeResponse> responseListener,
+                                  @Nullable final RequestHandlerEntry<ElectrodeBridgeRequestHandler<ElectrodeBridgeRequest, Object>> handlerEntry, boolean isCached, boolean isCoalesced, @Nullable String fingerprint, boolean holdsInFlightSlot, @Nullable final List<BridgeMessage> reactBatch) {
+        final BridgeTransaction bridgeTransaction = createTransaction(request, responseListener, holdsInFlightSlot);
+        if (bridgeTransaction == null) {
+            return;
+        }
+        if (isCached) {
+            bridgeTransaction.setResponseCacheKey(fingerprint, mResponseCache.generation(request.getName()));
+        }
+        if (isCoalesced) {
+            mRequestCoalescer.lead(fingerprint, bridgeTransaction);
+        }
+
+        if (request.isExpired()) {
+            Logger.i(TAG, "Request(id=%s, name=%s) expired before it could be dispatched, failing it", request.getId(), request.getName());
+            handleResponse(createTimeoutResponse(request));
+            return;
+        }
+
+        final boolean isHandledLocally = handlerEntry != null;
+        if (isHandledLocally || !request.isJsInitiated()) {//GOTCHA: Should not send a request back JS if it was initiated from JS side.
+            intercept(BridgeInterceptor.Hop.REQUEST_DISPATCH, directionOf(request, isHandledLocally), request, request, 0, new Runnable() {
+                @Override
+                public void run() {
+                    if (isHandledLocally) {
+                        dispatchRequestToLocalHandler(bridgeTransaction, handlerEntry);
+                    } else {
+                        dispatchRequestToReact(bridgeTransaction, reactBatch);
+                    }
+                }
+            }, new BridgeInterceptorChain.Responder() {
+                @Override
+                public void respond(@NonNull ElectrodeBridgeResponse response) {
+                    handleResponse(response);
+                }
+            });
+        } else {
+            Logger.d(TAG, "No handler available to handle the request(id=%s, name=%s). Will fail the request", request.getId(), request.getName());
+            handleResponse(ElectrodeBridgeResponse.createResponseForRequest(request, null, BridgeFailureMessage.create("ENOHANDLER", "No registered request handler found for " + request.getName())));
+        }
+    }
+
+    /**
+     * @return The pending transaction, null if there is no room left for it, in which case the request is already failed
+     */
+    @Nullable
+    private BridgeTransaction createTransaction(@NonNull ElectrodeBridgeRequest request, @Nullable ElectrodeBridgeResponseListener<ElectrodeBridgeResponse> responseListener, boolean holdsInFlightSlot) {
+        final BridgeTransaction bridgeTransaction = new BridgeTransaction(request, responseListener);
+        bridgeTransaction.setHoldsInFlightSlot(holdsInFlightSlot);
+        if (!mPendingTransactions.put(bridgeTransaction)) {
+            Logger.w(TAG, "Too many pending requests, failing request(id=%s, name=%s)", request.getId(), request.getName());
+            bridgeTransaction.setResponse(ElectrodeBridgeResponse.createResponseForRequest(request, null, BridgeFailureMessage.create("EBUSY", "Too many pending requests")));
+            completeTransaction(bridgeTransaction);
+            return null;
+        }
+        startTimeOutCheckForTransaction(bridgeTransaction);
+        return bridgeTransaction;
+    }
+
+    private void startTimeOutCheckForTransaction(@NonNull final BridgeTransaction transaction) {
+        long timeoutMs = timeoutMs(transaction.getRequest());
+        if (timeoutMs != NO_TIMEOUT) {
+            transaction.setTimeout(mTimeoutScheduler.schedule(transaction, timeoutMs));
+        } else {
+            Logger.d(TAG, "NO_TIMEOUT request, Will skip timeout check for request(%s)", transaction.getRequest());
+        }
+    }
+
+    void failTimedOutTransactions(@NonNull List<BridgeTransaction> transactions) {
+        Logger.d(TAG, "%s request(s) timed out", transactions.size());
+        for (BridgeTransaction transaction : transactions) {
+            Logger.d(TAG, "Timing out request(id=%s)", transaction.getRequest().getId());
+            handleResponse(createTimeoutResponse(transaction.getRequest()));
+        }
+    }
+
+    /**
+     * @return Time left before the request times out, {@link ElectrodeBridgeRequest#NO_TIMEOUT} if it never does
+     */
+    private static long timeoutMs(@NonNull ElectrodeBridgeRequest request) {
+        if (request.getTimeoutMs() == NO_TIMEOUT) {
+            return NO_TIMEOUT;
+        }
+        // The deadline starts when the request is handed to the transceiver, time spent waiting for an in-flight slot counts against it.
+        return request.getDeadlineMs() != ElectrodeBridgeRequest.NO_DEADLINE ? request.getRemainingMs() : request.getTimeoutMs();
+    }
+
+    @NonNull
+    private static ElectrodeBridgeResponse createTimeoutResponse(@NonNull ElectrodeBridgeRequest request) {
+        return ElectrodeBridgeResponse.createResponseForRequest(request, null, BridgeFailureMessage.create("EREQUESTTIMEOUT", "Request timeout"));
+    }
+
+    /**
+     * Fails and evicts the transactions that made no progress for longer than the given age, whatever their timeout.
+     * Transactions past their deadline are failed as timed out first, in case their timeout never fired.
+     */
+    private void reapStaleTransactions(long maxAgeMs) {
+        List<BridgeTransaction> expired = mPendingTransactions.getExpired();
+        if (!expired.isEmpty()) {
+            failTimedOutTransactions(expired);
+        }
+        List<BridgeTransaction> stale = mPendingTransactions.getInactiveFor(System.nanoTime(), TimeUnit.MILLISECONDS.toNanos(maxAgeMs));
+        for (BridgeTransaction transaction : stale) {
+            if (!sTransactionReaper.isReapable(transaction)) {
+                continue;
+            }
+            // Removing first guarantees that a transaction completed concurrently is neither failed nor reported.
+            if (mPendingTransactions.remove(transaction.getId()) == null) {
+                continue;
+            }
+            mTimeoutScheduler.cancel(transaction.getTimeout());
+            String handlerName = transaction.isDispatchedToReact()
+                    ? TransactionLeakReport.JS_HANDLER
+                    : TransactionReaper.handlerName(mRequestRegistrar.getRequestHandler(transaction.getRequest().getName()));
+            sTransactionReaper.record(transaction, handlerName);
+            Logger.w(TAG, "Reaping request(id=%s, name=%s) pending for more than %sms, its handler(%s) never completed it", transaction.getId(), transaction.getRequest().getName(), maxAgeMs, handlerName);
+
+            ResponseStream responseStream = mResponseStreams.get(transaction.getId());
+            if (responseStream != null) {
+                responseStream.close();
+            }
+            if (transaction.isDispatchedToReact()) {
+                // Lets the JS handler stop working on a request nobody waits for anymore
+                emitToReact(new BridgeRequestCancel(transaction.getRequest()));
+            }
+            ElectrodeBridgeResponse response = ElectrodeBridgeResponse.createResponseForRequest(transaction.getRequest(), null, BridgeFailureMessage.create("ESTALETRANSACTION", "Request made no progress within " + maxAgeMs + "ms"));
+            sFlightRecorder.record(directionOf(transaction), response);
+            transaction.setResponse(response);
+            completeTransaction(transaction);
+        }
+    }
+
+    private void dispatchRequestToLocalHandler(@NonNull final BridgeTransaction transaction,
+                                               @NonNull final RequestHandlerEntry<ElectrodeBridgeRequestHandler<ElectrodeBridgeRequest, Object>> handlerEntry) {
+        Logger.d(TAG, "Sending request(id=%s) to local handler", transaction.getRequest().getId());
+
+        final ElectrodeBridgeRequest request = transaction.getRequest();
+        if (!request.isJsInitiated()) {
+            sFlightRecorder.record(BridgeInterceptor.Direction.LOCAL, request);
+        }
+        final ElectrodeBridgeResponseListener<Object> responseListener = new ElectrodeBridgeResponseListener<Object>() {
+            @Override
+            public void onFailure(@NonNull FailureMessage failureMessage) {
+                ElectrodeBridgeResponse response = ElectrodeBridgeResponse.createResponseForRequest(request, null, failureMessage);
+                handleResponse(response);
+            }
+
+            @Override
+            public void onSuccess(@Nullable Object responseData) {
+                ElectrodeBridgeResponse response = ElectrodeBridgeResponse.createResponseForRequest(request, responseData, null);
+                handleResponse(response);
+            }
+        };
+        final ElectrodeBridgeResponseListener<Object> handlerResponseListener;
+        if (request.isStreaming()) {
+            ResponseStream responseStream = new ResponseStream(request, responseListener, new ResponseStream.ChunkSink() {
+                @Override
+                public void send(@NonNull ElectrodeBridgeResponse chunk) {
+                    handleResponseChunk(chunk);
+                }
+            });
+            mResponseStreams.put(request.getId(), responseStream);
+            handlerResponseListener = responseStream;
+        } else {
+            handlerResponseListener = responseListener;
+        }
+        dispatcher().dispatchRequest(request.getName(), request.getPriority(), new Runnable() {
+            @Override
+            public void run() {
+                if (request.isExpired()) {
+                    // No need to run a handler whose response would be dropped, the timeout response wins if it already fired.
+                    Logger.i(TAG, "Skipping handler of request(id=%s, name=%s), its deadline elapsed while it was queued", request.getId(), request.getName());
+                    handleResponse(createTimeoutResponse(request));
+                    return;
+                }
+                mRequestDispatcher.dispatchRequest(request, handlerEntry, handlerResponseListener);
+            }
+        });
+
+    }
+
+    private void dispatchRequestToReact(@NonNull BridgeTransaction bridgeTransaction, @Nullable List<BridgeMessage> reactBatch) {
+        Logger.d(TAG, "Sending request(id=%s) over to JS side as there is no local request handler available", bridgeTransaction.getId());
+        if (bridgeTransaction.getRequest().isExpired()) {
+            // An interceptor may have held the request past its deadline, JS must never see an expired request.
+            handleResponse(createTimeoutResponse(bridgeTransaction.getRequest()));
+            return;
+        }
+        bridgeTransaction.markDispatchedToReact();
+        sFlightRecorder.record(BridgeInterceptor.Direction.OUTBOUND, bridgeTransaction.getRequest());
+        if (reactBatch != null) {
+            reactBatch.add(bridgeTransaction.getRequest());
+        } else {
+            emitToReact(bridgeTransaction.getRequest());
+        }
+    }
+
+    private void handleResponse(@NonNull ElectrodeBridgeResponse bridgeResponse) {
+        Logger.d(TAG, "Handling bridge response");
+        // Removing the transaction here guarantees that a transaction is completed only once when a response races with its timeout.
+        BridgeTransaction transaction = mPendingTransactions.remove(bridgeResponse.getId());
+        if (transaction != null) {
+            sFlightRecorder.record(directionOf(transaction), bridgeResponse);
+            transaction.setResponse(bridgeResponse);
+            completeTransaction(transaction);
+        } else {
+            Logger.i(TAG, "Response(id=%s, name=%s) will be ignored as the transaction for this request has already been removed from the queue. Perhaps it's already timed-out or completed", bridgeResponse.getId(), bridgeResponse.getName());
+        }
+
+    }
+
+    /**
+     * Delivers a chunk of a streaming response, the transaction stays pending until the final response.
+     */
+    private void handleResponseChunk(@NonNull final ElectrodeBridgeResponse chunk) {
+        final BridgeTransaction transaction = mPendingTransactions.get(chunk.getId());
+        if (transaction == null) {
+            Logger.i(TAG, "Chunk(id=%s, seq=%s) will be ignored as its request is not pending anymore", chunk.getId(), chunk.getSequence());
+            return;
+        }
+        transaction.touch();
+        // The request timeout applies to the time between two chunks.
+        if (mTimeoutScheduler.cancel(transaction.getTimeout())) {
+            startTimeOutCheckForTransaction(transaction);
+        }
+
+        if (transaction.isJsInitiated()) {
+            emitToReact(chunk);
+        } else if (transaction.getFinalResponseListener() instanceof StreamResponseListener) {
+            final StreamResponseListener streamListener = (StreamResponseListener) transaction.getFinalResponseListener();
+            dispatcher().dispatch(chunk.getName(), transaction.getRequest().getPriority(), new Runnable() {
+                @Override
+                public void run() {
+                    streamListener.onChunk(chunk);
+                    acknowledge(transaction, chunk.getSequence());
+                }
+            });
+        } else {
+            Logger.w(TAG, "Dropping chunk(id=%s, seq=%s), request was not sent with a stream listener", chunk.getId(), chunk.getSequence());
+        }
+    }
+
+    private void acknowledge(@NonNull BridgeTransaction transaction, int sequence) {
+        ResponseStream responseStream = mResponseStreams.get(transaction.getId());
+        if (responseStream != null) {
+            responseStream.onAck(sequence);
+        } else if (transaction.isDispatchedToReact()) {
+            emitToReact(new BridgeStreamAck(transaction.getRequest(), sequence));
+        }
+    }
+
+    private void notifyLocalEventListeners(@NonNull final ElectrodeBridgeEvent event) {
+        dispatcher().dispatch(event.getName(), event.getPriority(), new Runnable() {
+            @Override
+            public void run() {
+                mEventDispatcher.dispatchEvent(event);
+            }
+        });
+    }
+
+    private void notifyReactEventListeners(@NonNull ElectrodeBridgeEvent event) {
+        emitToReact(event);
+    }
+
+    private void completeTransaction(@NonNull final BridgeTransaction transaction) {
+        if (transaction.getResponse() == null) {
+            throw new IllegalArgumentException("Cannot complete transaction, a transaction can only be completed with a valid response.");
+        }
+        Logger.d(TAG, "completing transaction(%s)", transaction.getId());
+
+        mTimeoutScheduler.cancel(transaction.getTimeout());
+        sInFlightLimiter.release(transaction);
+        if (transaction.getRequest().isStreaming()) {
+            mResponseStreams.remove(transaction.getId());
+        }
+
+        logResponse(transaction.getResponse());
+        long latencyNanos = System.nanoTime() - transaction.getStartNanos();
+        BridgeMetrics.recordResponse(transaction.getRequest().getName(), latencyNanos, transaction.getResponse().getFailureMessage());
+
+        intercept(BridgeInterceptor.Hop.RESPONSE, directionOf(transaction), transaction.getResponse(), transaction.getRequest(), latencyNanos, new Runnable() {
+            @Override
+            public void run() {
+                deliverResponse(transaction);
+            }
+        }, new BridgeInterceptorChain.Responder() {
+            @Override
+            public void respond(@NonNull ElectrodeBridgeResponse response) {
+                transaction.setResponse(response);
+                deliverResponse(transaction);
+            }
+        });
+    }
+
+    private void deliverResponse(@NonNull BridgeTransaction transaction) {
+        final ElectrodeBridgeResponse response = transaction.getResponse();
+        if (transaction.isJsInitiated()) {
+            Logger.d(TAG, "Completing by emitting event to JS since the request was initiated from JS side.");
+            emitToReact(response);
+        } else {
+            if (transaction.getFinalResponseListener() != null) {
+                if (transaction.getResponseCacheKey() != null && response.getFailureMessage() == null) {
+                    mResponseCache.put(response.getName(), transaction.getResponseCacheKey(), response, transaction.getResponseCacheGeneration());
+                }
+                List<ElectrodeBridgeResponseListener<ElectrodeBridgeResponse>> coalescedListeners = mRequestCoalescer.complete(transaction);
+                if (coalescedListeners == null) {
+                    notifyResponseListener(transaction.getFinalResponseListener(), transaction.getRequest().getPriority(), response);
+                } else {
+                    Logger.d(TAG, "Fanning out response(id=%s) to %s coalesced request(s)", response.getId(), coalescedListeners.size());
+                    for (ElectrodeBridgeResponseListener<ElectrodeBridgeResponse> responseListener : coalescedListeners) {
+                        notifyResponseListener(responseListener, transaction.getRequest().getPriority(), response);
+                    }
+                }
+            } else {
+                throw new IllegalArgumentException("Should never reach here, a response listener should always be set for a local transaction");
+            }
+
+        }
+
+    }
+
+    /**
+     * @param priority Priority of the request, responses received from JS do not carry the priority the request was sent with
+     */
+    private void notifyResponseListener(@NonNull final ElectrodeBridgeResponseListener<ElectrodeBridgeResponse> responseListener, @NonNull BridgePriority priority, @NonNull final ElectrodeBridgeResponse response) {
+        if (response.getFailureMessage() != null) {
+            Logger.d(TAG, "Completing by issuing a failure call back to local response listener.");
+            dispatcher().dispatch(response.getName(), priority, new Runnable() {
+                @Override
+                public void run() {
+                    responseListener.onFailure(response.getFailureMessage());
+                }
+            });
+        } else {
+            Logger.d(TAG, "Completing by issuing a success call back to local response listener.");
+            dispatcher().dispatch(response.getName(), priority, new Runnable() {
+                @Override
+                public void run() {
+                    responseListener.onSuccess(response);
+                }
+            });
+        }
+    }
+
+    private void logRequest(@NonNull ElectrodeBridgeRequest request) {
+        Logger.d(TAG, "--> --> --> --> --> Request(id=%s, name=%s, isJS=%s)", request.getId(), request.getName(), request.isJsInitiated());
+    }
+
+    private void logResponse(ElectrodeBridgeResponse response) {
+        Logger.d(TAG, "<-- <-- <-- <-- <-- Response(id=%s, name=%s, data=%s, error=%s) received", response.getId(), response.getName(), response.getData(), response.getFailureMessage());
+    }
+
+    @NonNull
+    static BridgeFlightRecorder getFlightRecorder() {
+        return sFlightRecorder;
+    }
+
+    /**
+     * @return The number of pending requests, across all the scopes
+     */
+    static int getPendingTransactionCount() {
+        int count = 0;
+        for (BridgeScope scope : BridgeScope.all()) {
+            count += scope.pendingTransactions.size();
+        }
+        return count;
+    }
+
+    /**
+     * @return The number of request timeouts currently scheduled, across all the scopes
+     */
+    static int getLiveTimeoutCount() {
+        int count = 0;
+        for (BridgeScope scope : BridgeScope.all()) {
+            count += scope.timeoutScheduler.getLiveTimerCount();
+        }
+        return count;
+    }
+
+    public interface ReactNativeReadyListener {
+        void onReactNativeReady();
+    }
+
+    private static ReactNativeReadyListener sReactNativeReadyListener;
+
+    public static void registerReactNativeReadyListener(ReactNativeReadyListener listener) {
+        // If react native initialization is already completed, just call listener
+        // immediately
+        if (sIsReactNativeReady) {
+            listener.onReactNativeReady();
+        }
+        // Else it will get invoked whenever react native initialization is done
+        else {
+            sReactNativeReadyListener = listener;
+        }
+    }
+
+    public void onReactNativeInitialized() {
+        mScope.onReady();
+        if (mScope != BridgeScope.DEFAULT) {
+            return;
+        }
+        sIsReactNativeReady = true;
+        if (sReactNativeReadyListener != null) {
+            sReactNativeReadyListener.onReactNativeReady();
+        }
+    }
+
+    /**
+     * Method for testing only
+     */
+    @VisibleForTesting
+    void debug_ClearRequestHandlerRegistrar() {
+        mRequestRegistrar.reset();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Policy applied to the events emitted from native for a given event name.
+ * <p>
+ * Use it for events that are emitted at a high rate and for which only the latest value matters.
+ * Superseded events are dropped before being serialized and sent to any listener.
+ */
+public final class EventPolicy {
+
+    public enum Kind {
+        /**
+         * Events are delivered asynchronously, an event that was not delivered yet is replaced by a newer one.
+         */
+        CONFLATE,
+        /**
+         * At most one event is delivered per interval, the latest event emitted during an interval is delivered at its end.
+         */
+        THROTTLE,
+        /**
+         * An event is delivered only once no newer event was emitted for the given quiet period.
+         */
+        DEBOUNCE
+    }
+
+    private final Kind kind;
+    private final long intervalMs;
+
+    private EventPolicy(@NonNull Kind kind, long intervalMs) {
+        if (intervalMs < 0) {
+            throw new IllegalArgumentException("intervalMs cannot be negative");
+        }
+        this.kind = kind;
+        this.intervalMs = intervalMs;
+    }
+
+    /**
+     * Latest value wins conflation.
+     *
+     * @return {@link EventPolicy}
+     */
+    @NonNull
+    public static EventPolicy conflate() {
+        return new EventPolicy(Kind.CONFLATE, 0);
+    }
+
+    /**
+     * Fixed rate throttling.
+     *
+     * @param intervalMs Minimum duration between two deliveries
+     * @return {@link EventPolicy}
+     */
+    @NonNull
+    public static EventPolicy throttle(long intervalMs) {
+        return new EventPolicy(Kind.THROTTLE, intervalMs);
+    }
+
+    /**
+     * Debouncing.
+     *
+     * @param quietPeriodMs Duration without any new event after which the latest event is delivered
+     * @return {@link EventPolicy}
+     */
+    @NonNull
+    public static EventPolicy debounce(long quietPeriodMs) {
+        return new EventPolicy(Kind.DEBOUNCE, quietPeriodMs);
+    }
+
+    @NonNull
+    public Kind getKind() {
+        return kind;
+    }
+
+    public long getIntervalMs() {
+        return intervalMs;
+    }
+
+    @Override
+    public String toString() {
+        return "EventPolicy{kind=" + kind + ", intervalMs=" + intervalMs + '}';
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the {@link EventPolicy} registered for an event name before an event gets delivered.
+ */
+final class EventPolicyRegistry {
+    private static final String TAG = EventPolicyRegistry.class.getSimpleName();
+
+    interface Sink {
+        void deliver(@NonNull ElectrodeBridgeEvent event);
+    }
+
+    private final Sink mSink;
+    private final ConcurrentHashMap<String, Slot> mSlots = new ConcurrentHashMap<>();
+    private ScheduledExecutorService mExecutor;
+
+    EventPolicyRegistry(@NonNull Sink sink) {
+        mSink = sink;
+    }
+
+    /**
+     * Sets the policy of an event name
+     *
+     * @param name   Event name
+     * @param policy {@link EventPolicy} or null to deliver every event as soon as it is emitted
+     */
+    void setPolicy(@NonNull String name, @Nullable EventPolicy policy) {
+        Slot previous = policy != null ? mSlots.put(name, new Slot(policy)) : mSlots.remove(name);
+        if (previous != null) {
+            // Do not lose the latest value held by the previous policy
+            previous.flushNow();
+        }
+    }
+
+    @Nullable
+    EventPolicy getPolicy(@NonNull String name) {
+        Slot slot = mSlots.get(name);
+        return slot != null ? slot.mPolicy : null;
+    }
+
+    /**
+     * Offers an event to the policy registered for its name.
+     *
+     * @param event {@link ElectrodeBridgeEvent}
+     * @return false if no policy is registered for the event, in which case the caller should deliver it right away.
+     */
+    boolean offer(@NonNull ElectrodeBridgeEvent event) {
+        Slot slot = mSlots.get(event.getName());
+        if (slot == null) {
+            return false;
+        }
+        slot.offer(event);
+        return true;
+    }
+
+    private synchronized ScheduledExecutorService executor() {
+        if (mExecutor == null) {
+            mExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(@NonNull Runnable runnable) {
+                    Thread thread = new Thread(runnable, "ElectrodeBridgeEventPolicy");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return mExecutor;
+    }
+
+    private final class Slot implements Runnable {
+        private final EventPolicy mPolicy;
+        private final long mIntervalNanos;
+
+        // Guarded by this
+        private ElectrodeBridgeEvent mPending;
+        private boolean mScheduled;
+        private long mLastDeliveryNanos;
+        private long mDeadlineNanos;
+
+        Slot(@NonNull EventPolicy policy) {
+            mPolicy = policy;
+            mIntervalNanos = TimeUnit.MILLISECONDS.toNanos(policy.getIntervalMs());
+            mLastDeliveryNanos = System.nanoTime() - mIntervalNanos;
+        }
+
+        void offer(@NonNull ElectrodeBridgeEvent event) {
+            long now = System.nanoTime();
+            long delayNanos;
+            synchronized (this) {
+                if (mPending != null) {
+                    Logger.v(TAG, "Dropping superseded event(name=%s, id=%s)", mPending.getName(), mPending.getId());
+                }
+                switch (mPolicy.getKind()) {
+                    case THROTTLE:
+                        if (!mScheduled && now - mLastDeliveryNanos >= mIntervalNanos) {
+                            mLastDeliveryNanos = now;
+                            delayNanos = -1;
+                        } else {
+                            mPending = event;
+                            delayNanos = Math.max(0, mLastDeliveryNanos + mIntervalNanos - now);
+                        }
+                        break;
+                    case DEBOUNCE:
+                        mPending = event;
+                        mDeadlineNanos = now + mIntervalNanos;
+                        delayNanos = mIntervalNanos;
+                        break;
+                    default:
+                        mPending = event;
+                        delayNanos = 0;
+                        break;
+                }
+                if (delayNanos >= 0) {
+                    if (mScheduled) {
+                        return;
+                    }
+                    mScheduled = true;
+                }
+            }
+
+            if (delayNanos < 0) {
+                mSink.deliver(event);
+            } else {
+                executor().schedule(this, delayNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        @Override
+        public void run() {
+            ElectrodeBridgeEvent event;
+            long now = System.nanoTime();
+            synchronized (this) {
+                if (mPolicy.getKind() == EventPolicy.Kind.DEBOUNCE && now < mDeadlineNanos) {
+                    // A newer event pushed the deadline back
+                    executor().schedule(this, mDeadlineNanos - now, TimeUnit.NANOSECONDS);
+                    return;
+                }
+                event = mPending;
+                mPending = null;
+                mScheduled = false;
+                mLastDeliveryNanos = now;
+            }
+            if (event != null) {
+                mSink.deliver(event);
+            }
+        }
+
+        void flushNow() {
+            ElectrodeBridgeEvent event;
+            synchronized (this) {
+                event = mPending;
+                mPending = null;
+            }
+            if (event != null) {
+                mSink.deliver(event);
+            }
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.VisibleForTesting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Event listener registry optimized for dispatch.
+ * <p>
+ * The listeners of an event name are kept in an immutable snapshot that is replaced on every registration change,
+ * so {@link #getEventListeners(String)} returns it without locking nor copying, while registrations may happen on any thread.
+ * Registrations are indexed by {@link UUID}, unregistering a listener only rebuilds the snapshot of its event name.
+ * Wildcard listeners are matched against an immutable copy of the pattern trie, and the merged listeners of an event name are
+ * cached until the next registration change, so dispatching to a name matched by patterns does not lock nor allocate either.
+ */
+public class EventRegistrarImpl<T> implements EventRegistrar<T> {
+
+    private static final class Registration<T> {
+        private final String name;
+        private final T eventListener;
+        private final boolean isPattern;
+
+        private Registration(@NonNull String name, @NonNull T eventListener, boolean isPattern) {
+            this.name = name;
+            this.eventListener = eventListener;
+            this.isPattern = isPattern;
+        }
+    }
+
+    private final Object mLock = new Object();
+    private final ConcurrentHashMap<UUID, Registration<T>> mRegistrationByUUID = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<T, UUID> mUUIDByEventListener = new ConcurrentHashMap<>();
+    // Immutable snapshots, replaced while holding mLock
+    private final ConcurrentHashMap<String, List<T>> mEventListenersByEventName = new ConcurrentHashMap<>();
+    // Listeners registered with a wildcard pattern, guarded by mLock
+    private final EventTopicTrie<T> mPatternListeners = new EventTopicTrie<>();
+    // Immutable copy of mPatternListeners, null if there is no pattern listener. Replaced while holding mLock
+    private volatile EventTopicTrie<T> mPatternSnapshot;
+    // Plain and pattern listeners of the event names dispatched since the last registration change, replaced while holding mLock
+    private volatile ConcurrentHashMap<String, List<T>> mMergedListenersByEventName = new ConcurrentHashMap<>();
+
+    /**
+     * Registers an event listener
+     * <p>
+     * The name can be a pattern made of dot separated segments, where {@code *} matches one segment and a trailing {@code **}
+     * matches one or more segments. Such a listener is notified of every event whose name matches the pattern.
+     *
+     * @param name              event name or pattern for the event listener
+     * @param eventListener     event listener to register
+     * @param eventListenerUuid event {@link UUID} for uniqueness
+     * @return Returns true if the {@code eventListener} is registered
+     */
+    @NonNull
+    public boolean registerEventListener(@NonNull String name, @NonNull T eventListener, @NonNull UUID eventListenerUuid) {
+        boolean isPattern = EventTopicTrie.isPattern(name);
+        synchronized (mLock) {
+            Registration<T> previous = mRegistrationByUUID.get(eventListenerUuid);
+            if (previous != null) {
+                remove(eventListenerUuid, previous);
+            }
+            if (isPattern) {
+                mPatternListeners.add(name, eventListener);
+                publishPatternListeners();
+            } else {
+                List<T> eventListeners = mEventListenersByEventName.get(name);
+                int size = eventListeners != null ? eventListeners.size() : 0;
+                Object[] snapshot = new Object[size + 1];
+                for (int i = 0; i < size; i++) {
+                    snapshot[i] = eventListeners.get(i);
+                }
+                snapshot[size] = eventListener;
+                mEventListenersByEventName.put(name, snapshotOf(snapshot));
+                invalidateMergedListeners();
+            }
+            mRegistrationByUUID.put(eventListenerUuid, new Registration<>(name, eventListener, isPattern));
+            if (!mUUIDByEventListener.containsKey(eventListener)) {
+                mUUIDByEventListener.put(eventListener, eventListenerUuid);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Unregisters an event listener
+     *
+     * @param eventListenerUuid {@link UUID} that was obtained with registerEventListener method
+     * @return eventListener unregistered
+     */
+    public T unregisterEventListener(@NonNull UUID eventListenerUuid) {
+        synchronized (mLock) {
+            Registration<T> registration = mRegistrationByUUID.get(eventListenerUuid);
+            if (registration == null) {
+                return null;
+            }
+            remove(eventListenerUuid, registration);
+            return registration.eventListener;
+        }
+    }
+
+    // Must be called while holding mLock
+    private void remove(@NonNull UUID eventListenerUuid, @NonNull Registration<T> registration) {
+        mRegistrationByUUID.remove(eventListenerUuid);
+        mUUIDByEventListener.remove(registration.eventListener, eventListenerUuid);
+        if (registration.isPattern) {
+            mPatternListeners.remove(registration.name, registration.eventListener);
+            publishPatternListeners();
+            return;
+        }
+
+        List<T> eventListeners = mEventListenersByEventName.get(registration.name);
+        int index = eventListeners != null ? eventListeners.indexOf(registration.eventListener) : -1;
+        if (index == -1) {
+            return;
+        }
+        if (eventListeners.size() == 1) {
+            mEventListenersByEventName.remove(registration.name);
+        } else {
+            Object[] snapshot = new Object[eventListeners.size() - 1];
+            for (int i = 0, j = 0; i < eventListeners.size(); i++) {
+                if (i != index) {
+                    snapshot[j++] = eventListeners.get(i);
+                }
+            }
+            mEventListenersByEventName.put(registration.name, snapshotOf(snapshot));
+        }
+        invalidateMergedListeners();
+    }
+
+    // Must be called while holding mLock
+    private void publishPatternListeners() {
+        mPatternSnapshot = mPatternListeners.size() > 0 ? mPatternListeners.copy() : null;
+        invalidateMergedListeners();
+    }
+
+    // Must be called while holding mLock, after the snapshots are updated. A lookup that raced with the change fills the
+    // discarded map, so a merged list built from the previous snapshots is never served afterwards.
+    private void invalidateMergedListeners() {
+        if (mPatternSnapshot != null || !mMergedListenersByEventName.isEmpty()) {
+            mMergedListenersByEventName = new ConcurrentHashMap<>();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @NonNull
+    private List<T> snapshotOf(@NonNull Object[] eventListeners) {
+        return Collections.unmodifiableList((List<T>) Arrays.asList(eventListeners));
+    }
+
+    /**
+     * Gets the list of all event listeners registered for a given event name, including the ones registered with a matching pattern
+     *
+     * @param name The name of the event
+     * @return A list of event listeners registered for the given event name or an empty list if no
+     * <p>
+     * event listeners are currently registered for this event name
+     */
+    @NonNull
+    @Override
+    public List<T> getEventListeners(@NonNull String name) {
+        ConcurrentHashMap<String, List<T>> mergedListenersByEventName = mMergedListenersByEventName;
+        EventTopicTrie<T> patternListeners = mPatternSnapshot;
+        List<T> eventListeners = mEventListenersByEventName.get(name);
+        if (patternListeners == null) {
+            return eventListeners != null ? eventListeners : Collections.<T>emptyList();
+        }
+
+        List<T> mergedListeners = mergedListenersByEventName.get(name);
+        if (mergedListeners == null) {
+            List<T> matchingListeners = eventListeners != null ? new ArrayList<>(eventListeners) : new ArrayList<T>();
+            patternListeners.match(name, matchingListeners);
+            mergedListeners = matchingListeners.isEmpty() ? Collections.<T>emptyList() : Collections.unmodifiableList(matchingListeners);
+            mergedListenersByEventName.put(name, mergedListeners);
+        }
+        return mergedListeners;
+    }
+
+    @NonNull
+    @Override
+    public UUID getEventListenerId(@NonNull T eventListener) {
+        return mUUIDByEventListener.get(eventListener);
+    }
+
+    /**
+     * FOR TESTING ONLY
+     */
+    @VisibleForTesting
+    void reset() {
+        synchronized (mLock) {
+            mRegistrationByUUID.clear();
+            mUUIDByEventListener.clear();
+            mEventListenersByEventName.clear();
+            mPatternListeners.clear();
+            mPatternSnapshot = null;
+            mMergedListenersByEventName = new ConcurrentHashMap<>();
+        }
+    }
+}
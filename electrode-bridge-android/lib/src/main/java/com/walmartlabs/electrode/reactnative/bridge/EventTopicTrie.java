@@ -0,0 +1,203 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trie of event name patterns, event names being made of segments separated by dots.
+ * <p>
+ * In a pattern, {@link #ANY_SEGMENT} matches exactly one segment and {@link #ANY_SEGMENTS}, only allowed as the last segment,
+ * matches one or more segments: {@code com.ernmovie.ern.api.event.**} matches all the events of that namespace.
+ * Matching an event name walks the trie one segment at a time, its cost depends on the depth of the name and not on the
+ * number of patterns. Not thread safe, a trie that is no longer modified can be matched from several threads.
+ */
+final class EventTopicTrie<T> {
+
+    static final String ANY_SEGMENT = "*";
+    static final String ANY_SEGMENTS = "**";
+
+    private static final class Node<T> {
+        private final Map<String, Node<T>> children = new HashMap<>();
+        private final List<T> listeners = new ArrayList<>();
+        private final List<T> tailListeners = new ArrayList<>();
+
+        private boolean isEmpty() {
+            return children.isEmpty() && listeners.isEmpty() && tailListeners.isEmpty();
+        }
+
+        @NonNull
+        private Node<T> copy() {
+            Node<T> copy = new Node<>();
+            for (Map.Entry<String, Node<T>> child : children.entrySet()) {
+                copy.children.put(child.getKey(), child.getValue().copy());
+            }
+            copy.listeners.addAll(listeners);
+            copy.tailListeners.addAll(tailListeners);
+            return copy;
+        }
+    }
+
+    private final Node<T> mRoot;
+    private int mSize;
+
+    EventTopicTrie() {
+        this(new Node<T>(), 0);
+    }
+
+    private EventTopicTrie(@NonNull Node<T> root, int size) {
+        mRoot = root;
+        mSize = size;
+    }
+
+    /**
+     * @param name Event name or pattern
+     * @return true if the name contains wildcard segments
+     */
+    static boolean isPattern(@NonNull String name) {
+        for (String segment : split(name)) {
+            if (ANY_SEGMENT.equals(segment) || ANY_SEGMENTS.equals(segment)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param pattern Event name pattern
+     * @param name    Event name
+     * @return true if the event name matches the pattern, the way {@link #match(String, List)} would
+     */
+    static boolean matches(@NonNull String pattern, @NonNull String name) {
+        String[] patternSegments = split(pattern);
+        String[] nameSegments = split(name);
+        for (int i = 0; i < patternSegments.length; i++) {
+            if (ANY_SEGMENTS.equals(patternSegments[i])) {
+                return nameSegments.length > i;
+            }
+            if (i >= nameSegments.length || !(ANY_SEGMENT.equals(patternSegments[i]) || patternSegments[i].equals(nameSegments[i]))) {
+                return false;
+            }
+        }
+        return patternSegments.length == nameSegments.length;
+    }
+
+    void add(@NonNull String pattern, @NonNull T listener) {
+        String[] segments = split(pattern);
+        Node<T> node = mRoot;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (ANY_SEGMENTS.equals(segment)) {
+                if (i != segments.length - 1) {
+                    throw new IllegalArgumentException("Pattern(" + pattern + ") can only end with " + ANY_SEGMENTS);
+                }
+                node.tailListeners.add(listener);
+                mSize++;
+                return;
+            }
+            Node<T> child = node.children.get(segment);
+            if (child == null) {
+                child = new Node<>();
+                node.children.put(segment, child);
+            }
+            node = child;
+        }
+        node.listeners.add(listener);
+        mSize++;
+    }
+
+    boolean remove(@NonNull String pattern, @NonNull T listener) {
+        boolean isRemoved = remove(mRoot, split(pattern), 0, listener);
+        if (isRemoved) {
+            mSize--;
+        }
+        return isRemoved;
+    }
+
+    private boolean remove(@NonNull Node<T> node, @NonNull String[] segments, int index, @NonNull T listener) {
+        if (index == segments.length) {
+            return node.listeners.remove(listener);
+        }
+        if (ANY_SEGMENTS.equals(segments[index])) {
+            return node.tailListeners.remove(listener);
+        }
+        Node<T> child = node.children.get(segments[index]);
+        if (child == null || !remove(child, segments, index + 1, listener)) {
+            return false;
+        }
+        if (child.isEmpty()) {
+            node.children.remove(segments[index]);
+        }
+        return true;
+    }
+
+    /**
+     * Adds the listeners of all the patterns matching the given event name to {@code matches}
+     */
+    void match(@NonNull String name, @NonNull List<T> matches) {
+        match(mRoot, split(name), 0, matches);
+    }
+
+    private void match(@NonNull Node<T> node, @NonNull String[] segments, int index, @NonNull List<T> matches) {
+        if (index == segments.length) {
+            matches.addAll(node.listeners);
+            return;
+        }
+        matches.addAll(node.tailListeners);
+        Node<T> child = node.children.get(segments[index]);
+        if (child != null) {
+            match(child, segments, index + 1, matches);
+        }
+        Node<T> anyChild = node.children.get(ANY_SEGMENT);
+        if (anyChild != null) {
+            match(anyChild, segments, index + 1, matches);
+        }
+    }
+
+    /**
+     * @return A deep copy of the trie, that later changes of this trie do not affect
+     */
+    @NonNull
+    EventTopicTrie<T> copy() {
+        return new EventTopicTrie<>(mRoot.copy(), mSize);
+    }
+
+    /**
+     * @return The number of registered listeners
+     */
+    int size() {
+        return mSize;
+    }
+
+    void clear() {
+        mRoot.children.clear();
+        mRoot.listeners.clear();
+        mRoot.tailListeners.clear();
+        mSize = 0;
+    }
+
+    @NonNull
+    private static String[] split(@NonNull String name) {
+        return name.split("\\.", -1);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Process;
+import android.support.annotation.NonNull;
+
+/**
+ * {@link BridgeDispatchMode#BRIDGE_THREAD} dispatcher, runs every task on a single {@link HandlerThread}.
+ */
+class HandlerThreadDispatcher implements BridgeDispatcher {
+
+    private final HandlerThread mHandlerThread;
+    private final PriorityTaskQueue mQueue;
+
+    HandlerThreadDispatcher() {
+        mHandlerThread = new HandlerThread("ElectrodeBridgeDispatch", Process.THREAD_PRIORITY_BACKGROUND);
+        mHandlerThread.start();
+        final Handler handler = new Handler(mHandlerThread.getLooper());
+        mQueue = new PriorityTaskQueue(new PriorityTaskQueue.Poster() {
+            @Override
+            public boolean post(@NonNull Runnable drain) {
+                return handler.post(drain);
+            }
+        });
+    }
+
+    @Override
+    public void dispatch(@NonNull String lane, @NonNull BridgePriority priority, @NonNull Runnable task) {
+        mQueue.enqueue(lane, priority, task);
+    }
+
+    @Override
+    public void dispatchRequest(@NonNull String lane, @NonNull BridgePriority priority, @NonNull Runnable task) {
+        dispatch(lane, priority, task);
+    }
+
+    @Override
+    public void shutdown() {
+        mQueue.shutdown();
+        mHandlerThread.quitSafely();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Bound on the number of requests in flight, either for a given request name or for all of them.
+ * <p>
+ * A request sent while the bound is reached waits in a queue until an in-flight request completes. Once the queue is full,
+ * requests are failed right away with {@code EBUSY}.
+ */
+public final class InFlightLimit {
+
+    private final int maxInFlight;
+    private final int maxQueued;
+
+    private InFlightLimit(int maxInFlight, int maxQueued) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be greater than 0");
+        }
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException("maxQueued cannot be negative");
+        }
+        this.maxInFlight = maxInFlight;
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * @param maxInFlight Maximum number of requests waiting for their response
+     * @param maxQueued   Maximum number of requests waiting for an in-flight request to complete, 0 to fail them right away
+     * @return {@link InFlightLimit}
+     */
+    @NonNull
+    public static InFlightLimit of(int maxInFlight, int maxQueued) {
+        return new InFlightLimit(maxInFlight, maxQueued);
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    @Override
+    public String toString() {
+        return "InFlightLimit{maxInFlight=" + maxInFlight + ", maxQueued=" + maxQueued + '}';
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Enforces the {@link InFlightLimit}s of the requests, per request name and for all of them.
+ * <p>
+ * A request takes a slot before its {@link BridgeTransaction} is created and gives it back once the transaction is completed
+ * or cancelled. Requests that find no free slot wait in a single FIFO queue, a freed slot is given to the oldest queued request
+ * whose limits allow it to proceed.
+ */
+final class InFlightLimiter {
+    private static final String TAG = InFlightLimiter.class.getSimpleName();
+
+    /**
+     * Outcome of {@link #acquire(ElectrodeBridgeRequest, Runnable)}
+     */
+    enum Admission {
+        /**
+         * A slot was taken, the request can proceed
+         */
+        ADMITTED,
+        /**
+         * The request was queued, its task is run once a slot is taken for it
+         */
+        QUEUED,
+        /**
+         * The queue is full, the request must be failed
+         */
+        REJECTED
+    }
+
+    /**
+     * Counters of a request name, or of all of them
+     */
+    private static final class Lane {
+        private InFlightLimit limit;
+        private int inFlight;
+        private int queued;
+        private int peakQueued;
+        private long totalQueued;
+        private long rejected;
+
+        private boolean hasFreeSlot() {
+            return limit == null || inFlight < limit.getMaxInFlight();
+        }
+
+        private boolean hasRoomInQueue() {
+            return limit == null || queued < limit.getMaxQueued();
+        }
+
+        private void enqueue() {
+            queued++;
+            totalQueued++;
+            peakQueued = Math.max(peakQueued, queued);
+        }
+
+        @NonNull
+        private InFlightStats stats() {
+            return new InFlightStats(inFlight, queued, peakQueued, totalQueued, rejected);
+        }
+    }
+
+    private static final class Waiter {
+        private final String name;
+        private final String requestId;
+        private final Runnable task;
+
+        private Waiter(@NonNull ElectrodeBridgeRequest request, @NonNull Runnable task) {
+            this.name = request.getName();
+            this.requestId = request.getId();
+            this.task = task;
+        }
+    }
+
+    private final Object mLock = new Object();
+    // Guarded by mLock
+    private final Lane mGlobalLane = new Lane();
+    private final Map<String, Lane> mLanes = new HashMap<>();
+    private final ArrayDeque<Waiter> mWaiters = new ArrayDeque<>();
+    private int mLimitCount;
+
+    private volatile boolean mEnabled;
+
+    /**
+     * @param name  Request name, null for the limit that applies to all the requests
+     * @param limit {@link InFlightLimit}, null to remove the limit
+     */
+    void setLimit(@Nullable String name, @Nullable InFlightLimit limit) {
+        List<Waiter> admitted;
+        synchronized (mLock) {
+            Lane lane = name != null ? lane(name) : mGlobalLane;
+            if ((lane.limit == null) != (limit == null)) {
+                mLimitCount += limit != null ? 1 : -1;
+            }
+            lane.limit = limit;
+            mEnabled = mLimitCount > 0;
+            // A raised or removed limit can let queued requests proceed
+            admitted = admitWaiters();
+        }
+        run(admitted);
+    }
+
+    /**
+     * @return true if at least one limit is set, requests do not need to take a slot otherwise
+     */
+    boolean isEnabled() {
+        return mEnabled;
+    }
+
+    /**
+     * Takes a slot for a request, or queues it if none is free
+     *
+     * @param request    The request about to create its transaction
+     * @param onAdmitted Run once a slot is taken for the request if it is {@link Admission#QUEUED}, from the thread that freed the slot.
+     *                   It must hand the request off instead of starting it inline. Queued requests that time out are removed
+     *                   with {@link #cancel(String)}
+     * @return {@link Admission}
+     */
+    @NonNull
+    Admission acquire(@NonNull ElectrodeBridgeRequest request, @NonNull Runnable onAdmitted) {
+        synchronized (mLock) {
+            Lane lane = lane(request.getName());
+            // Queued requests are admitted as soon as their limits allow it, a free slot here means none of them can use it.
+            if (lane.hasFreeSlot() && mGlobalLane.hasFreeSlot()) {
+                lane.inFlight++;
+                mGlobalLane.inFlight++;
+                return Admission.ADMITTED;
+            }
+            if (lane.hasRoomInQueue() && mGlobalLane.hasRoomInQueue()) {
+                mWaiters.add(new Waiter(request, onAdmitted));
+                lane.enqueue();
+                mGlobalLane.enqueue();
+                return Admission.QUEUED;
+            }
+            lane.rejected++;
+            mGlobalLane.rejected++;
+            return Admission.REJECTED;
+        }
+    }
+
+    /**
+     * Gives back the slot of a completed or cancelled transaction, if it took one
+     */
+    void release(@NonNull BridgeTransaction transaction) {
+        List<Waiter> admitted;
+        synchronized (mLock) {
+            if (!transaction.holdsInFlightSlot()) {
+                return;
+            }
+            transaction.setHoldsInFlightSlot(false);
+            lane(transaction.getRequest().getName()).inFlight--;
+            mGlobalLane.inFlight--;
+            admitted = admitWaiters();
+        }
+        run(admitted);
+    }
+
+    /**
+     * Removes a request from the queue
+     *
+     * @param requestId Id of the cancelled request
+     * @return true if the request was queued
+     */
+    boolean cancel(@NonNull String requestId) {
+        List<Waiter> admitted;
+        synchronized (mLock) {
+            Waiter cancelled = null;
+            for (Iterator<Waiter> iterator = mWaiters.iterator(); iterator.hasNext(); ) {
+                Waiter waiter = iterator.next();
+                if (waiter.requestId.equals(requestId)) {
+                    iterator.remove();
+                    cancelled = waiter;
+                    break;
+                }
+            }
+            if (cancelled == null) {
+                return false;
+            }
+            lane(cancelled.name).queued--;
+            mGlobalLane.queued--;
+            // Requests of other names may have been waiting behind the cancelled one
+            admitted = admitWaiters();
+        }
+        run(admitted);
+        return true;
+    }
+
+    @NonNull
+    InFlightStats getStats() {
+        synchronized (mLock) {
+            return mGlobalLane.stats();
+        }
+    }
+
+    @Nullable
+    InFlightStats getStats(@NonNull String name) {
+        synchronized (mLock) {
+            Lane lane = mLanes.get(name);
+            return lane != null ? lane.stats() : null;
+        }
+    }
+
+    @NonNull
+    private Lane lane(@NonNull String name) {
+        Lane lane = mLanes.get(name);
+        if (lane == null) {
+            lane = new Lane();
+            mLanes.put(name, lane);
+        }
+        return lane;
+    }
+
+    /**
+     * Takes a slot for every queued request that can proceed, in queue order. Must be called with mLock held.
+     */
+    @Nullable
+    private List<Waiter> admitWaiters() {
+        List<Waiter> admitted = null;
+        for (Iterator<Waiter> iterator = mWaiters.iterator(); iterator.hasNext() && mGlobalLane.hasFreeSlot(); ) {
+            Waiter waiter = iterator.next();
+            Lane lane = lane(waiter.name);
+            if (lane.hasFreeSlot()) {
+                iterator.remove();
+                lane.queued--;
+                lane.inFlight++;
+                mGlobalLane.queued--;
+                mGlobalLane.inFlight++;
+                if (admitted == null) {
+                    admitted = new ArrayList<>();
+                }
+                admitted.add(waiter);
+            }
+        }
+        return admitted;
+    }
+
+    private static void run(@Nullable List<Waiter> admitted) {
+        if (admitted == null) {
+            return;
+        }
+        for (Waiter waiter : admitted) {
+            Logger.d(TAG, "Request(id=%s, name=%s) leaves the in-flight queue", waiter.requestId, waiter.name);
+            waiter.task.run();
+        }
+    }
+}
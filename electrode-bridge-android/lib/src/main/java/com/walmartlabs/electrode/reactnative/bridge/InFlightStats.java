@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+/**
+ * Point in time statistics about the in-flight requests, either for a single request name or for all of them.
+ * <p>
+ * Only the requests sent while an {@link InFlightLimit} is set are accounted for.
+ */
+public final class InFlightStats {
+
+    private final int inFlightCount;
+    private final int queuedCount;
+    private final int peakQueuedCount;
+    private final long totalQueuedCount;
+    private final long rejectedCount;
+
+    InFlightStats(int inFlightCount, int queuedCount, int peakQueuedCount, long totalQueuedCount, long rejectedCount) {
+        this.inFlightCount = inFlightCount;
+        this.queuedCount = queuedCount;
+        this.peakQueuedCount = peakQueuedCount;
+        this.totalQueuedCount = totalQueuedCount;
+        this.rejectedCount = rejectedCount;
+    }
+
+    /**
+     * @return Number of requests waiting for their response
+     */
+    public int getInFlightCount() {
+        return inFlightCount;
+    }
+
+    /**
+     * @return Number of requests currently waiting in the queue
+     */
+    public int getQueuedCount() {
+        return queuedCount;
+    }
+
+    /**
+     * @return Highest number of requests that waited in the queue at the same time
+     */
+    public int getPeakQueuedCount() {
+        return peakQueuedCount;
+    }
+
+    /**
+     * @return Number of requests that had to wait in the queue before being sent
+     */
+    public long getTotalQueuedCount() {
+        return totalQueuedCount;
+    }
+
+    /**
+     * @return Number of requests failed with {@code EBUSY} because the queue was full
+     */
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    @Override
+    public String toString() {
+        return "InFlightStats{inFlight=" + inFlightCount + ", queued=" + queuedCount + ", peakQueued=" + peakQueuedCount
+                + ", totalQueued=" + totalQueuedCount + ", rejected=" + rejectedCount + '}';
+    }
+}
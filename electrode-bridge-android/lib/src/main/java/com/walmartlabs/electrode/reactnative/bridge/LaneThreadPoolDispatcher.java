@@ -0,0 +1,198 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link BridgeDispatchMode#THREAD_POOL} dispatcher.
+ * <p>
+ * Tasks are queued in a lane per event/request name. A lane is run by at most one pool thread at a time,
+ * which keeps the ordering for a given name while unrelated names are processed in parallel.
+ * Within a lane, tasks run in the order they were dispatched. Lanes waiting for a thread are ordered by the priority of
+ * their first pending task, a lane waiting for a lower priority is aged so that it gets a thread after a bounded number of turns.
+ */
+class LaneThreadPoolDispatcher implements BridgeDispatcher {
+    private static final String TAG = LaneThreadPoolDispatcher.class.getSimpleName();
+
+    // Max number of tasks a lane runs before giving its thread back to the pool, avoids starving other lanes.
+    private static final int MAX_TASKS_PER_TURN = 16;
+
+    private final ThreadPoolExecutor mExecutor;
+    private final ConcurrentHashMap<String, Lane> mLanes = new ConcurrentHashMap<>();
+    private final AtomicLong mTurnSequence = new AtomicLong();
+
+    /**
+     * @param poolSize Maximum number of threads of the pool
+     */
+    LaneThreadPoolDispatcher(int poolSize) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("poolSize must be greater than 0");
+        }
+        mExecutor = new ThreadPoolExecutor(poolSize, poolSize, 30, TimeUnit.SECONDS, new PriorityBlockingQueue<Runnable>(), new ThreadFactory() {
+            private final AtomicInteger mCount = new AtomicInteger();
+
+            @Override
+            public Thread newThread(@NonNull Runnable runnable) {
+                Thread thread = new Thread(runnable, "ElectrodeBridgeDispatch-" + mCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        mExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void dispatch(@NonNull String lane, @NonNull BridgePriority priority, @NonNull Runnable task) {
+        if (mExecutor.isShutdown()) {
+            Logger.w(TAG, "Unable to dispatch task for(%s), dispatcher has been shut down", lane);
+            return;
+        }
+        Lane existing = mLanes.get(lane);
+        if (existing == null) {
+            Lane newLane = new Lane(lane);
+            existing = mLanes.putIfAbsent(lane, newLane);
+            if (existing == null) {
+                existing = newLane;
+            }
+        }
+        existing.enqueue(priority, task);
+    }
+
+    @Override
+    public void dispatchRequest(@NonNull String lane, @NonNull BridgePriority priority, @NonNull Runnable task) {
+        dispatch(lane, priority, task);
+    }
+
+    @Override
+    public void shutdown() {
+        mExecutor.shutdown();
+    }
+
+    private final class Lane implements Runnable {
+        private final String mName;
+        private final PriorityLanes<Runnable> mTasks = new PriorityLanes<>();
+        // Guarded by mTasks, true while the lane is queued in or run by the executor
+        private boolean mScheduled;
+
+        private Lane(@NonNull String name) {
+            mName = name;
+        }
+
+        void enqueue(@NonNull BridgePriority priority, @NonNull Runnable task) {
+            synchronized (mTasks) {
+                mTasks.add(mName, priority, task);
+                if (mScheduled) {
+                    return;
+                }
+                mScheduled = true;
+            }
+            submit(false);
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < MAX_TASKS_PER_TURN; i++) {
+                if (!runNext()) {
+                    return;
+                }
+            }
+            // Still has pending tasks, go back to the end of the pool queue to let other lanes run.
+            submit(true);
+        }
+
+        /**
+         * @return false if the lane was empty
+         */
+        private boolean runNext() {
+            Runnable task;
+            synchronized (mTasks) {
+                task = mTasks.poll();
+                if (task == null) {
+                    mScheduled = false;
+                    return false;
+                }
+            }
+            try {
+                task.run();
+            } catch (Exception e) {
+                Logger.e(TAG, "Task dispatched for(%s) failed due to(%s)", mName, e.getMessage());
+            }
+            return true;
+        }
+
+        private void submit(boolean isContinuation) {
+            BridgePriority priority;
+            synchronized (mTasks) {
+                priority = mTasks.highestPriority();
+            }
+            try {
+                mExecutor.execute(new Turn(this, priority != null ? priority : BridgePriority.NORMAL, mTurnSequence.getAndIncrement()));
+            } catch (RejectedExecutionException e) {
+                if (isContinuation) {
+                    // The tasks left in the lane were queued before the shutdown, finish them on this pool thread.
+                    Logger.d(TAG, "Dispatcher has been shut down, running the remaining tasks for(%s) inline", mName);
+                    while (runNext()) {
+                        // Keep going until the lane is empty
+                    }
+                    return;
+                }
+                Logger.w(TAG, "Unable to dispatch tasks for(%s), dispatcher has been shut down", mName);
+                synchronized (mTasks) {
+                    mTasks.clear();
+                    mScheduled = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * A lane waiting for a pool thread. Turns are served by submission order, a lower priority
+     * adds {@link PriorityLanes#STARVATION_LIMIT} turns of delay per level.
+     */
+    private static final class Turn implements Runnable, Comparable<Turn> {
+        private final Lane mLane;
+        private final long mRank;
+
+        private Turn(@NonNull Lane lane, @NonNull BridgePriority priority, long sequence) {
+            mLane = lane;
+            mRank = sequence + (long) priority.ordinal() * PriorityLanes.STARVATION_LIMIT;
+        }
+
+        @Override
+        public void run() {
+            mLane.run();
+        }
+
+        @Override
+        public int compareTo(@NonNull Turn other) {
+            return mRank < other.mRank ? -1 : (mRank == other.mRank ? 0 : 1);
+        }
+    }
+}
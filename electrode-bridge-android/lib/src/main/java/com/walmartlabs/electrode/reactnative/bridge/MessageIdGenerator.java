@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates the ids of the messages that are created on the native side.
+ * <p>
+ * An id is a {@code long} made of an epoch prefix, taken once when the process starts, and a monotonically
+ * increasing counter. It goes over the wire as a short string ({@code "n"} followed by the id in base 36)
+ * which can never collide with the UUID strings used as ids by the JS side.
+ */
+final class MessageIdGenerator {
+
+    /**
+     * Returned by {@link #parse(String)} for ids that were not generated by this class, i.e. JS originated ids.
+     */
+    static final long NO_ID = -1;
+
+    private static final char PREFIX = 'n';
+    private static final int RADIX = 36;
+    private static final int COUNTER_BITS = 40;
+    private static final long EPOCH_MASK = (1L << (63 - COUNTER_BITS)) - 1;
+    // Long.MAX_VALUE is 13 digits long in base 36
+    private static final int MAX_ID_LENGTH = 14;
+
+    private static final AtomicLong sNextId = new AtomicLong(((System.currentTimeMillis() / 1000) & EPOCH_MASK) << COUNTER_BITS);
+
+    private MessageIdGenerator() {
+    }
+
+    /**
+     * @return A new id, greater than all the ids previously returned
+     */
+    static long next() {
+        return sNextId.incrementAndGet();
+    }
+
+    /**
+     * @return The wire representation of a new id
+     */
+    @NonNull
+    static String nextString() {
+        return format(next());
+    }
+
+    @NonNull
+    static String format(long id) {
+        return PREFIX + Long.toString(id, RADIX);
+    }
+
+    /**
+     * Parses the wire representation of an id.
+     *
+     * @param id Id as received over the bridge
+     * @return The native id or {@link #NO_ID} if the id was not generated by this class
+     */
+    static long parse(@Nullable String id) {
+        if (id == null || id.length() < 2 || id.length() > MAX_ID_LENGTH || id.charAt(0) != PREFIX) {
+            return NO_ID;
+        }
+        // 13 digit values above Long.MAX_VALUE start with a digit greater than 1 or wrap to a negative value
+        if (id.length() == MAX_ID_LENGTH && digit(id.charAt(1)) > 1) {
+            return NO_ID;
+        }
+        long value = 0;
+        for (int i = 1; i < id.length(); i++) {
+            int digit = digit(id.charAt(i));
+            if (digit < 0) {
+                return NO_ID;
+            }
+            value = value * RADIX + digit;
+        }
+        return value < 0 ? NO_ID : value;
+    }
+
+    private static int digit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 10;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Table of the pending {@link BridgeTransaction}s, keyed by request id.
+ * <p>
+ * Transactions of native originated requests are stored in a fixed size array of slots indexed by the
+ * {@code long} id returned by {@link MessageIdGenerator}. Insert and remove are a single compare and set,
+ * a lookup probes at most {@link #MAX_PROBES} slots. As ids are monotonic, consecutive requests land in
+ * consecutive slots and a probe only happens when a request outlives {@code capacity} newer ones.
+ * <p>
+ * Transactions of JS originated requests, whose ids are not generated natively, and native ones that did not
+ * find a free slot (see {@link OverflowPolicy}) are kept in an overflow map keyed by the id string.
+ */
+final class PendingTransactionTable {
+
+    static final int DEFAULT_CAPACITY = 16384;
+
+    private static final int MAX_PROBES = 8;
+
+    /**
+     * What to do with a native transaction when all the slots it can be stored in are taken.
+     */
+    enum OverflowPolicy {
+        /**
+         * Store it in the overflow map
+         */
+        SPILL,
+        /**
+         * Refuse it, {@link #put(BridgeTransaction)} returns false
+         */
+        REJECT
+    }
+
+    private final AtomicReferenceArray<BridgeTransaction> mSlots;
+    private final int mMask;
+    private final OverflowPolicy mOverflowPolicy;
+    private final ConcurrentHashMap<String, BridgeTransaction> mOverflow = new ConcurrentHashMap<>();
+    private final AtomicInteger mSize = new AtomicInteger();
+
+    PendingTransactionTable() {
+        this(DEFAULT_CAPACITY, OverflowPolicy.SPILL);
+    }
+
+    /**
+     * @param capacity       Number of slots, must be a power of two
+     * @param overflowPolicy Policy applied when no slot is available for a native transaction
+     */
+    PendingTransactionTable(int capacity, @NonNull OverflowPolicy overflowPolicy) {
+        if (capacity <= 0 || (capacity & (capacity - 1)) != 0) {
+            throw new IllegalArgumentException("capacity must be a power of two");
+        }
+        mSlots = new AtomicReferenceArray<>(capacity);
+        mMask = capacity - 1;
+        mOverflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Adds a pending transaction
+     *
+     * @param transaction Transaction to add
+     * @return true if the transaction was added, false if it was rejected by the {@link OverflowPolicy}
+     */
+    boolean put(@NonNull BridgeTransaction transaction) {
+        long id = transaction.getNumericId();
+        if (id != MessageIdGenerator.NO_ID) {
+            int index = (int) id;
+            for (int i = 0; i < MAX_PROBES; i++) {
+                if (mSlots.compareAndSet((index + i) & mMask, null, transaction)) {
+                    mSize.incrementAndGet();
+                    return true;
+                }
+            }
+            if (mOverflowPolicy == OverflowPolicy.REJECT) {
+                return false;
+            }
+        }
+        if (mOverflow.put(transaction.getId(), transaction) == null) {
+            mSize.incrementAndGet();
+        }
+        return true;
+    }
+
+    /**
+     * @param id Id of the request
+     * @return The pending transaction of the request, null if there is none
+     */
+    @Nullable
+    BridgeTransaction get(@NonNull String id) {
+        long numericId = MessageIdGenerator.parse(id);
+        if (numericId != MessageIdGenerator.NO_ID) {
+            int index = (int) numericId;
+            for (int i = 0; i < MAX_PROBES; i++) {
+                BridgeTransaction transaction = mSlots.get((index + i) & mMask);
+                if (transaction != null && transaction.getNumericId() == numericId) {
+                    return transaction;
+                }
+            }
+        }
+        return mOverflow.get(id);
+    }
+
+    /**
+     * Removes the pending transaction of a request
+     *
+     * @param id Id of the request
+     * @return The removed transaction, null if there was no pending transaction for this id
+     */
+    @Nullable
+    BridgeTransaction remove(@NonNull String id) {
+        long numericId = MessageIdGenerator.parse(id);
+        if (numericId != MessageIdGenerator.NO_ID) {
+            int index = (int) numericId;
+            for (int i = 0; i < MAX_PROBES; i++) {
+                int slot = (index + i) & mMask;
+                BridgeTransaction transaction = mSlots.get(slot);
+                if (transaction != null && transaction.getNumericId() == numericId && mSlots.compareAndSet(slot, transaction, null)) {
+                    mSize.decrementAndGet();
+                    return transaction;
+                }
+            }
+        }
+        BridgeTransaction transaction = mOverflow.remove(id);
+        if (transaction != null) {
+            mSize.decrementAndGet();
+        }
+        return transaction;
+    }
+
+    /**
+     * Collects the transactions whose request deadline is elapsed, the transactions are not removed.
+     *
+     * @return The expired transactions
+     */
+    @NonNull
+    List<BridgeTransaction> getExpired() {
+        List<BridgeTransaction> expired = new ArrayList<>();
+        for (int i = 0; i < mSlots.length(); i++) {
+            BridgeTransaction transaction = mSlots.get(i);
+            if (transaction != null && transaction.isExpired()) {
+                expired.add(transaction);
+            }
+        }
+        for (BridgeTransaction transaction : mOverflow.values()) {
+            if (transaction.isExpired()) {
+                expired.add(transaction);
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Collects the transactions that made no progress for at least {@code maxAgeNanos}, the transactions are not removed.
+     *
+     * @param nowNanos    Current {@link System#nanoTime()}
+     * @param maxAgeNanos Time since the last activity of a transaction from which it is collected
+     * @return The transactions inactive for longer than the given age
+     */
+    @NonNull
+    List<BridgeTransaction> getInactiveFor(long nowNanos, long maxAgeNanos) {
+        List<BridgeTransaction> stale = new ArrayList<>();
+        for (int i = 0; i < mSlots.length(); i++) {
+            BridgeTransaction transaction = mSlots.get(i);
+            if (transaction != null && nowNanos - transaction.getLastActivityNanos() >= maxAgeNanos) {
+                stale.add(transaction);
+            }
+        }
+        for (BridgeTransaction transaction : mOverflow.values()) {
+            if (nowNanos - transaction.getLastActivityNanos() >= maxAgeNanos) {
+                stale.add(transaction);
+            }
+        }
+        return stale;
+    }
+
+    /**
+     * @return Number of pending transactions
+     */
+    int size() {
+        return mSize.get();
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * One queue per {@link BridgePriority}, holding the items of every name in FIFO order.
+ * <p>
+ * The items of a name are kept in a single FIFO queue which waits in the lane of the priority of its first item:
+ * an item is never served before an item of the same name queued earlier, even if that earlier item has a lower priority.
+ * Within a lane, names are served by the arrival order of their first item.
+ * <p>
+ * {@link #poll()} serves the highest non-empty lane, except when a lower non-empty lane has been passed over
+ * {@link #STARVATION_LIMIT} times in a row, in which case the lower lane is served once.
+ * Not thread safe, callers are expected to guard it.
+ */
+final class PriorityLanes<T> {
+
+    /**
+     * Number of times a non-empty lane can be passed over by higher lanes before it is served.
+     */
+    static final int STARVATION_LIMIT = 8;
+
+    private static final BridgePriority[] PRIORITIES = BridgePriority.values();
+
+    private static final class Item<T> {
+        private final BridgePriority priority;
+        private final T value;
+        private final long sequence;
+
+        private Item(@NonNull BridgePriority priority, @NonNull T value, long sequence) {
+            this.priority = priority;
+            this.value = value;
+            this.sequence = sequence;
+        }
+    }
+
+    private static final class NameQueue<T> implements Comparable<NameQueue<T>> {
+        private final String name;
+        private final ArrayDeque<Item<T>> items = new ArrayDeque<>();
+
+        private NameQueue(@NonNull String name) {
+            this.name = name;
+        }
+
+        @Override
+        public int compareTo(@NonNull NameQueue<T> other) {
+            long sequence = items.peek().sequence;
+            long otherSequence = other.items.peek().sequence;
+            return sequence < otherSequence ? -1 : (sequence == otherSequence ? 0 : 1);
+        }
+    }
+
+    // One lane per priority, indexed by ordinal, holding the non-empty name queues whose first item has that priority
+    private final List<PriorityQueue<NameQueue<T>>> mLanes = new ArrayList<>(PRIORITIES.length);
+    private final Map<String, NameQueue<T>> mNameQueues = new HashMap<>();
+    private final int[] mSkips = new int[PRIORITIES.length];
+    private long mSequence;
+    private int mSize;
+
+    PriorityLanes() {
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            mLanes.add(new PriorityQueue<NameQueue<T>>());
+        }
+    }
+
+    /**
+     * @param name     Event or request name of the item, items of the same name are served in the order they were added
+     * @param priority Priority of the item
+     * @param item     Item to queue
+     */
+    void add(@NonNull String name, @NonNull BridgePriority priority, @NonNull T item) {
+        NameQueue<T> nameQueue = mNameQueues.get(name);
+        if (nameQueue == null) {
+            nameQueue = new NameQueue<>(name);
+            mNameQueues.put(name, nameQueue);
+        }
+        nameQueue.items.add(new Item<>(priority, item, mSequence++));
+        if (nameQueue.items.size() == 1) {
+            mLanes.get(priority.ordinal()).add(nameQueue);
+        }
+        mSize++;
+    }
+
+    /**
+     * @return The next item to serve, null if all the lanes are empty
+     */
+    @Nullable
+    T poll() {
+        if (mSize == 0) {
+            return null;
+        }
+        int top = -1;
+        int served = -1;
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            if (mLanes.get(i).isEmpty()) {
+                mSkips[i] = 0;
+                continue;
+            }
+            if (top == -1) {
+                top = i;
+                served = i;
+            } else if (mSkips[i] >= STARVATION_LIMIT) {
+                served = i;
+                break;
+            }
+        }
+        // Every other non-empty lane below the top one has been passed over once more.
+        for (int i = top + 1; i < PRIORITIES.length; i++) {
+            if (i != served && !mLanes.get(i).isEmpty()) {
+                mSkips[i]++;
+            }
+        }
+        mSkips[served] = 0;
+        mSize--;
+        NameQueue<T> nameQueue = mLanes.get(served).poll();
+        Item<T> item = nameQueue.items.poll();
+        if (nameQueue.items.isEmpty()) {
+            mNameQueues.remove(nameQueue.name);
+        } else {
+            // The remaining items of the name now wait in the lane of their first item.
+            mLanes.get(nameQueue.items.peek().priority.ordinal()).add(nameQueue);
+        }
+        return item.value;
+    }
+
+    /**
+     * @return The highest priority that has a name waiting in its lane, null if all the lanes are empty
+     */
+    @Nullable
+    BridgePriority highestPriority() {
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            if (!mLanes.get(i).isEmpty()) {
+                return PRIORITIES[i];
+            }
+        }
+        return null;
+    }
+
+    int size() {
+        return mSize;
+    }
+
+    boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    void clear() {
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            mLanes.get(i).clear();
+            mSkips[i] = 0;
+        }
+        mNameQueues.clear();
+        mSize = 0;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+
+/**
+ * Orders the tasks of a single threaded {@link BridgeDispatcher} by {@link BridgePriority}.
+ * <p>
+ * Tasks are queued in {@link PriorityLanes} and a single drain task is posted to the underlying thread.
+ * The drain task runs a bounded number of tasks per turn and re-posts itself, so that other work of that thread is not held up.
+ * Once {@link #shutdown()} is called new tasks are dropped, while the tasks already queued are still run.
+ */
+final class PriorityTaskQueue {
+    private static final String TAG = PriorityTaskQueue.class.getSimpleName();
+
+    // Max number of tasks run before giving the thread back to its other messages
+    private static final int MAX_TASKS_PER_TURN = 16;
+
+    /**
+     * Posts the drain task to the thread the tasks run on.
+     */
+    interface Poster {
+        /**
+         * @return false if the task could not be posted
+         */
+        boolean post(@NonNull Runnable drain);
+    }
+
+    private final Poster mPoster;
+    private final PriorityLanes<Runnable> mTasks = new PriorityLanes<>();
+    private final Runnable mDrain = new Runnable() {
+        @Override
+        public void run() {
+            drain();
+        }
+    };
+
+    // Guarded by mTasks, true while the drain task is posted or running
+    private boolean mScheduled;
+    // Guarded by mTasks
+    private boolean mShutdown;
+
+    PriorityTaskQueue(@NonNull Poster poster) {
+        mPoster = poster;
+    }
+
+    void enqueue(@NonNull String lane, @NonNull BridgePriority priority, @NonNull Runnable task) {
+        synchronized (mTasks) {
+            if (mShutdown) {
+                Logger.w(TAG, "Unable to dispatch task for(%s), dispatcher has been shut down", lane);
+                return;
+            }
+            mTasks.add(lane, priority, task);
+            if (mScheduled) {
+                return;
+            }
+            mScheduled = true;
+        }
+        if (!mPoster.post(mDrain)) {
+            Logger.w(TAG, "Unable to dispatch task for(%s), dispatcher has been shut down", lane);
+            synchronized (mTasks) {
+                mTasks.clear();
+                mScheduled = false;
+            }
+        }
+    }
+
+    /**
+     * Stops accepting new tasks. Must be called before the underlying thread stops accepting posts.
+     */
+    void shutdown() {
+        synchronized (mTasks) {
+            mShutdown = true;
+        }
+    }
+
+    private void drain() {
+        for (int i = 0; i < MAX_TASKS_PER_TURN; i++) {
+            Runnable task;
+            synchronized (mTasks) {
+                task = mTasks.poll();
+                if (task == null) {
+                    mScheduled = false;
+                    return;
+                }
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // Keep draining the remaining tasks, the failure still surfaces on the thread as it did before.
+                repost();
+                throw e;
+            }
+        }
+        repost();
+    }
+
+    private void repost() {
+        if (!mPoster.post(mDrain)) {
+            // The thread is quitting, run what was queued before the shutdown here rather than dropping it.
+            Logger.d(TAG, "Dispatcher has been shut down, running the remaining tasks inline");
+            drainInline();
+        }
+    }
+
+    private void drainInline() {
+        while (true) {
+            Runnable task;
+            synchronized (mTasks) {
+                task = mTasks.poll();
+                if (task == null) {
+                    mScheduled = false;
+                    return;
+                }
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                Logger.e(TAG, "Task failed while draining a shut down dispatcher due to(%s)", e.getMessage());
+            }
+        }
+    }
+}
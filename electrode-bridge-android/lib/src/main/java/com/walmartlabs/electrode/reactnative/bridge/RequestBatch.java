@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups several independent requests so that they cross the bridge at once when {@link #send()} is called.
+ * <p>
+ * Every request of a batch keeps its own response listener and timeout, and succeeds or fails independently of the others.
+ * Requests are added either with {@link #add(ElectrodeBridgeRequest, ElectrodeBridgeResponseListener)} or through the
+ * batch overloads of the generated API request methods.
+ */
+public final class RequestBatch {
+
+    // Guarded by this
+    private final Map<ElectrodeBridgeRequest, ElectrodeBridgeResponseListener<ElectrodeBridgeResponse>> mRequests = new LinkedHashMap<>();
+    private boolean mSent;
+
+    /**
+     * Adds a request to this batch
+     *
+     * @param request          The request to send
+     * @param responseListener Listener to be called upon request completion
+     * @return {@link RequestHandle} to cancel the request, before or after the batch is sent
+     * @throws IllegalStateException if the batch was already sent
+     */
+    @NonNull
+    public synchronized RequestHandle add(@NonNull final ElectrodeBridgeRequest request, @NonNull ElectrodeBridgeResponseListener<ElectrodeBridgeResponse> responseListener) {
+        if (mSent) {
+            throw new IllegalStateException("Cannot add request(" + request.getName() + ") to a batch that was already sent");
+        }
+        mRequests.put(request, responseListener);
+        return new RequestHandle() {
+            @Override
+            public boolean cancel() {
+                synchronized (RequestBatch.this) {
+                    if (!mSent) {
+                        return mRequests.remove(request) != null;
+                    }
+                }
+                return ElectrodeBridgeHolder.cancelRequest(request);
+            }
+        };
+    }
+
+    /**
+     * @return The number of requests in this batch
+     */
+    public synchronized int size() {
+        return mRequests.size();
+    }
+
+    /**
+     * Sends all the requests of this batch, a batch can only be sent once.
+     *
+     * @return {@link RequestHandle} to cancel all the requests of this batch that are still pending
+     * @throws IllegalStateException if the batch was already sent
+     */
+    @NonNull
+    public RequestHandle send() {
+        final Map<ElectrodeBridgeRequest, ElectrodeBridgeResponseListener<ElectrodeBridgeResponse>> requests;
+        synchronized (this) {
+            if (mSent) {
+                throw new IllegalStateException("Batch was already sent");
+            }
+            mSent = true;
+            requests = new LinkedHashMap<>(mRequests);
+        }
+        ElectrodeBridgeHolder.sendRequests(requests);
+
+        final List<ElectrodeBridgeRequest> sentRequests = new ArrayList<>(requests.keySet());
+        return new RequestHandle() {
+            @Override
+            public boolean cancel() {
+                boolean cancelled = false;
+                for (ElectrodeBridgeRequest request : sentRequests) {
+                    cancelled |= ElectrodeBridgeHolder.cancelRequest(request);
+                }
+                return cancelled;
+            }
+        };
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single flight coalescing of identical native requests.
+ * <p>
+ * For the request names that opted in, a request whose {@link RequestFingerprint} matches the one of an in-flight request does not create
+ * its own {@link BridgeTransaction}. Its response listener waits on the in-flight transaction instead and is notified with the
+ * same {@link ElectrodeBridgeResponse}.
+ */
+final class RequestCoalescer {
+
+    /**
+     * Outcome of {@link #detach(String)}
+     */
+    enum Detach {
+        /**
+         * The request was not coalesced
+         */
+        NOT_COALESCED,
+        /**
+         * The request listener was detached, other requests are still waiting on the transaction
+         */
+        DETACHED,
+        /**
+         * The request listener was detached and no request is waiting on the transaction anymore, it should be cancelled.
+         * Use {@link #getTransaction(String)} before detaching to know the transaction.
+         */
+        LAST,
+        /**
+         * The transaction is already completing, the request listener could not be detached
+         */
+        TOO_LATE
+    }
+
+    /**
+     * Requests waiting on a single {@link BridgeTransaction}
+     */
+    private static final class Flight {
+        private final String key;
+        private final BridgeTransaction transaction;
+        // Guarded by this, keyed by request id, the first one is the request of the transaction
+        private final Map<String, ElectrodeBridgeResponseListener<ElectrodeBridgeResponse>> waiters = new LinkedHashMap<>();
+        private boolean closed;
+
+        private Flight(@NonNull String key, @NonNull BridgeTransaction transaction) {
+            this.key = key;
+            this.transaction = transaction;
+            waiters.put(transaction.getId(), transaction.getFinalResponseListener());
+        }
+    }
+
+    private final Set<String> mNames;
+    private final ConcurrentHashMap<String, Flight> mFlightsByKey = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Flight> mFlightsByTransactionId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Flight> mFlightsByRequestId = new ConcurrentHashMap<>();
+
+    /**
+     * @param names Concurrent set of the request names that opted in, it can be shared by several coalescers
+     */
+    RequestCoalescer(@NonNull Set<String> names) {
+        mNames = names;
+    }
+
+    void setEnabled(@NonNull String name, boolean enabled) {
+        if (enabled) {
+            mNames.add(name);
+        } else {
+            mNames.remove(name);
+        }
+    }
+
+    /**
+     * @return true if the requests of the given name are coalesced
+     */
+    boolean isEnabled(@NonNull String name) {
+        return mNames.contains(name);
+    }
+
+    /**
+     * Attaches a request to the in-flight transaction of an identical request, if any.
+     *
+     * @return true if the request was attached, its listener will be notified when the in-flight transaction completes
+     */
+    boolean attach(@NonNull String key, @NonNull ElectrodeBridgeRequest request, @NonNull ElectrodeBridgeResponseListener<ElectrodeBridgeResponse> responseListener) {
+        Flight flight = mFlightsByKey.get(key);
+        if (flight == null) {
+            return false;
+        }
+        mFlightsByRequestId.put(request.getId(), flight);
+        synchronized (flight) {
+            if (!flight.closed) {
+                flight.waiters.put(request.getId(), responseListener);
+                return true;
+            }
+        }
+        mFlightsByRequestId.remove(request.getId(), flight);
+        return false;
+    }
+
+    /**
+     * Makes a transaction the in-flight transaction that identical requests attach to.
+     */
+    void lead(@NonNull String key, @NonNull BridgeTransaction transaction) {
+        Flight flight = new Flight(key, transaction);
+        mFlightsByTransactionId.put(transaction.getId(), flight);
+        mFlightsByRequestId.put(transaction.getId(), flight);
+        mFlightsByKey.put(key, flight);
+    }
+
+    /**
+     * Detaches the listener of a cancelled request from the transaction it waits on
+     *
+     * @param requestId Id of the cancelled request
+     */
+    @NonNull
+    Detach detach(@NonNull String requestId) {
+        Flight flight = mFlightsByRequestId.remove(requestId);
+        if (flight == null) {
+            return Detach.NOT_COALESCED;
+        }
+        synchronized (flight) {
+            if (flight.closed) {
+                return Detach.TOO_LATE;
+            }
+            flight.waiters.remove(requestId);
+            if (!flight.waiters.isEmpty()) {
+                return Detach.DETACHED;
+            }
+            flight.closed = true;
+        }
+        // The flight itself is released by complete() once the transaction is cancelled
+        mFlightsByKey.remove(flight.key, flight);
+        return Detach.LAST;
+    }
+
+    /**
+     * @return The transaction that the given request waits on, null if it was not coalesced
+     */
+    @Nullable
+    BridgeTransaction getTransaction(@NonNull String requestId) {
+        Flight flight = mFlightsByRequestId.get(requestId);
+        return flight != null ? flight.transaction : null;
+    }
+
+    /**
+     * Closes the flight of a transaction that is completed or cancelled, no request can attach to it anymore.
+     *
+     * @return The listeners waiting on the transaction, null if the transaction was not coalesced
+     */
+    @Nullable
+    List<ElectrodeBridgeResponseListener<ElectrodeBridgeResponse>> complete(@NonNull BridgeTransaction transaction) {
+        Flight flight = mFlightsByTransactionId.remove(transaction.getId());
+        if (flight == null) {
+            return null;
+        }
+        List<ElectrodeBridgeResponseListener<ElectrodeBridgeResponse>> listeners;
+        synchronized (flight) {
+            flight.closed = true;
+            listeners = new ArrayList<>(flight.waiters.values());
+            for (String requestId : flight.waiters.keySet()) {
+                mFlightsByRequestId.remove(requestId, flight);
+            }
+            flight.waiters.clear();
+        }
+        mFlightsByKey.remove(flight.key, flight);
+        return listeners;
+    }
+}
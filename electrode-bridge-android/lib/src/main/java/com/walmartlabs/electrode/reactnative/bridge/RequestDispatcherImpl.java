@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+
+class RequestDispatcherImpl implements RequestDispatcher {
+    private static final String TAG = RequestDispatcherImpl.class.getSimpleName();
+
+    private final RequestRegistrarImpl<ElectrodeBridgeRequestHandler<ElectrodeBridgeRequest, Object>> mRequestRegistrar;
+
+    /**
+     * Initialize a new RequestDispatcherImpl instance
+     *
+     * @param requestRegistrar The request registrar to use for this dispatcher
+     */
+    RequestDispatcherImpl(@NonNull RequestRegistrarImpl<ElectrodeBridgeRequestHandler<ElectrodeBridgeRequest, Object>> requestRegistrar) {
+        mRequestRegistrar = requestRegistrar;
+    }
+
+    @Override
+    public void dispatchRequest(@NonNull final ElectrodeBridgeRequest bridgeRequest, @NonNull final ElectrodeBridgeResponseListener<Object> responseListener) {
+        dispatchRequest(bridgeRequest, getRequestHandlerEntry(bridgeRequest.getName()), responseListener);
+    }
+
+    /**
+     * Dispatches a request to the handler entry it was resolved to
+     *
+     * @param requestHandlerEntry Entry resolved when the request was routed, looked up again if its handler was replaced or unregistered since
+     */
+    void dispatchRequest(@NonNull ElectrodeBridgeRequest bridgeRequest,
+                         @Nullable RequestHandlerEntry<ElectrodeBridgeRequestHandler<ElectrodeBridgeRequest, Object>> requestHandlerEntry,
+                         @NonNull ElectrodeBridgeResponseListener<Object> responseListener) {
+        final String requestName = bridgeRequest.getName();
+
+        Logger.d(TAG, "dispatching request(id=%s) locally", bridgeRequest.getId());
+        if (requestHandlerEntry != null && !requestHandlerEntry.isActive()) {
+            requestHandlerEntry = getRequestHandlerEntry(requestName);
+        }
+        if (requestHandlerEntry == null) {
+            FailureMessage failureMessage = BridgeFailureMessage.create("ENOHANDLER", "No registered request handler for request name " + requestName);
+            responseListener.onFailure(failureMessage);
+            return;
+        }
+        long startNanos = System.nanoTime();
+        try {
+            requestHandlerEntry.getHandler().onRequest(bridgeRequest, responseListener);
+        } finally {
+            requestHandlerEntry.recordDispatch(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * @param name Request name
+     * @return The entry of the handler of the request name, null if there is none
+     */
+    @Nullable
+    RequestHandlerEntry<ElectrodeBridgeRequestHandler<ElectrodeBridgeRequest, Object>> getRequestHandlerEntry(@NonNull String name) {
+        return mRequestRegistrar.getRequestHandlerEntry(name);
+    }
+
+    @Override
+    public boolean canHandleRequest(@NonNull String name) {
+        return mRequestRegistrar.getRequestHandlerEntry(name) != null;
+    }
+}
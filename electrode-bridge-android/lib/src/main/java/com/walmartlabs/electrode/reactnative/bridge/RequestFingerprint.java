@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.os.Bundle;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.walmartlabs.electrode.reactnative.bridge.util.BridgeArguments;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Builds a string that identifies a request by its name and payload.
+ * <p>
+ * The payload is converted to its bundle representation and written in a canonical form, bundle keys are sorted,
+ * so two requests with equal payloads have the same fingerprint.
+ */
+final class RequestFingerprint {
+
+    private RequestFingerprint() {
+    }
+
+    @NonNull
+    static String of(@NonNull ElectrodeBridgeRequest request) {
+        Object data = request.getData();
+        StringBuilder fingerprint = new StringBuilder(request.getName()).append('|');
+        appendCanonical(fingerprint, data instanceof Bundle ? data : BridgeArguments.generateDataBundle(data));
+        return fingerprint.toString();
+    }
+
+    private static void appendCanonical(@NonNull StringBuilder builder, @Nullable Object value) {
+        if (value instanceof Bundle) {
+            Bundle bundle = (Bundle) value;
+            List<String> keys = new ArrayList<>(bundle.keySet());
+            Collections.sort(keys);
+            builder.append('{');
+            for (String key : keys) {
+                builder.append(key).append('=');
+                appendCanonical(builder, bundle.get(key));
+                builder.append(',');
+            }
+            builder.append('}');
+        } else if (value != null && value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            builder.append('[');
+            for (int i = 0; i < length; i++) {
+                appendCanonical(builder, Array.get(value, i));
+                builder.append(',');
+            }
+            builder.append(']');
+        } else if (value instanceof String) {
+            // Length prefixed so that a string can not be mistaken for a structure
+            builder.append('s').append(((String) value).length()).append(':').append(value);
+        } else if (value != null) {
+            builder.append(value.getClass().getSimpleName()).append(':').append(value);
+        } else {
+            builder.append("null");
+        }
+    }
+}
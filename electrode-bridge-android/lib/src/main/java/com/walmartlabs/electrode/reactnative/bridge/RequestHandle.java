@@ -0,0 +1,34 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+/**
+ * Interface that is returned when a request is sent.
+ * <p>
+ * Use this handle to cancel the request when its response is no longer needed, for example when the user leaves the screen that sent it.
+ */
+public interface RequestHandle {
+    /**
+     * Cancels the request if it is still pending.
+     * <p>
+     * The response listener of a cancelled request is never called, a response that arrives later is dropped.
+     * If the request was sent to JS, JS is notified so that its request handler can abandon the work.
+     *
+     * @return true if the request was cancelled. false if it was already completed or cancelled
+     */
+    boolean cancel();
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A request handler as registered in {@link RequestRegistrarImpl}, along with its id and its dispatch statistics.
+ * <p>
+ * A request resolves the entry of its name once and keeps it until its handler is called. The entry is deactivated when
+ * its handler is replaced or unregistered, so that a request resolved before that can tell it must look up the name again.
+ */
+final class RequestHandlerEntry<T> {
+    private final String mName;
+    private final T mHandler;
+    private final UUID mUuid;
+    private final AtomicLong mDispatchCount = new AtomicLong();
+    private final AtomicLong mTotalHandlerNanos = new AtomicLong();
+    private final AtomicLong mMaxHandlerNanos = new AtomicLong();
+    private volatile boolean mIsActive = true;
+
+    RequestHandlerEntry(@NonNull String name, @NonNull T handler, @NonNull UUID uuid) {
+        mName = name;
+        mHandler = handler;
+        mUuid = uuid;
+    }
+
+    @NonNull
+    String getName() {
+        return mName;
+    }
+
+    @NonNull
+    T getHandler() {
+        return mHandler;
+    }
+
+    @NonNull
+    UUID getUuid() {
+        return mUuid;
+    }
+
+    /**
+     * @return false once the handler was replaced or unregistered
+     */
+    boolean isActive() {
+        return mIsActive;
+    }
+
+    void deactivate() {
+        mIsActive = false;
+    }
+
+    /**
+     * @param handlerNanos Time spent in the handler call, on the dispatch thread
+     */
+    void recordDispatch(long handlerNanos) {
+        mDispatchCount.incrementAndGet();
+        mTotalHandlerNanos.addAndGet(handlerNanos);
+        long max;
+        while (handlerNanos > (max = mMaxHandlerNanos.get()) && !mMaxHandlerNanos.compareAndSet(max, handlerNanos)) {
+            // Retry until the max is updated or a bigger value was recorded concurrently
+        }
+    }
+
+    @NonNull
+    RequestHandlerStats getStats() {
+        return new RequestHandlerStats(mName, mUuid, mDispatchCount.get(), mTotalHandlerNanos.get(), mMaxHandlerNanos.get());
+    }
+}
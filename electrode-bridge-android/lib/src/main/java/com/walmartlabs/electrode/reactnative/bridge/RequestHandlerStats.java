@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time statistics about the calls of a native request handler, since it was registered.
+ * <p>
+ * Handler times only cover the {@code onRequest} call on the dispatch thread, not the asynchronous work it may start.
+ */
+public final class RequestHandlerStats {
+
+    private final String requestName;
+    private final UUID handlerId;
+    private final long dispatchCount;
+    private final long totalHandlerNanos;
+    private final long maxHandlerNanos;
+
+    RequestHandlerStats(@NonNull String requestName, @NonNull UUID handlerId, long dispatchCount, long totalHandlerNanos, long maxHandlerNanos) {
+        this.requestName = requestName;
+        this.handlerId = handlerId;
+        this.dispatchCount = dispatchCount;
+        this.totalHandlerNanos = totalHandlerNanos;
+        this.maxHandlerNanos = maxHandlerNanos;
+    }
+
+    @NonNull
+    public String getRequestName() {
+        return requestName;
+    }
+
+    /**
+     * @return {@link UUID} the handler was registered with
+     */
+    @NonNull
+    public UUID getHandlerId() {
+        return handlerId;
+    }
+
+    /**
+     * @return Number of requests dispatched to the handler
+     */
+    public long getDispatchCount() {
+        return dispatchCount;
+    }
+
+    /**
+     * @return Total time spent in the handler calls, in nanoseconds
+     */
+    public long getTotalHandlerNanos() {
+        return totalHandlerNanos;
+    }
+
+    /**
+     * @return Longest handler call, in nanoseconds
+     */
+    public long getMaxHandlerNanos() {
+        return maxHandlerNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestHandlerStats{request=" + requestName + ", handler=" + handlerId + ", dispatched=" + dispatchCount
+                + ", totalMs=" + TimeUnit.NANOSECONDS.toMillis(totalHandlerNanos) + ", maxMs=" + TimeUnit.NANOSECONDS.toMillis(maxHandlerNanos) + '}';
+    }
+}
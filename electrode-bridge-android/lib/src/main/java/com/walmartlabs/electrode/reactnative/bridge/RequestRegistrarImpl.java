@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Request handler registry indexed both by request name and by handler {@link UUID}, lookups do not lock.
+ * <p>
+ * Both indexes point to the same immutable {@link RequestHandlerEntry}, a handler is replaced or unregistered by swapping
+ * or removing its entry, so a dispatch always sees either the previous or the new handler. Registration changes update
+ * both indexes while holding a lock, so that concurrent changes cannot leave them pointing to different entries.
+ */
+public class RequestRegistrarImpl<T> implements RequestRegistrar<T> {
+    private static final String TAG = RequestRegistrarImpl.class.getSimpleName();
+
+    private final Object mLock = new Object();
+    // Written while holding mLock
+    private final ConcurrentHashMap<UUID, RequestHandlerEntry<T>> mEntryByUUID = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, RequestHandlerEntry<T>> mEntryByRequestName = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a request handler
+     *
+     * @param name               The request name this handler can handle
+     * @param requestHandler     The request handler instance
+     * @param requestHandlerUuid {@link UUID} of {@code requestHandler}
+     * @return Returns true if the {@code requestHandler} is registered
+     */
+    @NonNull
+    public boolean registerRequestHandler(@NonNull String name, @NonNull T requestHandler, @NonNull UUID requestHandlerUuid) {
+        RequestHandlerEntry<T> entry = new RequestHandlerEntry<>(name, requestHandler, requestHandlerUuid);
+        synchronized (mLock) {
+            RequestHandlerEntry<T> previous = mEntryByRequestName.put(name, entry);
+            RequestHandlerEntry<T> previousWithSameId = mEntryByUUID.put(requestHandlerUuid, entry);
+            if (previous != null) {
+                Logger.d(TAG, "A request handler for request(name: %s) already exist. Replacing with a new request handler", name);
+                Logger.d(TAG, "Removing old request handler(id: %s)", previous.getUuid());
+                previous.deactivate();
+                mEntryByUUID.remove(previous.getUuid(), previous);
+            }
+            if (previousWithSameId != null && previousWithSameId != previous) {
+                // The id moved to another request name
+                previousWithSameId.deactivate();
+                mEntryByRequestName.remove(previousWithSameId.getName(), previousWithSameId);
+            }
+        }
+        Logger.d(TAG, "New request handler(id: %s) registered for request: %s", requestHandlerUuid, name);
+        return true;
+    }
+
+    /**
+     * Unregisters a request handler
+     *
+     * @param requestHandlerUuid {@link UUID} of registerRequestHandler
+     * @return registerRequestHandler unregistered
+     */
+    public T unregisterRequestHandler(@NonNull UUID requestHandlerUuid) {
+        RequestHandlerEntry<T> entry;
+        synchronized (mLock) {
+            entry = mEntryByUUID.remove(requestHandlerUuid);
+            if (entry != null) {
+                entry.deactivate();
+                mEntryByRequestName.remove(entry.getName(), entry);
+            }
+        }
+        if (entry != null) {
+            Logger.d(TAG, "Request handler(id: %s) removed for request: %s", requestHandlerUuid, entry.getName());
+            return entry.getHandler();
+        } else {
+            Logger.d(TAG, "Request handler(id: %s) already removed", requestHandlerUuid);
+        }
+        return null;
+    }
+
+    /**
+     * Gets the request handler registered for a given request name
+     *
+     * @param name The name of request
+     * @return The request handler instance that can handle this request name or null if no such
+     * request handler was registered
+     */
+    @Nullable
+    public T getRequestHandler(@NonNull String name) {
+        RequestHandlerEntry<T> entry = mEntryByRequestName.get(name);
+        return entry != null ? entry.getHandler() : null;
+    }
+
+    /**
+     * @param name The name of request
+     * @return The entry of the request handler registered for the given request name, null if there is none
+     */
+    @Nullable
+    RequestHandlerEntry<T> getRequestHandlerEntry(@NonNull String name) {
+        return mEntryByRequestName.get(name);
+    }
+
+    @Nullable
+    @Override
+    public UUID getRequestHandlerId(@NonNull String name) {
+        RequestHandlerEntry<T> entry = mEntryByRequestName.get(name);
+        return entry != null ? entry.getUuid() : null;
+    }
+
+    @Override
+    public boolean isRegistered(@NonNull UUID requestHandlerUuid) {
+        return mEntryByUUID.containsKey(requestHandlerUuid);
+    }
+
+    /**
+     * ONLY FOR TESTING
+     * <p>
+     * Clear all registered request handlers.
+     */
+    @VisibleForTesting
+    void reset() {
+        synchronized (mLock) {
+            for (RequestHandlerEntry<T> entry : mEntryByUUID.values()) {
+                entry.deactivate();
+            }
+            mEntryByUUID.clear();
+            mEntryByRequestName.clear();
+        }
+    }
+}
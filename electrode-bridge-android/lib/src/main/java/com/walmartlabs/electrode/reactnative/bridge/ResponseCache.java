@@ -0,0 +1,279 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.content.ComponentCallbacks2;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of the successful responses of native requests, for the request names that have a {@link ResponseCachePolicy}.
+ * <p>
+ * Responses are keyed by {@link RequestFingerprint}. Each request name has its own LRU segment bounded by
+ * {@link ResponseCachePolicy#getMaxEntries()}, entries older than {@link ResponseCachePolicy#getTtlMs()} are never served.
+ * <p>
+ * Each segment has a generation that changes whenever it is invalidated. A response is only cached if the generation
+ * did not change since its request started, so a response computed before an invalidating event is not cached after it.
+ */
+final class ResponseCache {
+    private static final String TAG = ResponseCache.class.getSimpleName();
+
+    private static final class Entry {
+        private final ElectrodeBridgeResponse response;
+        private final long expiresAtNanos;
+
+        private Entry(@NonNull ElectrodeBridgeResponse response, long expiresAtNanos) {
+            this.response = response;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private boolean isExpired(long nowNanos) {
+            return nowNanos - expiresAtNanos >= 0;
+        }
+    }
+
+    /**
+     * Value of {@link #generation(String)} for a request name whose responses are not cached
+     */
+    static final long NO_GENERATION = 0;
+
+    // Generations are unique across segments, a segment replaced by a new policy never reuses the generation of the previous one
+    private static final AtomicLong sGenerations = new AtomicLong(NO_GENERATION);
+
+    /**
+     * Responses of a single request name in access order, guarded by itself.
+     */
+    private static final class Segment extends LinkedHashMap<String, Entry> {
+        private static final long serialVersionUID = 1L;
+
+        private final ResponseCachePolicy policy;
+        private final ResponseCacheStats stats = new ResponseCacheStats();
+        private final ResponseCacheStats totalStats;
+        private long generation = sGenerations.incrementAndGet();
+
+        private Segment(@NonNull ResponseCachePolicy policy, @NonNull ResponseCacheStats totalStats) {
+            super(16, 0.75f, true);
+            this.policy = policy;
+            this.totalStats = totalStats;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() > policy.getMaxEntries()) {
+                stats.recordEvictions(1);
+                totalStats.recordEvictions(1);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Segment> mSegments = new ConcurrentHashMap<>();
+    // Event name -> names of the requests whose responses it invalidates
+    private final ConcurrentHashMap<String, Set<String>> mInvalidatingEvents = new ConcurrentHashMap<>();
+    private final ResponseCacheStats mStats;
+
+    /**
+     * @param totalStats Statistics updated for all the request names, may be shared with other caches
+     */
+    ResponseCache(@NonNull ResponseCacheStats totalStats) {
+        mStats = totalStats;
+    }
+
+    /**
+     * Sets the policy of a request name, responses cached under a previous policy are dropped.
+     *
+     * @param name   Request name
+     * @param policy {@link ResponseCachePolicy}, null to stop caching the responses
+     */
+    synchronized void setPolicy(@NonNull String name, @Nullable ResponseCachePolicy policy) {
+        Segment previous = policy != null ? mSegments.put(name, new Segment(policy, mStats)) : mSegments.remove(name);
+        if (previous != null) {
+            for (String eventName : previous.policy.getInvalidatingEvents()) {
+                Set<String> names = mInvalidatingEvents.get(eventName);
+                if (names != null) {
+                    names.remove(name);
+                }
+            }
+        }
+        if (policy != null) {
+            for (String eventName : policy.getInvalidatingEvents()) {
+                Set<String> names = mInvalidatingEvents.get(eventName);
+                if (names == null) {
+                    names = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+                    mInvalidatingEvents.put(eventName, names);
+                }
+                names.add(name);
+            }
+        }
+    }
+
+    boolean isEnabled(@NonNull String name) {
+        return mSegments.containsKey(name);
+    }
+
+    /**
+     * @return The cached response, null if there is no valid cached response
+     */
+    @Nullable
+    ElectrodeBridgeResponse get(@NonNull String name, @NonNull String fingerprint) {
+        Segment segment = mSegments.get(name);
+        if (segment == null) {
+            return null;
+        }
+        Entry entry;
+        synchronized (segment) {
+            entry = segment.get(fingerprint);
+            if (entry != null && entry.isExpired(System.nanoTime())) {
+                segment.remove(fingerprint);
+                entry = null;
+            }
+        }
+        if (entry != null) {
+            segment.stats.recordHit();
+            mStats.recordHit();
+            return entry.response;
+        }
+        segment.stats.recordMiss();
+        mStats.recordMiss();
+        return null;
+    }
+
+    /**
+     * @return The current generation of the responses of a request name, to be passed to
+     * {@link #put(String, String, ElectrodeBridgeResponse, long)} once the request completes
+     */
+    long generation(@NonNull String name) {
+        Segment segment = mSegments.get(name);
+        if (segment == null) {
+            return NO_GENERATION;
+        }
+        synchronized (segment) {
+            return segment.generation;
+        }
+    }
+
+    /**
+     * Caches a response, unless its request name was invalidated since the given generation
+     *
+     * @param generation {@link #generation(String)} when the request started
+     */
+    void put(@NonNull String name, @NonNull String fingerprint, @NonNull ElectrodeBridgeResponse response, long generation) {
+        Segment segment = mSegments.get(name);
+        if (segment != null) {
+            long expiresAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(segment.policy.getTtlMs());
+            synchronized (segment) {
+                if (segment.generation != generation) {
+                    Logger.d(TAG, "Not caching response of request(%s), it was invalidated while the request was in flight", name);
+                    return;
+                }
+                segment.put(fingerprint, new Entry(response, expiresAtNanos));
+            }
+        }
+    }
+
+    /**
+     * Drops the cached responses of a request name
+     */
+    void invalidate(@NonNull String name) {
+        Segment segment = mSegments.get(name);
+        if (segment != null) {
+            int count;
+            synchronized (segment) {
+                count = segment.size();
+                segment.clear();
+                // Requests in flight may already hold a response computed before the invalidation
+                segment.generation = sGenerations.incrementAndGet();
+            }
+            if (count > 0) {
+                Logger.d(TAG, "Invalidated %s cached response(s) of request(%s)", count, name);
+                segment.stats.recordInvalidations(count);
+                mStats.recordInvalidations(count);
+            }
+        }
+    }
+
+    void invalidateAll() {
+        for (String name : mSegments.keySet()) {
+            invalidate(name);
+        }
+    }
+
+    /**
+     * Drops the cached responses invalidated by an event
+     *
+     * @param eventName Name of an event that was emitted
+     */
+    void onEvent(@NonNull String eventName) {
+        Set<String> names = mInvalidatingEvents.get(eventName);
+        if (names != null) {
+            for (String name : names) {
+                invalidate(name);
+            }
+        }
+    }
+
+    /**
+     * Releases memory, see {@link ComponentCallbacks2#onTrimMemory(int)}.
+     * Expired responses are always dropped, all responses are dropped once memory is running low.
+     */
+    void trimMemory(int level) {
+        boolean evictAll = level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW;
+        long now = System.nanoTime();
+        int total = 0;
+        for (Segment segment : mSegments.values()) {
+            int count = 0;
+            synchronized (segment) {
+                Iterator<Entry> entries = segment.values().iterator();
+                while (entries.hasNext()) {
+                    Entry entry = entries.next();
+                    if (evictAll || entry.isExpired(now)) {
+                        entries.remove();
+                        count++;
+                    }
+                }
+            }
+            segment.stats.recordEvictions(count);
+            total += count;
+        }
+        mStats.recordEvictions(total);
+        Logger.d(TAG, "Trimmed %s cached response(s) for memory level(%s)", total, level);
+    }
+
+    @NonNull
+    ResponseCacheStats getStats() {
+        return mStats;
+    }
+
+    @Nullable
+    ResponseCacheStats getStats(@NonNull String name) {
+        Segment segment = mSegments.get(name);
+        return segment != null ? segment.stats : null;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Caching policy of the successful responses of the requests of a given name.
+ * <p>
+ * Only use it for idempotent requests, a cached response completes a request without reaching its handler.
+ */
+public final class ResponseCachePolicy {
+    private static final int DEFAULT_MAX_ENTRIES = 32;
+
+    private final long ttlMs;
+    private final int maxEntries;
+    private final Set<String> invalidatingEvents;
+
+    private ResponseCachePolicy(@NonNull Builder builder) {
+        this.ttlMs = builder.mTtlMs;
+        this.maxEntries = builder.mMaxEntries;
+        this.invalidatingEvents = Collections.unmodifiableSet(builder.mInvalidatingEvents);
+    }
+
+    /**
+     * @return Duration during which a cached response is served
+     */
+    public long getTtlMs() {
+        return ttlMs;
+    }
+
+    /**
+     * @return Maximum number of responses, one per distinct payload, kept for the request name
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * @return Names of the events that invalidate the cached responses when they are emitted
+     */
+    @NonNull
+    public Set<String> getInvalidatingEvents() {
+        return invalidatingEvents;
+    }
+
+    @Override
+    public String toString() {
+        return "ResponseCachePolicy{ttlMs=" + ttlMs + ", maxEntries=" + maxEntries + ", invalidatingEvents=" + invalidatingEvents + '}';
+    }
+
+    public static class Builder {
+        private final long mTtlMs;
+        private int mMaxEntries;
+        private final Set<String> mInvalidatingEvents = new LinkedHashSet<>();
+
+        /**
+         * Initializes a new policy builder
+         *
+         * @param ttlMs Duration during which a cached response is served
+         */
+        public Builder(long ttlMs) {
+            if (ttlMs <= 0) {
+                throw new IllegalArgumentException("ttlMs must be greater than 0");
+            }
+            mTtlMs = ttlMs;
+            mMaxEntries = DEFAULT_MAX_ENTRIES;
+        }
+
+        /**
+         * Specifies the maximum number of cached responses, the least recently used one is evicted first
+         *
+         * @param maxEntries Maximum number of responses kept for the request name
+         * @return Current builder instance for chaining
+         */
+        public Builder maxEntries(int maxEntries) {
+            if (maxEntries <= 0) {
+                throw new IllegalArgumentException("maxEntries must be greater than 0");
+            }
+            this.mMaxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * Specifies the events that invalidate the cached responses, whether they are emitted from native or JS
+         *
+         * @param eventNames Event names
+         * @return Current builder instance for chaining
+         */
+        public Builder invalidatedBy(@NonNull String... eventNames) {
+            mInvalidatingEvents.addAll(Arrays.asList(eventNames));
+            return this;
+        }
+
+        /**
+         * Builds the policy
+         *
+         * @return The built policy
+         */
+        @NonNull
+        public ResponseCachePolicy build() {
+            return new ResponseCachePolicy(this);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+
+/**
+ * {@link ElectrodeBridgeResponseStream} given to a local request handler for a streaming request.
+ * <p>
+ * Chunks are numbered from 0 and handed to a {@link ChunkSink}. The caller acknowledges the chunks it consumed
+ * through {@link #onAck(int)}, at most {@link ElectrodeBridgeRequest#getStreamWindow()} chunks can be unacknowledged
+ * for the stream to be ready.
+ */
+final class ResponseStream implements ElectrodeBridgeResponseStream<Object> {
+    private static final String TAG = ResponseStream.class.getSimpleName();
+
+    interface ChunkSink {
+        void send(@NonNull ElectrodeBridgeResponse chunk);
+    }
+
+    private final ElectrodeBridgeRequest mRequest;
+    private final ElectrodeBridgeResponseListener<Object> mResponseListener;
+    private final ChunkSink mSink;
+
+    // Guarded by this
+    private int mNextSequence;
+    private int mLastAcknowledged = -1;
+    private Runnable mOnReadyListener;
+    private boolean mClosed;
+
+    /**
+     * @param request          Streaming request
+     * @param responseListener Listener of the final response
+     * @param sink             Destination of the chunks
+     */
+    ResponseStream(@NonNull ElectrodeBridgeRequest request, @NonNull ElectrodeBridgeResponseListener<Object> responseListener, @NonNull ChunkSink sink) {
+        mRequest = request;
+        mResponseListener = responseListener;
+        mSink = sink;
+    }
+
+    @NonNull
+    String getName() {
+        return mRequest.getName();
+    }
+
+    @NonNull
+    BridgePriority getPriority() {
+        return mRequest.getPriority();
+    }
+
+    @Override
+    public void write(@NonNull Object chunk) {
+        ElectrodeBridgeResponse response;
+        synchronized (this) {
+            if (mClosed) {
+                Logger.w(TAG, "Dropping chunk written after the response of request(id=%s) was completed or cancelled", mRequest.getId());
+                return;
+            }
+            response = ElectrodeBridgeResponse.createChunkForRequest(mRequest, chunk, mNextSequence++);
+        }
+        mSink.send(response);
+    }
+
+    @Override
+    public synchronized boolean isReady() {
+        return !mClosed && mNextSequence - mLastAcknowledged - 1 < mRequest.getStreamWindow();
+    }
+
+    @Override
+    public void setOnReadyListener(@Nullable Runnable onReadyListener) {
+        boolean ready;
+        synchronized (this) {
+            mOnReadyListener = onReadyListener;
+            ready = isReady();
+        }
+        if (ready && onReadyListener != null) {
+            onReadyListener.run();
+        }
+    }
+
+    /**
+     * Acknowledges the chunks consumed by the caller
+     *
+     * @param sequence Sequence number of the last consumed chunk
+     */
+    void onAck(int sequence) {
+        Runnable onReadyListener = null;
+        synchronized (this) {
+            if (sequence > mLastAcknowledged) {
+                boolean wasReady = isReady();
+                mLastAcknowledged = sequence;
+                if (!wasReady && isReady()) {
+                    onReadyListener = mOnReadyListener;
+                }
+            }
+        }
+        if (onReadyListener != null) {
+            onReadyListener.run();
+        }
+    }
+
+    /**
+     * Closes the stream without completing the response, used when the request is cancelled
+     */
+    synchronized void close() {
+        mClosed = true;
+        mOnReadyListener = null;
+    }
+
+    @Override
+    public void onSuccess(@Nullable Object responseData) {
+        close();
+        mResponseListener.onSuccess(responseData);
+    }
+
+    @Override
+    public void onFailure(@NonNull FailureMessage failureMessage) {
+        close();
+        mResponseListener.onFailure(failureMessage);
+    }
+}
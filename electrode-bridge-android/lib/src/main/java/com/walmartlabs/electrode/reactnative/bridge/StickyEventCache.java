@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the last event emitted for each sticky event name, so that listeners registering late get the current value.
+ * <p>
+ * The cache holds at most {@link #MAX_ENTRIES} events, the least recently emitted or read name is dropped first.
+ */
+final class StickyEventCache {
+
+    static final int MAX_ENTRIES = 64;
+
+    private final Set<String> mNames;
+    // Guarded by this, in access order
+    private final LinkedHashMap<String, ElectrodeBridgeEvent> mEvents = new LinkedHashMap<String, ElectrodeBridgeEvent>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ElectrodeBridgeEvent> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * @param names Concurrent set of the sticky event names, it can be shared by several caches
+     */
+    StickyEventCache(@NonNull Set<String> names) {
+        mNames = names;
+    }
+
+    void setSticky(@NonNull String name, boolean sticky) {
+        if (sticky) {
+            mNames.add(name);
+        } else {
+            mNames.remove(name);
+        }
+    }
+
+    boolean isSticky(@NonNull String name) {
+        return mNames.contains(name);
+    }
+
+    /**
+     * Keeps the event if its name is sticky
+     */
+    void put(@NonNull ElectrodeBridgeEvent event) {
+        if (mNames.contains(event.getName())) {
+            synchronized (this) {
+                mEvents.put(event.getName(), event);
+            }
+        }
+    }
+
+    /**
+     * @param name Event name
+     * @return The last event emitted with the given name, null if none was kept
+     */
+    @Nullable
+    ElectrodeBridgeEvent get(@NonNull String name) {
+        if (!mNames.contains(name)) {
+            return null;
+        }
+        synchronized (this) {
+            return mEvents.get(name);
+        }
+    }
+
+    /**
+     * @param pattern Event name pattern, see {@link EventTopicTrie}
+     * @return The last event of every sticky name matching the pattern, least recently used first
+     */
+    @NonNull
+    synchronized List<ElectrodeBridgeEvent> getMatching(@NonNull String pattern) {
+        List<ElectrodeBridgeEvent> matches = new ArrayList<>();
+        for (Map.Entry<String, ElectrodeBridgeEvent> entry : mEvents.entrySet()) {
+            if (mNames.contains(entry.getKey()) && EventTopicTrie.matches(pattern, entry.getKey())) {
+                matches.add(entry.getValue());
+            }
+        }
+        return matches;
+    }
+
+    synchronized void clear(@NonNull String name) {
+        mEvents.remove(name);
+    }
+
+    synchronized void clearAll() {
+        mEvents.clear();
+    }
+}
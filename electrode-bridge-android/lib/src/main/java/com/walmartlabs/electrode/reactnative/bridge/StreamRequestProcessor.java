@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
+import com.walmartlabs.electrode.reactnative.bridge.util.BridgeArguments;
+
+/**
+ * This class takes care of processing a given streaming request when {@link #execute()} is called on the instance.
+ * Each chunk of the response is converted to {@code TChunk} before being passed to the stream listener.
+ *
+ * @param <TReq>
+ * @param <TChunk>
+ */
+public class StreamRequestProcessor<TReq, TChunk> {
+    private final String TAG = StreamRequestProcessor.class.getSimpleName();
+
+    private final String requestName;
+    private final TReq requestPayload;
+    private final Class<TChunk> chunkClass;
+    private final Class chunkType;//Used when the TChunk is List, represents the content type of the list. For non list, the chunk class and chunkType will be same.
+    private final int maxOutstandingChunks;
+    private final ElectrodeBridgeStreamListener<TChunk> streamListener;
+
+    public StreamRequestProcessor(@NonNull String requestName, @Nullable TReq requestPayload, @NonNull Class<TChunk> chunkClass, int maxOutstandingChunks, @NonNull ElectrodeBridgeStreamListener<TChunk> streamListener) {
+        this(requestName, requestPayload, chunkClass, chunkClass, maxOutstandingChunks, streamListener);
+    }
+
+    public StreamRequestProcessor(@NonNull String requestName, @Nullable TReq requestPayload, @NonNull Class<TChunk> chunkClass, @NonNull Class chunkType, int maxOutstandingChunks, @NonNull ElectrodeBridgeStreamListener<TChunk> streamListener) {
+        this.requestName = requestName;
+        this.requestPayload = requestPayload;
+        this.chunkClass = chunkClass;
+        this.chunkType = chunkType;
+        this.maxOutstandingChunks = maxOutstandingChunks;
+        this.streamListener = streamListener;
+    }
+
+    /**
+     * Sends the request
+     *
+     * @return {@link RequestHandle} to cancel the request
+     */
+    @SuppressWarnings("unchecked")
+    @NonNull
+    public RequestHandle execute() {
+        Logger.d(TAG, "Stream request processor started processing request(%s)", requestName);
+        ElectrodeBridgeRequest req = new ElectrodeBridgeRequest.Builder(requestName)
+                .withData(requestPayload)
+                .withStreaming(maxOutstandingChunks)
+                .build();
+
+        return ElectrodeBridgeHolder.sendStreamingRequest(req, new ElectrodeBridgeStreamListener<ElectrodeBridgeResponse>() {
+            @Override
+            public void onChunk(@NonNull ElectrodeBridgeResponse bridgeResponse) {
+                TChunk chunk;
+                if (chunkClass == chunkType) {
+                    chunk = (TChunk) bridgeResponse.getDecodedData(chunkType);
+                } else {
+                    chunk = (TChunk) BridgeArguments.generateObject(bridgeResponse.getData(), chunkType);
+                }
+                if (chunk != null) {
+                    streamListener.onChunk(chunk);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                Logger.d(TAG, "Stream request processor received the last chunk for request(%s)", requestName);
+                streamListener.onComplete();
+            }
+
+            @Override
+            public void onFailure(@NonNull FailureMessage failureMessage) {
+                streamListener.onFailure(failureMessage);
+            }
+        });
+    }
+}
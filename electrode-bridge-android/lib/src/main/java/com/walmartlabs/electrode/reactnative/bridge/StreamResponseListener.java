@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Adapts an {@link ElectrodeBridgeStreamListener} to the response listener of a {@link BridgeTransaction}.
+ * <p>
+ * Partial responses are forwarded with {@link #onChunk(ElectrodeBridgeResponse)}, the final response carries an optional last chunk.
+ */
+final class StreamResponseListener implements ElectrodeBridgeResponseListener<ElectrodeBridgeResponse> {
+
+    private final ElectrodeBridgeStreamListener<ElectrodeBridgeResponse> mStreamListener;
+
+    StreamResponseListener(@NonNull ElectrodeBridgeStreamListener<ElectrodeBridgeResponse> streamListener) {
+        mStreamListener = streamListener;
+    }
+
+    void onChunk(@NonNull ElectrodeBridgeResponse chunk) {
+        mStreamListener.onChunk(chunk);
+    }
+
+    @Override
+    public void onSuccess(@Nullable ElectrodeBridgeResponse response) {
+        if (response != null && response.getData() != null) {
+            mStreamListener.onChunk(response);
+        }
+        mStreamListener.onComplete();
+    }
+
+    @Override
+    public void onFailure(@NonNull FailureMessage failureMessage) {
+        mStreamListener.onFailure(failureMessage);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Requests whose transaction was reaped because it stayed pending for longer than the maximum age set with
+ * {@link ElectrodeBridgeHolder#setTransactionMaxAge(long)}, grouped by request name and handler.
+ * <p>
+ * A reaped transaction usually means that its handler never completed the response listener it was given.
+ */
+public final class TransactionLeakReport {
+
+    /**
+     * Handler name reported for the requests that were sent over to JS
+     */
+    public static final String JS_HANDLER = "js";
+
+    /**
+     * Handler name reported when no handler is registered anymore for the request name
+     */
+    public static final String UNKNOWN_HANDLER = "unknown";
+
+    private final List<Entry> entries;
+    private final long totalCount;
+    private final long totalPayloadBytes;
+
+    TransactionLeakReport(@NonNull List<Entry> entries) {
+        long count = 0;
+        long payloadBytes = 0;
+        for (Entry entry : entries) {
+            count += entry.count;
+            payloadBytes += entry.retainedPayloadBytes;
+        }
+        this.entries = Collections.unmodifiableList(entries);
+        this.totalCount = count;
+        this.totalPayloadBytes = payloadBytes;
+    }
+
+    /**
+     * @return The leaks per request name and handler, largest count first
+     */
+    @NonNull
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * @return Number of reaped transactions
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * @return Estimated serialized size of the payloads the reaped transactions were retaining
+     */
+    public long getTotalPayloadBytes() {
+        return totalPayloadBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionLeakReport{count=" + totalCount + ", payload=" + totalPayloadBytes + "B, entries=" + entries + '}';
+    }
+
+    /**
+     * Reaped transactions of a request name that were handled by the same handler
+     */
+    public static final class Entry {
+        private final String requestName;
+        private final String handlerName;
+        private final long count;
+        private final long retainedPayloadBytes;
+
+        Entry(@NonNull String requestName, @NonNull String handlerName, long count, long retainedPayloadBytes) {
+            this.requestName = requestName;
+            this.handlerName = handlerName;
+            this.count = count;
+            this.retainedPayloadBytes = retainedPayloadBytes;
+        }
+
+        @NonNull
+        public String getRequestName() {
+            return requestName;
+        }
+
+        /**
+         * @return Class name of the native handler, {@link #JS_HANDLER} or {@link #UNKNOWN_HANDLER}
+         */
+        @NonNull
+        public String getHandlerName() {
+            return handlerName;
+        }
+
+        /**
+         * @return Number of reaped transactions
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return Estimated serialized size of the request payloads the reaped transactions were retaining
+         */
+        public long getRetainedPayloadBytes() {
+            return retainedPayloadBytes;
+        }
+
+        @Override
+        public String toString() {
+            return "Entry{request=" + requestName + ", handler=" + handlerName + ", count=" + count + ", payload=" + retainedPayloadBytes + "B}";
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Policy and bookkeeping of the pending transaction reaper.
+ * <p>
+ * A transaction whose handler never completes its response listener stays in the {@link PendingTransactionTable} along with
+ * its payload. Once a maximum age is set, the transceiver periodically fails and evicts the transactions that made no progress
+ * for longer than it and records them here. Requests without a timeout, such as the ones received from JS without a deadline,
+ * may legitimately stay pending for long, they are only reaped when the caller opts in.
+ */
+final class TransactionReaper {
+
+    static final long DISABLED = 0;
+
+    private static final long MIN_SCAN_INTERVAL_MS = 1000;
+    private static final long MAX_SCAN_INTERVAL_MS = TimeUnit.MINUTES.toMillis(1);
+
+    private final ConcurrentHashMap<String, Leak> mLeaks = new ConcurrentHashMap<>();
+    private volatile long mMaxAgeMs = DISABLED;
+    private volatile boolean mReapsNoTimeoutRequests;
+    // Incremented on each change of the max age, a scan scheduled for a previous generation does not schedule the next one
+    private final AtomicLong mGeneration = new AtomicLong();
+
+    /**
+     * @param maxAgeMs               Time without activity after which a pending transaction is reaped, {@link #DISABLED} to stop reaping
+     * @param reapsNoTimeoutRequests true to also reap the transactions of requests that have no timeout
+     * @return The generation of the new setting
+     */
+    long setMaxAgeMs(long maxAgeMs, boolean reapsNoTimeoutRequests) {
+        if (maxAgeMs < 0) {
+            throw new IllegalArgumentException("maxAgeMs cannot be negative");
+        }
+        mMaxAgeMs = maxAgeMs;
+        mReapsNoTimeoutRequests = reapsNoTimeoutRequests;
+        return mGeneration.incrementAndGet();
+    }
+
+    long getMaxAgeMs() {
+        return mMaxAgeMs;
+    }
+
+    /**
+     * @return true if the given transaction can be reaped once it is inactive for longer than the max age
+     */
+    boolean isReapable(@NonNull BridgeTransaction transaction) {
+        return mReapsNoTimeoutRequests || transaction.getRequest().getTimeoutMs() != ElectrodeBridgeRequest.NO_TIMEOUT;
+    }
+
+    /**
+     * @param generation Generation returned by {@link #setMaxAgeMs(long)}
+     * @return true if reaping is enabled and the setting did not change since the given generation
+     */
+    boolean isCurrent(long generation) {
+        return mMaxAgeMs != DISABLED && mGeneration.get() == generation;
+    }
+
+    /**
+     * @return Delay between two scans, half the max age so that a transaction is reaped at most 1.5 times the max age after it started
+     */
+    long getScanIntervalMs() {
+        return Math.min(MAX_SCAN_INTERVAL_MS, Math.max(MIN_SCAN_INTERVAL_MS, mMaxAgeMs / 2));
+    }
+
+    /**
+     * Records a reaped transaction
+     *
+     * @param transaction The reaped transaction
+     * @param handlerName Name of the handler that did not complete it
+     */
+    void record(@NonNull BridgeTransaction transaction, @NonNull String handlerName) {
+        String name = transaction.getRequest().getName();
+        String key = name + '\n' + handlerName;
+        Leak leak = mLeaks.get(key);
+        if (leak == null) {
+            Leak newLeak = new Leak(name, handlerName);
+            leak = mLeaks.putIfAbsent(key, newLeak);
+            if (leak == null) {
+                leak = newLeak;
+            }
+        }
+        leak.count.incrementAndGet();
+        leak.payloadBytes.addAndGet(BridgeMetrics.estimatePayloadSize(transaction.getRequest().getData()));
+    }
+
+    @NonNull
+    TransactionLeakReport report() {
+        List<TransactionLeakReport.Entry> entries = new ArrayList<>(mLeaks.size());
+        for (Leak leak : mLeaks.values()) {
+            entries.add(new TransactionLeakReport.Entry(leak.requestName, leak.handlerName, leak.count.get(), leak.payloadBytes.get()));
+        }
+        Collections.sort(entries, new Comparator<TransactionLeakReport.Entry>() {
+            @Override
+            public int compare(TransactionLeakReport.Entry e1, TransactionLeakReport.Entry e2) {
+                return e1.getCount() < e2.getCount() ? 1 : (e1.getCount() == e2.getCount() ? 0 : -1);
+            }
+        });
+        return new TransactionLeakReport(entries);
+    }
+
+    /**
+     * @param handler The registered request handler, null if there is none
+     * @return Class name of the handler provided by the application
+     */
+    @NonNull
+    static String handlerName(@Nullable Object handler) {
+        if (handler instanceof DelegatingRequestHandler) {
+            handler = ((DelegatingRequestHandler) handler).getDelegate();
+        }
+        return handler != null ? handler.getClass().getName() : TransactionLeakReport.UNKNOWN_HANDLER;
+    }
+
+    private static final class Leak {
+        private final String requestName;
+        private final String handlerName;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong payloadBytes = new AtomicLong();
+
+        private Leak(@NonNull String requestName, @NonNull String handlerName) {
+            this.requestName = requestName;
+            this.handlerName = handlerName;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import android.support.annotation.NonNull;
+
+/**
+ * {@link BridgeDispatchMode#UI_THREAD} dispatcher.
+ */
+class UiQueueDispatcher implements BridgeDispatcher {
+
+    private final PriorityTaskQueue mQueue;
+
+    UiQueueDispatcher(@NonNull final ReactContextWrapper reactContextWrapper) {
+        mQueue = new PriorityTaskQueue(new PriorityTaskQueue.Poster() {
+            @Override
+            public boolean post(@NonNull Runnable drain) {
+                reactContextWrapper.runOnUiQueueThread(drain);
+                return true;
+            }
+        });
+    }
+
+    @Override
+    public void dispatch(@NonNull String lane, @NonNull BridgePriority priority, @NonNull Runnable task) {
+        mQueue.enqueue(lane, priority, task);
+    }
+
+    @Override
+    public void dispatchRequest(@NonNull String lane, @NonNull BridgePriority priority, @NonNull Runnable task) {
+        task.run();
+    }
+
+    @Override
+    public void shutdown() {
+        // Nothing to do, UI queue thread is owned by react native
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ElectrodeBridgeRequestTest {
+
+    @Test
+    public void deadlineStartsWhenTheRequestIsHandedToTheBridge() {
+        ElectrodeBridgeRequest request = new ElectrodeBridgeRequest.Builder("com.test.request").withTimeout(0).build();
+
+        // A request queued until React Native is ready keeps its whole timeout
+        assertFalse(request.isExpired());
+        assertEquals(ElectrodeBridgeRequest.NO_DEADLINE, request.getDeadlineMs());
+        assertEquals(0, request.getRemainingMs());
+
+        request.startDeadline();
+        assertTrue(request.isExpired());
+        assertNotEquals(ElectrodeBridgeRequest.NO_DEADLINE, request.getDeadlineMs());
+    }
+
+    @Test
+    public void remainingTimeIsTheTimeoutUntilTheDeadlineStarts() throws InterruptedException {
+        ElectrodeBridgeRequest request = new ElectrodeBridgeRequest.Builder("com.test.request").withTimeout(1000).build();
+        Thread.sleep(20);
+
+        assertEquals(1000, request.getRemainingMs());
+        request.startDeadline();
+        assertTrue(request.getRemainingMs() <= 1000);
+        assertFalse(request.isExpired());
+    }
+
+    @Test
+    public void requestsWithoutTimeoutOrStreamingHaveNoDeadline() {
+        ElectrodeBridgeRequest noTimeout = new ElectrodeBridgeRequest.Builder("com.test.request").withTimeout(ElectrodeBridgeRequest.NO_TIMEOUT).build();
+        ElectrodeBridgeRequest streaming = new ElectrodeBridgeRequest.Builder("com.test.request").withTimeout(0).withStreaming(1).build();
+        noTimeout.startDeadline();
+        streaming.startDeadline();
+
+        assertEquals(ElectrodeBridgeRequest.NO_DEADLINE, noTimeout.getDeadlineMs());
+        assertEquals(Long.MAX_VALUE, noTimeout.getRemainingMs());
+        assertEquals(ElectrodeBridgeRequest.NO_DEADLINE, streaming.getDeadlineMs());
+        assertFalse(streaming.isExpired());
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EventTopicTrieTest {
+
+    @Test
+    public void matchesExactNamesAndWildcards() {
+        EventTopicTrie<String> trie = new EventTopicTrie<>();
+        trie.add("com.ernmovie.ern.api.event.movieAdded", "exact");
+        trie.add("com.ernmovie.*.api.event.movieAdded", "anySegment");
+        trie.add("com.ernmovie.ern.api.**", "anySegments");
+        trie.add("com.other.**", "other");
+
+        assertEquals(Arrays.asList("anySegment", "anySegments", "exact"), match(trie, "com.ernmovie.ern.api.event.movieAdded"));
+        assertEquals(Collections.singletonList("anySegments"), match(trie, "com.ernmovie.ern.api.event.movieRemoved"));
+        assertEquals(Collections.<String>emptyList(), match(trie, "com.ernmovie.ern.api"));
+    }
+
+    @Test
+    public void removeOnlyRemovesTheGivenListener() {
+        EventTopicTrie<String> trie = new EventTopicTrie<>();
+        trie.add("a.**", "first");
+        trie.add("a.**", "second");
+
+        assertTrue(trie.remove("a.**", "first"));
+        assertFalse(trie.remove("a.**", "first"));
+        assertEquals(1, trie.size());
+        assertEquals(Collections.singletonList("second"), match(trie, "a.b"));
+    }
+
+    @Test
+    public void copyIsNotAffectedByLaterChanges() {
+        EventTopicTrie<String> trie = new EventTopicTrie<>();
+        trie.add("a.*", "listener");
+        EventTopicTrie<String> copy = trie.copy();
+        trie.clear();
+
+        assertEquals(0, trie.size());
+        assertEquals(Collections.singletonList("listener"), match(copy, "a.b"));
+    }
+
+    @Test
+    public void staticMatchesAgreesWithTheTrie() {
+        assertTrue(EventTopicTrie.matches("a.*.c", "a.b.c"));
+        assertTrue(EventTopicTrie.matches("a.**", "a.b.c"));
+        assertFalse(EventTopicTrie.matches("a.**", "a"));
+        assertFalse(EventTopicTrie.matches("a.*", "a.b.c"));
+        assertTrue(EventTopicTrie.isPattern("a.**"));
+        assertFalse(EventTopicTrie.isPattern("a.b"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void anySegmentsMustBeLast() {
+        new EventTopicTrie<String>().add("a.**.c", "listener");
+    }
+
+    private static List<String> match(EventTopicTrie<String> trie, String name) {
+        List<String> matches = new ArrayList<>();
+        trie.match(name, matches);
+        Collections.sort(matches);
+        return matches;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LaneThreadPoolDispatcherTest {
+
+    private final LaneThreadPoolDispatcher mDispatcher = new LaneThreadPoolDispatcher(2);
+
+    @After
+    public void tearDown() {
+        mDispatcher.shutdown();
+    }
+
+    @Test
+    public void tasksOfTheSameNameRunInDispatchOrderWhateverTheirPriority() throws InterruptedException {
+        final List<Integer> order = Collections.synchronizedList(new ArrayList<Integer>());
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(4);
+        // Holds the lane so that the following tasks are queued behind it
+        mDispatcher.dispatch("name", BridgePriority.NORMAL, new Runnable() {
+            @Override
+            public void run() {
+                await(blocker);
+                order.add(0);
+                done.countDown();
+            }
+        });
+        BridgePriority[] priorities = {BridgePriority.BULK, BridgePriority.CRITICAL, BridgePriority.NORMAL};
+        for (int i = 0; i < priorities.length; i++) {
+            final int index = i + 1;
+            mDispatcher.dispatch("name", priorities[i], new Runnable() {
+                @Override
+                public void run() {
+                    order.add(index);
+                    done.countDown();
+                }
+            });
+        }
+        blocker.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(0, 1, 2, 3), order);
+    }
+
+    @Test
+    public void unrelatedNamesRunInParallel() throws InterruptedException {
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        mDispatcher.dispatch("blocked", BridgePriority.NORMAL, new Runnable() {
+            @Override
+            public void run() {
+                await(blocker);
+            }
+        });
+        mDispatcher.dispatch("other", BridgePriority.BULK, new Runnable() {
+            @Override
+            public void run() {
+                done.countDown();
+            }
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        blocker.countDown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
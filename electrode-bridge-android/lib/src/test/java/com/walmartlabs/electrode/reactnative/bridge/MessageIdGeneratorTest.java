@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MessageIdGeneratorTest {
+
+    @Test
+    public void parseReturnsTheFormattedId() {
+        long id = MessageIdGenerator.next();
+        assertEquals(id, MessageIdGenerator.parse(MessageIdGenerator.format(id)));
+        assertEquals(Long.MAX_VALUE, MessageIdGenerator.parse(MessageIdGenerator.format(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void idsAreIncreasing() {
+        long previous = MessageIdGenerator.next();
+        for (int i = 0; i < 1000; i++) {
+            long id = MessageIdGenerator.next();
+            assertTrue(id > previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    public void parseRejectsJsIds() {
+        assertEquals(MessageIdGenerator.NO_ID, MessageIdGenerator.parse("6f1a4e4e-2c5b-4a3e-9d1b-0d3f3b0c8e2a"));
+        assertEquals(MessageIdGenerator.NO_ID, MessageIdGenerator.parse("n"));
+        assertEquals(MessageIdGenerator.NO_ID, MessageIdGenerator.parse("nABC"));
+        assertEquals(MessageIdGenerator.NO_ID, MessageIdGenerator.parse(null));
+    }
+
+    @Test
+    public void parseRejectsIdsAboveLongMaxValue() {
+        assertEquals(MessageIdGenerator.NO_ID, MessageIdGenerator.parse("n2zzzzzzzzzzzz"));
+        assertEquals(MessageIdGenerator.NO_ID, MessageIdGenerator.parse("n1zzzzzzzzzzzz"));
+    }
+}
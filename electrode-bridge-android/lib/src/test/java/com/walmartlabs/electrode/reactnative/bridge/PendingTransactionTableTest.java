@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import com.facebook.react.bridge.JavaOnlyMap;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PendingTransactionTableTest {
+
+    @Test
+    public void putGetRemoveNativeTransaction() {
+        PendingTransactionTable table = new PendingTransactionTable(16, PendingTransactionTable.OverflowPolicy.SPILL);
+        BridgeTransaction transaction = nativeTransaction();
+
+        assertTrue(table.put(transaction));
+        assertEquals(1, table.size());
+        assertSame(transaction, table.get(transaction.getId()));
+        assertSame(transaction, table.remove(transaction.getId()));
+        assertNull(table.get(transaction.getId()));
+        assertNull(table.remove(transaction.getId()));
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    public void jsTransactionsAreKeyedById() {
+        PendingTransactionTable table = new PendingTransactionTable(16, PendingTransactionTable.OverflowPolicy.REJECT);
+        BridgeTransaction transaction = jsTransaction("6f1a4e4e-2c5b-4a3e-9d1b-0d3f3b0c8e2a");
+
+        assertTrue(table.put(transaction));
+        assertSame(transaction, table.get("6f1a4e4e-2c5b-4a3e-9d1b-0d3f3b0c8e2a"));
+        assertSame(transaction, table.remove("6f1a4e4e-2c5b-4a3e-9d1b-0d3f3b0c8e2a"));
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    public void fullSlotsSpillOrReject() {
+        PendingTransactionTable spilling = new PendingTransactionTable(4, PendingTransactionTable.OverflowPolicy.SPILL);
+        PendingTransactionTable rejecting = new PendingTransactionTable(4, PendingTransactionTable.OverflowPolicy.REJECT);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(spilling.put(nativeTransaction()));
+            assertTrue(rejecting.put(nativeTransaction()));
+        }
+
+        BridgeTransaction transaction = nativeTransaction();
+        assertTrue(spilling.put(transaction));
+        assertSame(transaction, spilling.get(transaction.getId()));
+        assertEquals(5, spilling.size());
+        assertFalse(rejecting.put(transaction));
+        assertNull(rejecting.get(transaction.getId()));
+        assertEquals(4, rejecting.size());
+    }
+
+    @Test
+    public void getInactiveForCollectsWithoutRemoving() {
+        PendingTransactionTable table = new PendingTransactionTable();
+        BridgeTransaction idle = nativeTransaction();
+        BridgeTransaction js = jsTransaction("js-id");
+        table.put(idle);
+        table.put(js);
+
+        long now = System.nanoTime();
+        assertEquals(0, table.getInactiveFor(now, 60_000_000_000L).size());
+        assertEquals(2, table.getInactiveFor(now + 60_000_000_000L, 60_000_000_000L).size());
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    public void getExpiredCollectsTransactionsPastTheirDeadline() {
+        PendingTransactionTable table = new PendingTransactionTable();
+        ElectrodeBridgeRequest expiredRequest = new ElectrodeBridgeRequest.Builder("com.test.request").withTimeout(0).build();
+        ElectrodeBridgeRequest pendingRequest = new ElectrodeBridgeRequest.Builder("com.test.request").withTimeout(60000).build();
+        ElectrodeBridgeRequest queuedRequest = new ElectrodeBridgeRequest.Builder("com.test.request").withTimeout(0).build();
+        expiredRequest.startDeadline();
+        pendingRequest.startDeadline();
+        BridgeTransaction expired = new BridgeTransaction(expiredRequest, null);
+        table.put(expired);
+        table.put(new BridgeTransaction(pendingRequest, null));
+        table.put(new BridgeTransaction(queuedRequest, null));
+
+        assertEquals(Collections.singletonList(expired), table.getExpired());
+        assertEquals(3, table.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void capacityMustBeAPowerOfTwo() {
+        new PendingTransactionTable(10, PendingTransactionTable.OverflowPolicy.SPILL);
+    }
+
+    static BridgeTransaction nativeTransaction() {
+        return new BridgeTransaction(new ElectrodeBridgeRequest.Builder("com.test.request").build(), null);
+    }
+
+    static BridgeTransaction jsTransaction(String id) {
+        JavaOnlyMap map = new JavaOnlyMap();
+        map.putString(BridgeMessage.BRIDGE_MSG_NAME, "com.test.request");
+        map.putString(BridgeMessage.BRIDGE_MSG_ID, id);
+        map.putString(BridgeMessage.BRIDGE_MSG_TYPE, BridgeMessage.Type.REQUEST.getKey());
+        return new BridgeTransaction(ElectrodeBridgeRequest.create(map), null);
+    }
+}
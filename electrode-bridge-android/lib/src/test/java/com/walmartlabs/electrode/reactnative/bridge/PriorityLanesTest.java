@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017 WalmartLabs
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.walmartlabs.electrode.reactnative.bridge;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PriorityLanesTest {
+
+    @Test
+    public void servesHighestLaneFirstAndFifoWithinALane() {
+        PriorityLanes<String> lanes = new PriorityLanes<>();
+        lanes.add("a", BridgePriority.NORMAL, "normal1");
+        lanes.add("b", BridgePriority.CRITICAL, "critical1");
+        lanes.add("c", BridgePriority.NORMAL, "normal2");
+        lanes.add("d", BridgePriority.CRITICAL, "critical2");
+
+        assertEquals(BridgePriority.CRITICAL, lanes.highestPriority());
+        assertEquals("critical1", lanes.poll());
+        assertEquals("critical2", lanes.poll());
+        assertEquals("normal1", lanes.poll());
+        assertEquals("normal2", lanes.poll());
+        assertNull(lanes.poll());
+        assertTrue(lanes.isEmpty());
+    }
+
+    @Test
+    public void lowerLaneIsServedAfterStarvationLimit() {
+        PriorityLanes<String> lanes = new PriorityLanes<>();
+        lanes.add("a", BridgePriority.NORMAL, "normal");
+        for (int i = 0; i <= PriorityLanes.STARVATION_LIMIT; i++) {
+            lanes.add("b", BridgePriority.CRITICAL, "critical");
+        }
+
+        for (int i = 0; i < PriorityLanes.STARVATION_LIMIT; i++) {
+            assertEquals("critical", lanes.poll());
+        }
+        assertEquals("normal", lanes.poll());
+        assertEquals("critical", lanes.poll());
+        assertEquals(0, lanes.size());
+    }
+
+    @Test
+    public void itemsOfTheSameNameKeepTheirOrderAcrossLanes() {
+        PriorityLanes<String> lanes = new PriorityLanes<>();
+        lanes.add("a", BridgePriority.BULK, "a1");
+        lanes.add("b", BridgePriority.NORMAL, "b1");
+        lanes.add("a", BridgePriority.CRITICAL, "a2");
+        lanes.add("c", BridgePriority.CRITICAL, "c1");
+
+        // a2 waits behind a1, so a waits in the bulk lane until a1 is served
+        assertEquals(BridgePriority.CRITICAL, lanes.highestPriority());
+        assertEquals("c1", lanes.poll());
+        assertEquals("b1", lanes.poll());
+        assertEquals("a1", lanes.poll());
+        assertEquals("a2", lanes.poll());
+        assertNull(lanes.poll());
+    }
+
+    @Test
+    public void namesOfTheSameLaneAreServedByArrival() {
+        PriorityLanes<String> lanes = new PriorityLanes<>();
+        lanes.add("a", BridgePriority.NORMAL, "a1");
+        lanes.add("a", BridgePriority.NORMAL, "a2");
+        lanes.add("b", BridgePriority.NORMAL, "b1");
+        lanes.add("a", BridgePriority.NORMAL, "a3");
+
+        assertEquals("a1", lanes.poll());
+        assertEquals("a2", lanes.poll());
+        assertEquals("b1", lanes.poll());
+        assertEquals("a3", lanes.poll());
+    }
+}
@@ -1,7 +1,10 @@
 import DefaultCodegen from '../DefaultCodegen';
 import CliOption from '../CliOption';
+import semver from 'semver';
 
 export const BRDIGE_VERSION = 'bridgeVersion';
+// Set when the bridge version provides the APIs of react-native-electrode-bridge 1.6.0
+export const BRIDGE_VERSION_GTE_1_6 = 'ELECTRODE_BRIDGE_VERSION_GTE_1_6';
 export default function mixit(clz, overide?: any) {
   const { processOpts, fromOperation, initalizeCliOptions } = clz.prototype;
   Object.assign(
@@ -19,6 +22,11 @@ export default function mixit(clz, overide?: any) {
           this.setBridgeVersion(
             this.__additionalProperties.get(BRDIGE_VERSION),
           );
+          const version = semver.coerce(this.bridgeVersion);
+          this.__additionalProperties.put(
+            BRIDGE_VERSION_GTE_1_6,
+            version !== null && semver.gte(version, '1.6.0'),
+          );
         }
       },
       initalizeCliOptions() {
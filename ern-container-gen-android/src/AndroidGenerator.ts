@@ -126,6 +126,11 @@ export default class AndroidGenerator implements ContainerGenerator {
 
     if (electrodeBridgePlugin) {
       mustacheView.hasElectrodeBridgePlugin = true;
+      // Bridge setup only available starting with react-native-electrode-bridge 1.6.0
+      mustacheView.ELECTRODE_BRIDGE_VERSION_GTE_1_6 =
+        !!electrodeBridgePlugin.version &&
+        semver.valid(electrodeBridgePlugin.version) !== null &&
+        semver.gte(electrodeBridgePlugin.version, '1.6.0');
     }
 
     mustacheView.miniApps = await config.composite.getMiniApps();
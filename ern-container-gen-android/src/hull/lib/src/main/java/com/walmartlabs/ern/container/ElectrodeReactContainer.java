@@ -3,6 +3,11 @@
 package com.walmartlabs.ern.container;
 
 {{#hasElectrodeBridgePlugin}}
+{{#ELECTRODE_BRIDGE_VERSION_GTE_1_6}}
+import com.walmartlabs.electrode.reactnative.bridge.BridgeDispatchMode;
+import com.walmartlabs.electrode.reactnative.bridge.ElectrodeBridgeHolder;
+import com.walmartlabs.electrode.reactnative.bridge.InFlightLimit;
+{{/ELECTRODE_BRIDGE_VERSION_GTE_1_6}}
 import com.walmartlabs.electrode.reactnative.bridge.helpers.Logger;
 {{/hasElectrodeBridgePlugin}}
 import com.walmartlabs.ern.container.devassist.ErnDevSettingsActivity;
@@ -12,7 +17,13 @@ import com.walmartlabs.ern.container.plugins.{{name}};
 
 import android.app.Activity;
 import android.app.Application;
+{{#ELECTRODE_BRIDGE_VERSION_GTE_1_6}}
+import android.content.ComponentCallbacks2;
+{{/ELECTRODE_BRIDGE_VERSION_GTE_1_6}}
 import android.content.Intent;
+{{#ELECTRODE_BRIDGE_VERSION_GTE_1_6}}
+import android.content.res.Configuration;
+{{/ELECTRODE_BRIDGE_VERSION_GTE_1_6}}
 import android.util.Log;
 
 import androidx.annotation.NonNull;
@@ -53,7 +64,13 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collections;
+{{#ELECTRODE_BRIDGE_VERSION_GTE_1_6}}
+import java.util.HashMap;
+{{/ELECTRODE_BRIDGE_VERSION_GTE_1_6}}
 import java.util.List;
+{{#ELECTRODE_BRIDGE_VERSION_GTE_1_6}}
+import java.util.Map;
+{{/ELECTRODE_BRIDGE_VERSION_GTE_1_6}}
 
 import okhttp3.OkHttpClient;
 
@@ -175,6 +192,52 @@ public class ElectrodeReactContainer {
             if (isReactNativeDeveloperSupport) {
                 Logger.overrideLogLevel(Logger.LogLevel.DEBUG);
             }
+{{#ELECTRODE_BRIDGE_VERSION_GTE_1_6}}
+
+            // Select the thread(s) used by the bridge to invoke native listeners and handlers,
+            // the dispatch mode is left as is when not configured
+            if (reactContainerConfig.bridgeDispatchMode != null) {
+                if (reactContainerConfig.bridgeDispatchThreadPoolSize != null) {
+                    ElectrodeBridgeHolder.setDispatchMode(
+                            reactContainerConfig.bridgeDispatchMode,
+                            reactContainerConfig.bridgeDispatchThreadPoolSize);
+                } else {
+                    ElectrodeBridgeHolder.setDispatchMode(reactContainerConfig.bridgeDispatchMode);
+                }
+            }
+
+            // Bound the requests in flight, so that a request loop cannot exhaust the memory
+            if (reactContainerConfig.bridgeInFlightLimit != null) {
+                ElectrodeBridgeHolder.setInFlightLimit(reactContainerConfig.bridgeInFlightLimit);
+            }
+            for (Map.Entry<String, InFlightLimit> limit : reactContainerConfig.bridgeInFlightLimits.entrySet()) {
+                ElectrodeBridgeHolder.setInFlightLimit(limit.getKey(), limit.getValue());
+            }
+
+            // Evict the request transactions that handlers never completed
+            if (reactContainerConfig.bridgeTransactionMaxAgeMs != null) {
+                ElectrodeBridgeHolder.setTransactionMaxAge(
+                        reactContainerConfig.bridgeTransactionMaxAgeMs,
+                        reactContainerConfig.bridgeReapNoTimeoutRequests);
+            }
+
+            // Let the bridge release its caches under memory pressure
+            application.registerComponentCallbacks(new ComponentCallbacks2() {
+                @Override
+                public void onTrimMemory(int level) {
+                    ElectrodeBridgeHolder.onTrimMemory(level);
+                }
+
+                @Override
+                public void onConfigurationChanged(@NonNull Configuration newConfig) {
+                }
+
+                @Override
+                public void onLowMemory() {
+                    ElectrodeBridgeHolder.onTrimMemory(TRIM_MEMORY_COMPLETE);
+                }
+            });
+{{/ELECTRODE_BRIDGE_VERSION_GTE_1_6}}
 {{/hasElectrodeBridgePlugin}}
 
             // Replace OkHttpClient with client provided instance, if any
@@ -299,6 +362,14 @@ public class ElectrodeReactContainer {
         private boolean isReactNativeDeveloperSupport;
         private OkHttpClient okHttpClient;
         private String bundleStoreHostPort = "localhost:3000";
+{{#ELECTRODE_BRIDGE_VERSION_GTE_1_6}}
+        private BridgeDispatchMode bridgeDispatchMode;
+        private Integer bridgeDispatchThreadPoolSize;
+        private InFlightLimit bridgeInFlightLimit;
+        private final Map<String, InFlightLimit> bridgeInFlightLimits = new HashMap<>();
+        private Long bridgeTransactionMaxAgeMs;
+        private boolean bridgeReapNoTimeoutRequests;
+{{/ELECTRODE_BRIDGE_VERSION_GTE_1_6}}
 
         public Config isReactNativeDeveloperSupport(boolean value) {
             isReactNativeDeveloperSupport = value;
@@ -321,6 +392,74 @@ public class ElectrodeReactContainer {
         public String getBundleStoreHostPort() {
             return bundleStoreHostPort;
         }
+{{#ELECTRODE_BRIDGE_VERSION_GTE_1_6}}
+
+        /**
+         * Selects the thread(s) on which the bridge invokes native event listeners, request
+         * handlers and response listeners. When not set, the container leaves the dispatch mode
+         * of the bridge unchanged, {@link BridgeDispatchMode#UI_THREAD} unless the application
+         * selected another one with ElectrodeBridgeHolder.setDispatchMode().
+         */
+        @SuppressWarnings("unused")
+        public Config bridgeDispatchMode(@NonNull BridgeDispatchMode value) {
+            bridgeDispatchMode = value;
+            return this;
+        }
+
+        /**
+         * Number of threads used by the bridge when the dispatch mode is
+         * {@link BridgeDispatchMode#THREAD_POOL}, only applied along with
+         * {@link #bridgeDispatchMode(BridgeDispatchMode)}.
+         */
+        @SuppressWarnings("unused")
+        public Config bridgeDispatchThreadPoolSize(int value) {
+            bridgeDispatchThreadPoolSize = value;
+            return this;
+        }
+
+        /**
+         * Bounds the number of bridge requests in flight, for all request names together.
+         * Requests sent past the bound are queued, then failed with EBUSY once the queue is
+         * full. Requests are not bounded by default.
+         */
+        @SuppressWarnings("unused")
+        public Config bridgeInFlightLimit(int maxInFlight, int maxQueued) {
+            bridgeInFlightLimit = InFlightLimit.of(maxInFlight, maxQueued);
+            return this;
+        }
+
+        /**
+         * Bounds the number of bridge requests of the given name in flight, see
+         * {@link #bridgeInFlightLimit(int, int)}.
+         */
+        @SuppressWarnings("unused")
+        public Config bridgeInFlightLimit(@NonNull String requestName, int maxInFlight, int maxQueued) {
+            bridgeInFlightLimits.put(requestName, InFlightLimit.of(maxInFlight, maxQueued));
+            return this;
+        }
+
+        /**
+         * Maximum age of a pending bridge request, requests that made no progress for longer are failed with
+         * ESTALETRANSACTION and reported by ElectrodeBridgeHolder.getTransactionLeakReport().
+         * Requests sent without a timeout are not reaped. When not set, the container leaves
+         * the bridge setting unchanged, disabled unless set by the application.
+         */
+        @SuppressWarnings("unused")
+        public Config bridgeTransactionMaxAge(long maxAgeMs) {
+            return bridgeTransactionMaxAge(maxAgeMs, false);
+        }
+
+        /**
+         * Same as bridgeTransactionMaxAge(long), also reaping the requests sent without a timeout when
+         * reapNoTimeoutRequests is true, such as JS requests sent without a deadline.
+         */
+        @SuppressWarnings("unused")
+        public Config bridgeTransactionMaxAge(long maxAgeMs, boolean reapNoTimeoutRequests) {
+            bridgeTransactionMaxAgeMs = maxAgeMs;
+            bridgeReapNoTimeoutRequests = reapNoTimeoutRequests;
+            return this;
+        }
+{{/ELECTRODE_BRIDGE_VERSION_GTE_1_6}}
 
         @Override
         public String toString() {
@@ -329,6 +468,10 @@ public class ElectrodeReactContainer {
                     + isReactNativeDeveloperSupport
                     + "bundleStoreHostPort="
                     + bundleStoreHostPort
+{{#ELECTRODE_BRIDGE_VERSION_GTE_1_6}}
+                    + ", bridgeDispatchMode="
+                    + bridgeDispatchMode
+{{/ELECTRODE_BRIDGE_VERSION_GTE_1_6}}
                     + '}';
         }
     }